@@ -12,6 +12,12 @@ import com.cyberspeed.infraestructure.application.GameLauncher;
  * <p>Example usage:</p>
  * <pre>
  *     java -jar your-application.jar --config config.json --betting-amount 100
+ *     java -jar your-application.jar --config config.json --betting-amount 100 --simulate 1000000 --rng L64X128MixRandom --seed 42
+ *     java -jar your-application.jar --config config.json --betting-amount 100 --simulate 100000000 --rtp-precision 0.0005
+ *     java -jar your-application.jar --config config.json --betting-amount 100 --simulate 1000000 --importance-tilt 1.5 --tail 200000,2000000
+ *     java -jar your-application.jar --config config.json --betting-amount 100 --analyze
+ *     java -jar your-application.jar --config config.json --betting-amount 100 --simulate 10000000 --sweep variants.json
+ *     java -jar your-application.jar --config config.json --betting-amount 100 --snapshot config.snapshot
  * </pre>
  */
 public class Application {
@@ -1,5 +1,6 @@
 package com.cyberspeed.config;
 
+import com.cyberspeed.domain.model.probabilities.Probabilities;
 import com.cyberspeed.domain.model.symbols.SlotSymbol;
 import com.cyberspeed.domain.model.winning.WinningCombination;
 import com.cyberspeed.domain.adapters.SlotSymbolAdapter;
@@ -7,18 +8,36 @@ import com.cyberspeed.domain.adapters.WinningCombinationAdapter;
 import com.cyberspeed.shared.exceptions.ConfigurationException;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 
+import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The AppConfiguration class is responsible for loading and parsing the
- * game configuration from a JSON file. It uses the Gson library to
- * deserialize the JSON into a GameConfiguration object.
+ * game configuration from a JSON file. Configurations are read as UTF-8 from a file
+ * path, or from the resources when no such file exists, and streamed token by token
+ * into a GameConfiguration object by the {@link ConfigurationReader}.
  */
 public class AppConfiguration {
+    public static final String BASE_VARIANT_NAME = "base";
     private static final String DEFAULT_FILE_NAME = "/config.json"; // Default configuration file
     private Gson gson;
 
@@ -41,12 +60,137 @@ public class AppConfiguration {
     public GameConfiguration loadConfiguration(String config) {
         String fileName = config != null && !config.isEmpty() ? config : DEFAULT_FILE_NAME;
 
-        fileName = formatFileName(fileName);
+        try (Reader reader = getReader(fileName)) {
+            return ConfigurationReader.read(reader);
+        } catch (IOException | JsonParseException | IllegalStateException | NumberFormatException e) {
+            throw new ConfigurationException("Error loading configuration: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads the compiled model of a configuration from a binary snapshot. When the snapshot is missing, or stale
+     * because it was written by another version or from another content of the configuration file, the
+     * configuration is loaded and compiled from its JSON file instead, and the snapshot is written again for the
+     * next start.
+     *
+     * @param config   the file path of the configuration JSON file, or null to use the default path
+     * @param snapshot the path of the snapshot file
+     * @return the execution model of the configuration
+     * @throws ConfigurationException if there is an issue reading or parsing the files, writing the snapshot, or
+     *                                the configuration is invalid
+     */
+    public GameModel loadModel(String config, Path snapshot) {
+        String fileName = config != null && !config.isEmpty() ? config : DEFAULT_FILE_NAME;
+
+        try {
+            if (Files.isRegularFile(snapshot)) {
+                GameModel gameModel = ModelSnapshot.read(snapshot, checksum(fileName));
+                if (gameModel != null) {
+                    return gameModel;
+                }
+            }
+
+            // The snapshot is written with the checksum of the very bytes the model was compiled from
+            MessageDigest digest = newDigest();
+            GameConfiguration gameConfiguration;
+            try (Reader reader = new BufferedReader(new InputStreamReader(
+                    new DigestInputStream(getInputStream(fileName), digest), StandardCharsets.UTF_8))) {
+                gameConfiguration = ConfigurationReader.read(reader);
+            }
+            GameModel gameModel = GameModel.compile(gameConfiguration);
+            ModelSnapshot.write(gameModel, digest.digest(), snapshot);
+            return gameModel;
+        } catch (IOException | JsonParseException | IllegalStateException | NumberFormatException e) {
+            throw new ConfigurationException("Error loading configuration snapshot: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads the game configuration from a specified JSON file and compiles it into its execution model.
+     *
+     * @param config the file path of the configuration JSON file, or null to use the default path
+     * @return the execution model of the configuration
+     * @throws ConfigurationException if there is an issue reading or parsing the file, or the configuration is invalid
+     */
+    public GameModel loadModel(String config) {
+        return GameModel.compile(loadConfiguration(config));
+    }
+
+    /**
+     * Loads a base configuration and the variants of it described in a variants file. The variants file holds a
+     * JSON array of objects with a {@code name} and {@code overrides}, a JSON merge patch of the base
+     * configuration: objects are merged member by member, a null member removes the base one, and any other
+     * value replaces the base one. For example, {@code {"symbols": {"A": {"reward_multiplier": 6}}}} only changes
+     * the multiplier of symbol A.
+     *
+     * @param config   the file path of the base configuration JSON file, or null to use the default path
+     * @param variants the file path of the variants JSON file
+     * @return the base configuration, named {@value #BASE_VARIANT_NAME}, followed by the variants in file order
+     * @throws ConfigurationException if there is an issue reading or parsing the files
+     */
+    public List<ConfigurationVariant> loadVariants(String config, String variants) {
+        String fileName = config != null && !config.isEmpty() ? config : DEFAULT_FILE_NAME;
 
-        try (InputStreamReader reader = getReader(fileName)) {
-            return gson.fromJson(reader, GameConfiguration.class);
+        try (Reader configReader = getReader(fileName);
+             Reader variantsReader = getReader(variants)) {
+            JsonObject base = JsonParser.parseReader(configReader).getAsJsonObject();
+            JsonElement overrides = JsonParser.parseReader(variantsReader);
+            if (!overrides.isJsonArray()) {
+                throw new ConfigurationException("Variants must be a JSON array");
+            }
+
+            List<ConfigurationVariant> configurations = new ArrayList<>();
+            configurations.add(new ConfigurationVariant(BASE_VARIANT_NAME, gson.fromJson(base, GameConfiguration.class)));
+            for (JsonElement element : overrides.getAsJsonArray()) {
+                JsonObject variant = element.isJsonObject() ? element.getAsJsonObject() : null;
+                if (variant == null || !variant.has("name") || !variant.has("overrides") || !variant.get("overrides").isJsonObject()) {
+                    throw new ConfigurationException("Every variant must have a name and an overrides object");
+                }
+                JsonObject merged = merge(base.deepCopy(), variant.getAsJsonObject("overrides"));
+                configurations.add(new ConfigurationVariant(variant.get("name").getAsString(),
+                        gson.fromJson(merged, GameConfiguration.class)));
+            }
+            return configurations;
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            throw new ConfigurationException("Error loading variants: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Applies a JSON merge patch to a JSON object, in place.
+     */
+    private static JsonObject merge(JsonObject target, JsonObject patch) {
+        for (Map.Entry<String, JsonElement> entry : patch.entrySet()) {
+            JsonElement value = entry.getValue();
+            if (value.isJsonNull()) {
+                target.remove(entry.getKey());
+            } else if (value.isJsonObject() && target.has(entry.getKey()) && target.get(entry.getKey()).isJsonObject()) {
+                merge(target.getAsJsonObject(entry.getKey()), value.getAsJsonObject());
+            } else {
+                target.add(entry.getKey(), value);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Writes a copy of a configuration file with other symbol probabilities, leaving everything else as it is in
+     * the original file.
+     *
+     * @param config        the file path of the original configuration JSON file, or null to use the default path
+     * @param probabilities the symbol probabilities of the copy
+     * @param output        the path of the file to write
+     * @throws ConfigurationException if there is an issue reading the original file or writing the copy
+     */
+    public void writeConfiguration(String config, Probabilities probabilities, Path output) {
+        String fileName = config != null && !config.isEmpty() ? config : DEFAULT_FILE_NAME;
+
+        try (Reader reader = getReader(fileName)) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+            json.add("probabilities", gson.toJsonTree(probabilities));
+            Files.writeString(output, gson.toJson(json), StandardCharsets.UTF_8);
         } catch (IOException e) {
-            throw new ConfigurationException("Error loading configuration: " + e.getMessage(), e);
+            throw new ConfigurationException("Error writing configuration: " + e.getMessage(), e);
         }
     }
 
@@ -58,16 +202,59 @@ public class AppConfiguration {
     }
 
     /**
-     * Retrieves an InputStreamReader for the specified configuration file.
-     * It attempts to locate the file in the resources folder. If the file is not found,
-     * a FileNotFoundException is thrown.
+     * Computes the checksum of the content of a configuration file.
      *
-     * @param fileName the name of the configuration file
-     * @return an InputStreamReader for the configuration file
-     * @throws FileNotFoundException if the configuration file cannot be found
+     * @param fileName the path or resource name of the configuration file
+     * @return the SHA-256 digest of the file
+     * @throws IOException if the configuration file cannot be found or read
      */
-    private InputStreamReader getReader(String fileName) throws FileNotFoundException {
-        InputStream inputStream = AppConfiguration.class.getResourceAsStream(fileName);
-        return new InputStreamReader(inputStream);
+    private static byte[] checksum(String fileName) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream inputStream = new DigestInputStream(getInputStream(fileName), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Retrieves a buffered UTF-8 reader for the specified configuration file.
+     *
+     * @param fileName the path or resource name of the configuration file
+     * @return a buffered reader for the configuration file
+     * @throws IOException if the configuration file cannot be found or opened
+     */
+    private static Reader getReader(String fileName) throws IOException {
+        return new BufferedReader(new InputStreamReader(getInputStream(fileName), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Retrieves an InputStream for the specified configuration file.
+     * It first looks for the file on the filesystem, and then in the resources folder.
+     * If the file is found in neither, a FileNotFoundException is thrown.
+     *
+     * @param fileName the path or resource name of the configuration file
+     * @return an InputStream for the configuration file
+     * @throws IOException if the configuration file cannot be found or opened
+     */
+    private static InputStream getInputStream(String fileName) throws IOException {
+        Path path = Path.of(fileName);
+        if (Files.isRegularFile(path)) {
+            return Files.newInputStream(path);
+        }
+
+        InputStream inputStream = AppConfiguration.class.getResourceAsStream(formatFileName(fileName));
+        if (inputStream == null) {
+            throw new FileNotFoundException("Configuration file not found: " + fileName);
+        }
+        return inputStream;
     }
 }
@@ -0,0 +1,222 @@
+package com.cyberspeed.config;
+
+import com.cyberspeed.domain.enums.ImpactEnum;
+import com.cyberspeed.domain.enums.SymbolTypeEnum;
+import com.cyberspeed.domain.enums.WhenEnum;
+import com.cyberspeed.domain.model.symbols.SlotSymbol;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbol;
+import com.cyberspeed.domain.model.symbols.standard.StandardSymbolProbabilities;
+import com.cyberspeed.domain.model.winning.WinningAreaCombination;
+import com.cyberspeed.domain.model.winning.WinningCombination;
+import com.cyberspeed.domain.model.winning.WinningCountCombination;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks a whole {@link GameConfiguration} before it is compiled into a {@link GameModel}, collecting every
+ * problem found instead of stopping at the first one, so a configuration can be fixed in a single pass.
+ */
+final class ConfigurationChecker {
+    private final GameConfiguration gameConfiguration;
+    private final List<String> errors = new ArrayList<>();
+
+    private ConfigurationChecker(GameConfiguration gameConfiguration) {
+        this.gameConfiguration = gameConfiguration;
+    }
+
+    /**
+     * Checks a configuration.
+     *
+     * @param gameConfiguration the configuration to check
+     * @return the problems found, empty if the configuration can be compiled
+     */
+    static List<String> check(GameConfiguration gameConfiguration) {
+        ConfigurationChecker checker = new ConfigurationChecker(gameConfiguration);
+        if (gameConfiguration == null) {
+            checker.errors.add("Configuration is empty");
+        } else {
+            checker.checkMatrix();
+            checker.checkSymbols();
+            checker.checkProbabilities();
+            checker.checkWinCombinations();
+        }
+        return checker.errors;
+    }
+
+    private void checkMatrix() {
+        if (gameConfiguration.rows() <= 0 || gameConfiguration.columns() <= 0) {
+            errors.add("Matrix must have at least one row and one column");
+        }
+    }
+
+    private void checkSymbols() {
+        Map<String, SlotSymbol> symbols = gameConfiguration.symbols();
+        if (symbols == null || symbols.isEmpty()) {
+            errors.add("No symbols configured");
+            return;
+        }
+        if (symbols.size() > SymbolRegistry.MAX_SYMBOLS) {
+            errors.add("At most " + SymbolRegistry.MAX_SYMBOLS + " symbols are supported");
+        }
+
+        for (Map.Entry<String, SlotSymbol> entry : symbols.entrySet()) {
+            String name = entry.getKey();
+            SlotSymbol symbol = entry.getValue();
+            if (symbol == null || symbol.getType() == null) {
+                errors.add("Symbol " + name + " must have a standard or bonus type");
+                continue;
+            }
+            if (!(symbol.getRewardMultiplier() >= 0) || Double.isInfinite(symbol.getRewardMultiplier())) {
+                errors.add("Symbol " + name + " must have a finite, non-negative reward_multiplier");
+            }
+            if (symbol.getType() == SymbolTypeEnum.BONUS) {
+                if (!(symbol instanceof BonusSymbol bonusSymbol) || bonusSymbol.getImpact() == null) {
+                    errors.add("Bonus symbol " + name + " must have an impact");
+                } else if (bonusSymbol.getImpact() == ImpactEnum.EXTRA_BONUS && bonusSymbol.getExtra() == null) {
+                    errors.add("Bonus symbol " + name + " must define an extra amount");
+                }
+            }
+        }
+    }
+
+    private void checkProbabilities() {
+        if (gameConfiguration.probabilities() == null) {
+            errors.add("No probabilities configured");
+            return;
+        }
+
+        List<StandardSymbolProbabilities> standard = gameConfiguration.probabilities().standardSymbolProbabilities();
+        if (standard == null || standard.isEmpty()) {
+            errors.add("No probabilities configured for standard symbols");
+        } else {
+            Set<Integer> cells = new HashSet<>();
+            for (StandardSymbolProbabilities probabilities : standard) {
+                String cell = "cell " + probabilities.row() + ":" + probabilities.column();
+                if (probabilities.row() < 0 || probabilities.row() >= gameConfiguration.rows()
+                        || probabilities.column() < 0 || probabilities.column() >= gameConfiguration.columns()) {
+                    errors.add("Probabilities of " + cell + " are outside the matrix");
+                } else if (!cells.add(probabilities.row() * gameConfiguration.columns() + probabilities.column())) {
+                    errors.add("Probabilities of " + cell + " are configured more than once");
+                }
+                checkWeights(cell, probabilities.symbols(), SymbolTypeEnum.STANDARD);
+            }
+        }
+
+        if (gameConfiguration.probabilities().bonusSymbolProbabilities() == null) {
+            errors.add("No probabilities configured for bonus symbols");
+        } else {
+            checkWeights("bonus symbols", gameConfiguration.probabilities().bonusSymbolProbabilities().symbols(), SymbolTypeEnum.BONUS);
+        }
+    }
+
+    /**
+     * Checks that weights reference configured symbols of the given type, are not negative and add up to a
+     * positive total that the samplers can hold, the bonus weights included.
+     */
+    private void checkWeights(String owner, Map<String, Integer> weights, SymbolTypeEnum type) {
+        if (weights == null || (type == SymbolTypeEnum.STANDARD && weights.isEmpty())) {
+            errors.add("No weights configured for " + owner);
+            return;
+        }
+
+        long total = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            SlotSymbol symbol = gameConfiguration.symbols() == null ? null : gameConfiguration.symbols().get(entry.getKey());
+            if (symbol == null || symbol.getType() != type) {
+                errors.add("Weights of " + owner + " reference " + entry.getKey() + ", which is not a "
+                        + type.name().toLowerCase() + " symbol");
+            }
+            if (entry.getValue() == null || entry.getValue() < 0) {
+                errors.add("Weight of " + entry.getKey() + " in " + owner + " must not be negative");
+            } else {
+                total += entry.getValue();
+            }
+        }
+
+        if (type == SymbolTypeEnum.STANDARD) {
+            long bonusTotal = 0;
+            if (gameConfiguration.probabilities().bonusSymbolProbabilities() != null
+                    && gameConfiguration.probabilities().bonusSymbolProbabilities().symbols() != null) {
+                for (Integer weight : gameConfiguration.probabilities().bonusSymbolProbabilities().symbols().values()) {
+                    bonusTotal += weight == null ? 0 : Math.max(0, weight);
+                }
+            }
+            if (total == 0) {
+                errors.add("Weights of " + owner + " must have a positive total");
+            } else if (total + bonusTotal > Integer.MAX_VALUE) {
+                errors.add("Weights of " + owner + " with the bonus weights must not exceed " + Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    private void checkWinCombinations() {
+        Map<String, WinningCombination> winCombinations = gameConfiguration.winCombinations();
+        if (winCombinations == null) {
+            errors.add("No winning combinations configured");
+            return;
+        }
+
+        for (Map.Entry<String, WinningCombination> entry : winCombinations.entrySet()) {
+            String name = entry.getKey();
+            WinningCombination combination = entry.getValue();
+            if (combination == null || combination.getWhen() == null) {
+                errors.add("Winning combination " + name + " must define a same_symbols or linear_symbols condition");
+                continue;
+            }
+            if (!(combination.getRewardMultiplier() >= 0) || Double.isInfinite(combination.getRewardMultiplier())) {
+                errors.add("Winning combination " + name + " must have a finite, non-negative reward_multiplier");
+            }
+            if (combination.getWhen() == WhenEnum.SAME_SYMBOLS) {
+                if (!(combination instanceof WinningCountCombination countCombination) || countCombination.getCount() == null
+                        || countCombination.getCount() < 1) {
+                    errors.add("Winning combination " + name + " must define a positive count");
+                }
+            } else {
+                checkCoveredAreas(name, combination);
+            }
+        }
+    }
+
+    private void checkCoveredAreas(String name, WinningCombination combination) {
+        String[][] coveredAreas = combination instanceof WinningAreaCombination areaCombination
+                ? areaCombination.getCoveredAreas() : null;
+        if (coveredAreas == null || coveredAreas.length == 0) {
+            errors.add("Winning combination " + name + " must define covered areas");
+            return;
+        }
+
+        for (String[] line : coveredAreas) {
+            if (line == null || line.length == 0) {
+                errors.add("Winning combination " + name + " has an empty covered area");
+                continue;
+            }
+            for (String coordinate : line) {
+                if (!isInsideMatrix(coordinate)) {
+                    errors.add("Covered area " + coordinate + " in " + name + " is not a row:column inside the matrix");
+                }
+            }
+        }
+    }
+
+    private boolean isInsideMatrix(String coordinate) {
+        if (coordinate == null) {
+            return false;
+        }
+        String[] position = coordinate.split(":");
+        if (position.length != 2) {
+            return false;
+        }
+        try {
+            int row = Integer.parseInt(position[0].trim());
+            int column = Integer.parseInt(position[1].trim());
+            return row >= 0 && row < gameConfiguration.rows() && column >= 0 && column < gameConfiguration.columns();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
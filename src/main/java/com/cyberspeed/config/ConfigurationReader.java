@@ -0,0 +1,353 @@
+package com.cyberspeed.config;
+
+import com.cyberspeed.domain.enums.ImpactEnum;
+import com.cyberspeed.domain.enums.SymbolTypeEnum;
+import com.cyberspeed.domain.enums.WhenEnum;
+import com.cyberspeed.domain.enums.WinGroupEnum;
+import com.cyberspeed.domain.model.probabilities.Probabilities;
+import com.cyberspeed.domain.model.symbols.SlotSymbol;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbol;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbolProbabilities;
+import com.cyberspeed.domain.model.symbols.standard.StandardSymbol;
+import com.cyberspeed.domain.model.symbols.standard.StandardSymbolProbabilities;
+import com.cyberspeed.domain.model.winning.WinningAreaCombination;
+import com.cyberspeed.domain.model.winning.WinningCombination;
+import com.cyberspeed.domain.model.winning.WinningCountCombination;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a {@link GameConfiguration} token by token from a {@link JsonReader}.
+ * <p>
+ * The configuration is built while the document is read, without materializing a JSON tree, so configurations
+ * of large matrices with an entry of probabilities for every cell are read in a single pass. Symbol names read
+ * in the weights are replaced by the names of the configured symbols, and cells with the same weights share a
+ * single map, which keeps the memory of such configurations proportional to their distinct weights. Members
+ * this reader does not know are skipped; members given as null are left unset, for the
+ * {@link GameModel#compile(GameConfiguration) compilation} to report. Unknown values of the enumerated members,
+ * such as an impact or a group, are rejected with the path of the member.
+ * </p>
+ */
+final class ConfigurationReader {
+    private final JsonReader reader;
+    private final Map<String, String> names = new HashMap<>();
+    private final Map<Map<String, Integer>, Map<String, Integer>> weights = new HashMap<>();
+
+    private ConfigurationReader(Reader reader) {
+        this.reader = new JsonReader(reader);
+    }
+
+    /**
+     * Reads a configuration.
+     *
+     * @param reader the reader of the JSON document, preferably buffered
+     * @return the configuration
+     * @throws IOException        if the document cannot be read
+     * @throws JsonParseException if the document is not a configuration
+     */
+    static GameConfiguration read(Reader reader) throws IOException {
+        ConfigurationReader configurationReader = new ConfigurationReader(reader);
+        GameConfiguration gameConfiguration = configurationReader.readConfiguration();
+        if (configurationReader.reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonParseException("Unexpected content after the configuration at " + configurationReader.reader.getPath());
+        }
+        return gameConfiguration;
+    }
+
+    private GameConfiguration readConfiguration() throws IOException {
+        int columns = 0;
+        int rows = 0;
+        Map<String, SlotSymbol> symbols = null;
+        Probabilities probabilities = null;
+        Map<String, WinningCombination> winCombinations = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String member = reader.nextName();
+            if (skipNull()) {
+                continue;
+            }
+            switch (member) {
+                case "columns" -> columns = nextInt();
+                case "rows" -> rows = nextInt();
+                case "symbols" -> symbols = readSymbols();
+                case "probabilities" -> probabilities = readProbabilities();
+                case "win_combinations" -> winCombinations = readWinCombinations();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new GameConfiguration(columns, rows, symbols, probabilities, winCombinations);
+    }
+
+    private Map<String, SlotSymbol> readSymbols() throws IOException {
+        Map<String, SlotSymbol> symbols = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            names.put(name, name);
+            symbols.put(name, skipNull() ? null : readSymbol());
+        }
+        reader.endObject();
+        return symbols;
+    }
+
+    /**
+     * Reads a symbol, of the class given by its type like the {@link com.cyberspeed.domain.adapters.SlotSymbolAdapter}.
+     */
+    private SlotSymbol readSymbol() throws IOException {
+        double rewardMultiplier = 0;
+        SymbolTypeEnum type = null;
+        ImpactEnum impact = null;
+        Integer extra = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String member = reader.nextName();
+            if (skipNull()) {
+                continue;
+            }
+            switch (member) {
+                case "reward_multiplier" -> rewardMultiplier = nextDouble();
+                case "type" -> type = readSymbolType();
+                case "impact" -> impact = readImpact();
+                case "extra" -> extra = nextInt();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (type == null) {
+            throw new JsonParseException("Missing symbol type at " + reader.getPath());
+        }
+        return type == SymbolTypeEnum.BONUS
+                ? new BonusSymbol(rewardMultiplier, type, impact, extra)
+                : new StandardSymbol(rewardMultiplier, type);
+    }
+
+    private SymbolTypeEnum readSymbolType() throws IOException {
+        String value = reader.nextString();
+        for (SymbolTypeEnum type : SymbolTypeEnum.values()) {
+            if (type.getValue().equals(value)) {
+                return type;
+            }
+        }
+        throw new JsonParseException("Invalid symbol type: " + value + " at " + reader.getPath());
+    }
+
+    private ImpactEnum readImpact() throws IOException {
+        String value = reader.nextString();
+        for (ImpactEnum impact : ImpactEnum.values()) {
+            if (impact.getValue().equals(value)) {
+                return impact;
+            }
+        }
+        throw new JsonParseException("Invalid impact: " + value + " at " + reader.getPath());
+    }
+
+    private Probabilities readProbabilities() throws IOException {
+        List<StandardSymbolProbabilities> standardSymbolProbabilities = null;
+        BonusSymbolProbabilities bonusSymbolProbabilities = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String member = reader.nextName();
+            if (skipNull()) {
+                continue;
+            }
+            switch (member) {
+                case "standard_symbols" -> standardSymbolProbabilities = readStandardSymbolProbabilities();
+                case "bonus_symbols" -> bonusSymbolProbabilities = readBonusSymbolProbabilities();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Probabilities(standardSymbolProbabilities, bonusSymbolProbabilities);
+    }
+
+    private List<StandardSymbolProbabilities> readStandardSymbolProbabilities() throws IOException {
+        List<StandardSymbolProbabilities> probabilities = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            int row = 0;
+            int column = 0;
+            Map<String, Integer> symbols = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String member = reader.nextName();
+                if (skipNull()) {
+                    continue;
+                }
+                switch (member) {
+                    case "row" -> row = nextInt();
+                    case "column" -> column = nextInt();
+                    case "symbols" -> symbols = readWeights();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            probabilities.add(new StandardSymbolProbabilities(row, column, symbols == null ? Map.of() : symbols));
+        }
+        reader.endArray();
+        return probabilities;
+    }
+
+    private BonusSymbolProbabilities readBonusSymbolProbabilities() throws IOException {
+        Map<String, Integer> symbols = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String member = reader.nextName();
+            if (skipNull()) {
+                continue;
+            }
+            if (member.equals("symbols")) {
+                symbols = readWeights();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new BonusSymbolProbabilities(symbols == null ? Map.of() : symbols);
+    }
+
+    /**
+     * Reads the weights of a cell, sharing the map of an identical cell read before.
+     */
+    private Map<String, Integer> readWeights() throws IOException {
+        Map<String, Integer> symbols = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            symbols.put(names.getOrDefault(name, name), skipNull() ? null : nextInt());
+        }
+        reader.endObject();
+        return weights.computeIfAbsent(symbols, key -> key);
+    }
+
+    private Map<String, WinningCombination> readWinCombinations() throws IOException {
+        Map<String, WinningCombination> winCombinations = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            winCombinations.put(name, skipNull() ? null : readWinCombination());
+        }
+        reader.endObject();
+        return winCombinations;
+    }
+
+    /**
+     * Reads a winning combination, of the class given by its condition like the
+     * {@link com.cyberspeed.domain.adapters.WinningCombinationAdapter}.
+     */
+    private WinningCombination readWinCombination() throws IOException {
+        double rewardMultiplier = 0;
+        WhenEnum when = null;
+        WinGroupEnum group = null;
+        Integer count = null;
+        String[][] coveredAreas = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String member = reader.nextName();
+            if (skipNull()) {
+                continue;
+            }
+            switch (member) {
+                case "reward_multiplier" -> rewardMultiplier = nextDouble();
+                case "when" -> when = readWhen();
+                case "group" -> group = readGroup();
+                case "count" -> count = nextInt();
+                case "covered_areas" -> coveredAreas = readCoveredAreas();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (when == null) {
+            throw new JsonParseException("Missing when value at " + reader.getPath());
+        }
+        return when == WhenEnum.SAME_SYMBOLS
+                ? new WinningCountCombination(count, rewardMultiplier, when, group)
+                : new WinningAreaCombination(coveredAreas, rewardMultiplier, when, group);
+    }
+
+    private WhenEnum readWhen() throws IOException {
+        String value = reader.nextString();
+        for (WhenEnum when : WhenEnum.values()) {
+            if (when.getValue().equals(value)) {
+                return when;
+            }
+        }
+        throw new JsonParseException("Invalid when value: " + value + " at " + reader.getPath());
+    }
+
+    private WinGroupEnum readGroup() throws IOException {
+        String value = reader.nextString();
+        for (WinGroupEnum group : WinGroupEnum.values()) {
+            if (group.getValue().equals(value)) {
+                return group;
+            }
+        }
+        throw new JsonParseException("Invalid group: " + value + " at " + reader.getPath());
+    }
+
+    private String[][] readCoveredAreas() throws IOException {
+        List<String[]> lines = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (skipNull()) {
+                lines.add(null);
+                continue;
+            }
+            List<String> line = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                line.add(skipNull() ? null : reader.nextString());
+            }
+            reader.endArray();
+            lines.add(line.toArray(String[]::new));
+        }
+        reader.endArray();
+        return lines.toArray(String[][]::new);
+    }
+
+    private int nextInt() throws IOException {
+        try {
+            return reader.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonParseException("Invalid integer at " + reader.getPath() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private double nextDouble() throws IOException {
+        try {
+            return reader.nextDouble();
+        } catch (NumberFormatException e) {
+            throw new JsonParseException("Invalid number at " + reader.getPath() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Consumes the next value if it is null.
+     *
+     * @return true if a null value was consumed
+     */
+    private boolean skipNull() throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return true;
+        }
+        return false;
+    }
+}
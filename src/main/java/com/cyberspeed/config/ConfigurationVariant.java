@@ -0,0 +1,10 @@
+package com.cyberspeed.config;
+
+/**
+ * A named variant of a game configuration, compared with other variants in a sweep.
+ *
+ * @param name              the name of the variant
+ * @param gameConfiguration the configuration of the variant
+ */
+public record ConfigurationVariant(String name, GameConfiguration gameConfiguration) {
+}
@@ -0,0 +1,115 @@
+package com.cyberspeed.config;
+
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches a configuration file and compiles it again into a {@link GameModel} whenever it changes.
+ * <p>
+ * Changes are detected by a {@link WatchService} on the directory of the file, so both files written in place
+ * and files replaced by a rename, as most editors and deployment tools do, are noticed. Events are left to
+ * settle for {@value #SETTLE_MILLIS} ms before the file is read, so a file written in several steps is compiled
+ * once. The file is loaded and compiled on the thread of the watcher, and every model compiled successfully is
+ * handed to the listener on that same thread; a changed file that does not compile, or a model the listener
+ * fails on, is logged and ignored, the listener keeps the model it has and the watcher the following changes.
+ * </p>
+ */
+public final class ConfigurationWatcher implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(ConfigurationWatcher.class.getName());
+    private static final long SETTLE_MILLIS = 100;
+
+    private final Path config;
+    private final Consumer<GameModel> listener;
+    private final WatchService watchService;
+
+    /**
+     * Starts watching a configuration file.
+     *
+     * @param config   the path of the configuration JSON file
+     * @param listener receives every model compiled from a changed file, on the thread of the watcher
+     * @throws ConfigurationException if the file does not exist or its directory cannot be watched
+     */
+    public ConfigurationWatcher(Path config, Consumer<GameModel> listener) {
+        this.config = config.toAbsolutePath();
+        this.listener = listener;
+        if (!Files.isRegularFile(this.config)) {
+            throw new ConfigurationException("Configuration file not found: " + config);
+        }
+
+        try {
+            this.watchService = this.config.getFileSystem().newWatchService();
+            this.config.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new ConfigurationException("Error watching configuration: " + e.getMessage(), e);
+        }
+        Thread.ofPlatform().daemon().name("configuration-watcher").start(this::watch);
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                boolean changed = drain(watchService.take());
+                WatchKey key;
+                while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(key);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // The watcher was closed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Consumes the events of a key.
+     *
+     * @return true if the configuration file may have changed
+     */
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // Lost events may include the ones of the configuration file
+            changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || config.getFileName().equals(event.context());
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void reload() {
+        try {
+            listener.accept(new AppConfiguration().loadModel(config.toString()));
+        } catch (ConfigurationException e) {
+            logger.warning("Ignoring the changed configuration " + config + ": " + e.getMessage());
+        } catch (RuntimeException e) {
+            // A failure of the compilation or of the listener must not stop the watcher
+            logger.log(Level.SEVERE, "Error reloading the configuration " + config, e);
+        }
+    }
+
+    /**
+     * Stops watching the file. A model being compiled is still handed to the listener.
+     *
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
@@ -0,0 +1,165 @@
+package com.cyberspeed.config;
+
+import com.cyberspeed.domain.model.symbols.standard.StandardSymbolProbabilities;
+import com.cyberspeed.domain.model.winning.CombinationRegistry;
+import com.cyberspeed.domain.service.ProbabilityAggregator;
+import com.cyberspeed.domain.service.ProbabilityBonusService;
+import com.cyberspeed.domain.service.ProbabilityStandardService;
+import com.cyberspeed.domain.service.sampler.SamplerGrid;
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+import com.cyberspeed.utils.SymbolUtils;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable execution model compiled from a {@link GameConfiguration}.
+ * <p>
+ * {@link #compile(GameConfiguration)} checks the whole configuration once and reports every problem in a single
+ * {@link ConfigurationException}; it then interns the symbols and winning combinations into their registries
+ * and compiles the samplers of every cell. The engine classes built from a model therefore run against
+ * array-backed structures known to be consistent, without checking the configuration on every round. A model
+ * is safe to share between threads and between the services of a run.
+ * </p>
+ */
+public final class GameModel {
+    private final GameConfiguration gameConfiguration;
+    private final SymbolUtils symbolUtils;
+    private final CombinationRegistry combinationRegistry;
+    private final ProbabilityAggregator probabilityAggregator;
+    private final SamplerGrid samplerGrid;
+
+    private GameModel(GameConfiguration gameConfiguration, SymbolUtils symbolUtils,
+                      Function<ProbabilityAggregator, SamplerGrid> samplerCompiler) {
+        this.gameConfiguration = gameConfiguration;
+        this.symbolUtils = symbolUtils;
+        this.combinationRegistry = new CombinationRegistry(gameConfiguration.winCombinations());
+        this.probabilityAggregator = new ProbabilityAggregator(
+                new ProbabilityStandardService(gameConfiguration.probabilities().standardSymbolProbabilities()),
+                new ProbabilityBonusService(gameConfiguration.probabilities().bonusSymbolProbabilities()));
+        this.samplerGrid = samplerCompiler.apply(probabilityAggregator);
+    }
+
+    /**
+     * Checks and compiles a configuration.
+     *
+     * @param gameConfiguration the configuration to compile
+     * @return the execution model
+     * @throws ConfigurationException listing every problem of the configuration, if any
+     */
+    public static GameModel compile(GameConfiguration gameConfiguration) {
+        check(gameConfiguration);
+        return new GameModel(gameConfiguration, new SymbolUtils(gameConfiguration.symbols()), SamplerGrid::new);
+    }
+
+    /**
+     * Checks and compiles a configuration, sharing the structures it has in common with the models compiled
+     * with the same pools.
+     *
+     * @param gameConfiguration the configuration to compile
+     * @param sharedStructures  the pools of shared structures
+     * @return the execution model
+     * @throws ConfigurationException listing every problem of the configuration, if any
+     */
+    static GameModel compile(GameConfiguration gameConfiguration, SharedStructures sharedStructures) {
+        check(gameConfiguration);
+        GameConfiguration shared = sharedStructures.share(gameConfiguration);
+        return new GameModel(shared, sharedStructures.symbolUtils(shared),
+                probabilityAggregator -> new SamplerGrid(probabilityAggregator, sharedStructures.samplers()));
+    }
+
+    private static void check(GameConfiguration gameConfiguration) {
+        List<String> errors = ConfigurationChecker.check(gameConfiguration);
+        if (!errors.isEmpty()) {
+            throw new ConfigurationException("Invalid configuration: " + String.join("; ", errors));
+        }
+    }
+
+    /**
+     * Restores a model from a {@link ModelSnapshot}, whose configuration was checked and whose samplers were
+     * compiled when the snapshot was written.
+     *
+     * @param gameConfiguration the configuration the model was compiled from
+     * @param samplerGrid       the samplers compiled from the configuration
+     * @return the execution model
+     */
+    static GameModel restore(GameConfiguration gameConfiguration, SamplerGrid samplerGrid) {
+        return new GameModel(gameConfiguration, new SymbolUtils(gameConfiguration.symbols()), probabilityAggregator -> samplerGrid);
+    }
+
+    /**
+     * Gets the configuration the model was compiled from, for the services reading it at construction.
+     *
+     * @return the game configuration
+     */
+    public GameConfiguration getGameConfiguration() {
+        return gameConfiguration;
+    }
+
+    public int getRows() {
+        return gameConfiguration.rows();
+    }
+
+    public int getColumns() {
+        return gameConfiguration.columns();
+    }
+
+    public SymbolUtils getSymbolUtils() {
+        return symbolUtils;
+    }
+
+    public CombinationRegistry getCombinationRegistry() {
+        return combinationRegistry;
+    }
+
+    public ProbabilityAggregator getProbabilityAggregator() {
+        return probabilityAggregator;
+    }
+
+    public SamplerGrid getSamplerGrid() {
+        return samplerGrid;
+    }
+
+    /**
+     * Estimates the heap retained by the model: the configured weights of its cells and its compiled samplers.
+     * Structures shared with other models are counted as the model's own, so the estimate is an upper bound. The
+     * symbol table and the winning combinations, whose size does not depend on the matrix, are left out.
+     *
+     * @return the estimated number of bytes
+     */
+    public long estimateBytes() {
+        long bytes = estimateOwnBytes();
+        for (long sharedBytes : estimateShareableBytes().values()) {
+            bytes += sharedBytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the heap retained by the structures of the model no other model can share: the record of each
+     * cell and the arrays of the sampler grid.
+     *
+     * @return the estimated number of bytes
+     */
+    long estimateOwnBytes() {
+        return 32L * gameConfiguration.probabilities().standardSymbolProbabilities().size()
+                + samplerGrid.estimateReferenceBytes();
+    }
+
+    /**
+     * Estimates the heap retained by each structure of the model that models compiled with the same
+     * {@link SharedStructures} may share: the distinct tables of weights of the cells and the distinct samplers.
+     *
+     * @return the estimated number of bytes of each structure, by identity
+     */
+    Map<Object, Long> estimateShareableBytes() {
+        Map<Object, Long> structures = new IdentityHashMap<>(samplerGrid.estimateSamplerBytes());
+        for (StandardSymbolProbabilities probabilities : gameConfiguration.probabilities().standardSymbolProbabilities()) {
+            // The map and its entries
+            structures.computeIfAbsent(probabilities.symbols(), symbols -> 64 + 48L * probabilities.symbols().size());
+        }
+        return structures;
+    }
+}
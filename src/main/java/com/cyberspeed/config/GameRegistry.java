@@ -0,0 +1,113 @@
+package com.cyberspeed.config;
+
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registry of the compiled models of many games served by a single process.
+ * <p>
+ * A game is loaded and compiled from its configuration file on first use, and kept for the following ones.
+ * Models of different games share their identical structures, such as the symbol table or the samplers of the
+ * cells with the same distribution, and a shared structure is charged once to the estimated memory of the loaded
+ * models, while one of them references it. The least recently used models are evicted once that memory exceeds
+ * the budget; evicting a model only frees its own structures and the shared ones no other loaded model
+ * references. The model of the game just requested is never evicted, so a single game larger than the budget can
+ * still be served. An evicted game is loaded again on its next use.
+ * </p>
+ * <p>
+ * Lookups of loaded games only take the lock of the registry for a map access. A game is compiled outside of
+ * it, so other games are served meanwhile; two threads requesting the same unloaded game may both compile it,
+ * and the first model registered is returned to both.
+ * </p>
+ */
+public class GameRegistry {
+    private final Map<String, String> configurations;
+    private final long memoryBudget;
+    private final AppConfiguration appConfiguration = new AppConfiguration();
+    private final SharedStructures sharedStructures = new SharedStructures();
+    private final LinkedHashMap<String, GameModel> games = new LinkedHashMap<>(16, 0.75f, true); // Access order
+    private long usedBytes;
+
+    /**
+     * Constructs a GameRegistry serving the given games.
+     *
+     * @param configurations the file path or resource name of the configuration of each game, by game id
+     * @param memoryBudget   the estimated number of bytes the loaded models may use
+     * @throws IllegalArgumentException if the budget is not positive
+     */
+    public GameRegistry(Map<String, String> configurations, long memoryBudget) {
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("The memory budget must be positive");
+        }
+        this.configurations = Map.copyOf(configurations);
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Gets the model of a game, loading and compiling it if it is not loaded.
+     *
+     * @param gameId the id of the game
+     * @return the execution model of the game
+     * @throws ConfigurationException if the game is unknown, or its configuration cannot be loaded or is invalid
+     */
+    public GameModel get(String gameId) {
+        synchronized (this) {
+            GameModel loaded = games.get(gameId);
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+
+        String config = configurations.get(gameId);
+        if (config == null) {
+            throw new ConfigurationException("Unknown game: " + gameId);
+        }
+        GameModel gameModel = GameModel.compile(appConfiguration.loadConfiguration(config), sharedStructures);
+
+        synchronized (this) {
+            GameModel loaded = games.putIfAbsent(gameId, gameModel);
+            if (loaded != null) {
+                return loaded;
+            }
+            usedBytes += sharedStructures.acquire(gameModel);
+            evict(gameId);
+            return gameModel;
+        }
+    }
+
+    /**
+     * Evicts the least recently used games until the loaded ones fit in the budget, keeping the given game.
+     */
+    private void evict(String keptGameId) {
+        Iterator<Map.Entry<String, GameModel>> iterator = games.entrySet().iterator();
+        while (usedBytes > memoryBudget && iterator.hasNext()) {
+            Map.Entry<String, GameModel> entry = iterator.next();
+            if (!entry.getKey().equals(keptGameId)) {
+                usedBytes -= sharedStructures.release(entry.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Checks whether a game is loaded, without counting as a use of it.
+     *
+     * @param gameId the id of the game
+     * @return true if the model of the game is loaded
+     */
+    public synchronized boolean isLoaded(String gameId) {
+        return games.containsKey(gameId);
+    }
+
+    /**
+     * Gets the estimated memory of the loaded models, counting each shared structure once.
+     *
+     * @return the estimated number of bytes
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+}
@@ -0,0 +1,273 @@
+package com.cyberspeed.config;
+
+import com.cyberspeed.domain.enums.ImpactEnum;
+import com.cyberspeed.domain.enums.SymbolTypeEnum;
+import com.cyberspeed.domain.enums.WhenEnum;
+import com.cyberspeed.domain.enums.WinGroupEnum;
+import com.cyberspeed.domain.model.probabilities.Probabilities;
+import com.cyberspeed.domain.model.symbols.SlotSymbol;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbol;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbolProbabilities;
+import com.cyberspeed.domain.model.symbols.standard.StandardSymbol;
+import com.cyberspeed.domain.model.symbols.standard.StandardSymbolProbabilities;
+import com.cyberspeed.domain.model.winning.WinningAreaCombination;
+import com.cyberspeed.domain.model.winning.WinningCombination;
+import com.cyberspeed.domain.model.winning.WinningCountCombination;
+import com.cyberspeed.domain.service.sampler.SamplerGrid;
+import com.cyberspeed.utils.BinaryUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Versioned binary snapshot of a compiled {@link GameModel}, so a process can start without parsing and
+ * compiling its configuration again.
+ * <p>
+ * A snapshot holds the checksum of the configuration file it was compiled from, a CRC-32C of the payload, and the
+ * payload: the configuration itself, each distinct table of weights once, and the compiled samplers of the
+ * {@link SamplerGrid} with their alias tables. It is read from a memory-mapped file; a snapshot of another format
+ * version or of another configuration file is stale, and one whose payload does not match its CRC is corrupted:
+ * {@link #read(Path, byte[])} returns null for both, for the caller to fall back to the JSON configuration.
+ * The registries, line masks and payout tables are rebuilt from the configuration, as their size only depends
+ * on the number of symbols and winning combinations and not on the size of the matrix.
+ * </p>
+ */
+final class ModelSnapshot {
+    private static final int MAGIC = 0x53434753; // "SCGS"
+    private static final int VERSION = 2;
+    private static final int NONE = -1;
+
+    private ModelSnapshot() {
+    }
+
+    /**
+     * Writes the snapshot of a model, replacing the output file atomically so that a concurrent reader never
+     * maps a partial snapshot.
+     *
+     * @param gameModel the model to write, compiled from a checked configuration
+     * @param checksum  the checksum of the configuration file the model was compiled from
+     * @param output    the path of the snapshot file
+     * @throws IOException if the snapshot cannot be written
+     */
+    static void write(GameModel gameModel, byte[] checksum, Path output) throws IOException {
+        Path directory = output.toAbsolutePath().getParent();
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream stream = new DataOutputStream(payload)) {
+            writeConfiguration(stream, gameModel.getGameConfiguration());
+            gameModel.getSamplerGrid().writeTo(stream);
+        }
+
+        Path temporary = Files.createTempFile(directory, output.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                stream.writeInt(MAGIC);
+                stream.writeInt(VERSION);
+                stream.writeInt(checksum.length);
+                stream.write(checksum);
+                stream.writeInt(crc(ByteBuffer.wrap(payload.toByteArray())));
+                payload.writeTo(stream);
+            }
+            Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Maps a snapshot file and restores the model it holds.
+     *
+     * @param snapshot the path of the snapshot file
+     * @param checksum the checksum of the current configuration file
+     * @return the model, or null if the snapshot is stale or not a snapshot
+     * @throws IOException if the snapshot file cannot be read
+     */
+    static GameModel read(Path snapshot, byte[] checksum) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            byte[] snapshotChecksum = new byte[buffer.getInt()];
+            buffer.get(snapshotChecksum);
+            if (!Arrays.equals(snapshotChecksum, checksum)) {
+                return null;
+            }
+            // A payload corrupted behind a valid header would otherwise be restored as it reads
+            int payloadCrc = buffer.getInt();
+            if (crc(buffer.slice()) != payloadCrc) {
+                return null;
+            }
+
+            GameConfiguration gameConfiguration = readConfiguration(buffer);
+            SamplerGrid samplerGrid = SamplerGrid.readFrom(buffer);
+            return buffer.hasRemaining() ? null : GameModel.restore(gameConfiguration, samplerGrid);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                 | NegativeArraySizeException e) {
+            // A truncated or corrupted snapshot is as good as a stale one
+            return null;
+        }
+    }
+
+    private static int crc(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static void writeConfiguration(DataOutput output, GameConfiguration gameConfiguration) throws IOException {
+        output.writeInt(gameConfiguration.rows());
+        output.writeInt(gameConfiguration.columns());
+
+        Map<String, Integer> symbolIndexes = new HashMap<>();
+        output.writeInt(gameConfiguration.symbols().size());
+        for (Map.Entry<String, SlotSymbol> entry : gameConfiguration.symbols().entrySet()) {
+            SlotSymbol symbol = entry.getValue();
+            symbolIndexes.put(entry.getKey(), symbolIndexes.size());
+            BinaryUtils.writeString(output, entry.getKey());
+            output.writeByte(symbol.getType().ordinal());
+            output.writeDouble(symbol.getRewardMultiplier());
+            if (symbol instanceof BonusSymbol bonusSymbol) {
+                output.writeByte(ordinal(bonusSymbol.getImpact()));
+                output.writeInt(bonusSymbol.getExtra() == null ? NONE : bonusSymbol.getExtra());
+                output.writeBoolean(bonusSymbol.getExtra() != null);
+            }
+        }
+
+        // Each distinct table of weights is written once and referenced by its index
+        List<StandardSymbolProbabilities> standard = gameConfiguration.probabilities().standardSymbolProbabilities();
+        Map<List<Map.Entry<String, Integer>>, Integer> tableIndexes = new LinkedHashMap<>();
+        int[] cellTables = new int[standard.size()];
+        for (int cell = 0; cell < standard.size(); cell++) {
+            cellTables[cell] = tableIndexes.computeIfAbsent(List.copyOf(standard.get(cell).symbols().entrySet()),
+                    key -> tableIndexes.size());
+        }
+        int bonusTable = tableIndexes.computeIfAbsent(
+                List.copyOf(gameConfiguration.probabilities().bonusSymbolProbabilities().symbols().entrySet()),
+                key -> tableIndexes.size());
+
+        output.writeInt(tableIndexes.size());
+        for (List<Map.Entry<String, Integer>> table : tableIndexes.keySet()) {
+            output.writeInt(table.size());
+            for (Map.Entry<String, Integer> weight : table) {
+                output.writeInt(symbolIndexes.get(weight.getKey()));
+                output.writeInt(weight.getValue());
+            }
+        }
+        output.writeInt(standard.size());
+        for (int cell = 0; cell < standard.size(); cell++) {
+            output.writeInt(standard.get(cell).row());
+            output.writeInt(standard.get(cell).column());
+            output.writeInt(cellTables[cell]);
+        }
+        output.writeInt(bonusTable);
+
+        output.writeInt(gameConfiguration.winCombinations().size());
+        for (Map.Entry<String, WinningCombination> entry : gameConfiguration.winCombinations().entrySet()) {
+            WinningCombination combination = entry.getValue();
+            BinaryUtils.writeString(output, entry.getKey());
+            output.writeByte(combination.getWhen().ordinal());
+            output.writeByte(ordinal(combination.getGroup()));
+            output.writeDouble(combination.getRewardMultiplier());
+            if (combination instanceof WinningCountCombination countCombination) {
+                output.writeInt(countCombination.getCount());
+            } else {
+                String[][] coveredAreas = ((WinningAreaCombination) combination).getCoveredAreas();
+                output.writeInt(coveredAreas.length);
+                for (String[] line : coveredAreas) {
+                    output.writeInt(line.length);
+                    for (String coordinate : line) {
+                        BinaryUtils.writeString(output, coordinate);
+                    }
+                }
+            }
+        }
+    }
+
+    private static GameConfiguration readConfiguration(ByteBuffer buffer) {
+        int rows = buffer.getInt();
+        int columns = buffer.getInt();
+
+        String[] names = new String[buffer.getInt()];
+        Map<String, SlotSymbol> symbols = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            names[i] = BinaryUtils.readString(buffer);
+            SymbolTypeEnum type = SymbolTypeEnum.values()[buffer.get()];
+            double rewardMultiplier = buffer.getDouble();
+            if (type == SymbolTypeEnum.BONUS) {
+                ImpactEnum impact = valueOf(ImpactEnum.values(), buffer.get());
+                int extra = buffer.getInt();
+                symbols.put(names[i], new BonusSymbol(rewardMultiplier, type, impact, buffer.get() != 0 ? extra : null));
+            } else {
+                symbols.put(names[i], new StandardSymbol(rewardMultiplier, type));
+            }
+        }
+
+        List<Map<String, Integer>> tables = new ArrayList<>();
+        int tableCount = buffer.getInt();
+        for (int table = 0; table < tableCount; table++) {
+            int size = buffer.getInt();
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                weights.put(names[buffer.getInt()], buffer.getInt());
+            }
+            tables.add(weights);
+        }
+        List<StandardSymbolProbabilities> standard = new ArrayList<>();
+        int cells = buffer.getInt();
+        for (int cell = 0; cell < cells; cell++) {
+            standard.add(new StandardSymbolProbabilities(buffer.getInt(), buffer.getInt(), tables.get(buffer.getInt())));
+        }
+        Probabilities probabilities = new Probabilities(standard, new BonusSymbolProbabilities(tables.get(buffer.getInt())));
+
+        Map<String, WinningCombination> winCombinations = new LinkedHashMap<>();
+        int combinations = buffer.getInt();
+        for (int i = 0; i < combinations; i++) {
+            String name = BinaryUtils.readString(buffer);
+            WhenEnum when = WhenEnum.values()[buffer.get()];
+            WinGroupEnum group = valueOf(WinGroupEnum.values(), buffer.get());
+            double rewardMultiplier = buffer.getDouble();
+            if (when == WhenEnum.SAME_SYMBOLS) {
+                winCombinations.put(name, new WinningCountCombination(buffer.getInt(), rewardMultiplier, when, group));
+            } else {
+                String[][] coveredAreas = new String[buffer.getInt()][];
+                for (int line = 0; line < coveredAreas.length; line++) {
+                    coveredAreas[line] = new String[buffer.getInt()];
+                    for (int cell = 0; cell < coveredAreas[line].length; cell++) {
+                        coveredAreas[line][cell] = BinaryUtils.readString(buffer);
+                    }
+                }
+                winCombinations.put(name, new WinningAreaCombination(coveredAreas, rewardMultiplier, when, group));
+            }
+        }
+        return new GameConfiguration(columns, rows, symbols, probabilities, winCombinations);
+    }
+
+    private static int ordinal(Enum<?> value) {
+        return value == null ? NONE : value.ordinal();
+    }
+
+    private static <E extends Enum<E>> E valueOf(E[] values, int ordinal) {
+        return ordinal == NONE ? null : values[ordinal];
+    }
+}
@@ -0,0 +1,124 @@
+package com.cyberspeed.config;
+
+import com.cyberspeed.domain.model.probabilities.Probabilities;
+import com.cyberspeed.domain.model.symbols.SlotSymbol;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbol;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbolProbabilities;
+import com.cyberspeed.domain.model.symbols.standard.StandardSymbolProbabilities;
+import com.cyberspeed.domain.service.sampler.CellSampler;
+import com.cyberspeed.utils.Interner;
+import com.cyberspeed.utils.SymbolUtils;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pools of the immutable structures shared by the models of different games: symbol tables, tables of weights
+ * and compiled cell samplers. Games with the same symbols or the same distributions in some cells compile them
+ * once. The pools hold their values weakly, so structures are freed with the last model using them.
+ * <p>
+ * The pools also count the acquired models referencing each shared structure, so the memory of a set of models
+ * is estimated with every shared structure charged once, while a model of the set references it.
+ * </p>
+ */
+final class SharedStructures {
+    private final Interner<List<Object>, SymbolUtils> symbols = new Interner<>();
+    private final Interner<List<Map.Entry<String, Integer>>, Map<String, Integer>> weights = new Interner<>();
+    private final Interner<List<Object>, CellSampler> samplers = new Interner<>();
+    private final Map<Object, Integer> references = new IdentityHashMap<>();
+
+    /**
+     * Gets the symbol table of the symbols of a configuration, shared with the configurations defining the same
+     * symbols in the same order.
+     *
+     * @param gameConfiguration a checked configuration
+     * @return the shared symbol table
+     */
+    SymbolUtils symbolUtils(GameConfiguration gameConfiguration) {
+        List<Object> key = new ArrayList<>();
+        for (Map.Entry<String, SlotSymbol> entry : gameConfiguration.symbols().entrySet()) {
+            SlotSymbol symbol = entry.getValue();
+            key.add(entry.getKey());
+            key.add(symbol.getType());
+            key.add(symbol.getRewardMultiplier());
+            if (symbol instanceof BonusSymbol bonusSymbol) {
+                key.add(bonusSymbol.getImpact());
+                key.add(bonusSymbol.getExtra());
+            }
+        }
+        return symbols.intern(key, k -> new SymbolUtils(gameConfiguration.symbols()));
+    }
+
+    /**
+     * Copies a configuration with its tables of weights replaced by the shared tables with the same weights in
+     * the same order.
+     *
+     * @param gameConfiguration a checked configuration
+     * @return the configuration with shared tables of weights
+     */
+    GameConfiguration share(GameConfiguration gameConfiguration) {
+        List<StandardSymbolProbabilities> standard = new ArrayList<>();
+        for (StandardSymbolProbabilities probabilities : gameConfiguration.probabilities().standardSymbolProbabilities()) {
+            standard.add(new StandardSymbolProbabilities(probabilities.row(), probabilities.column(),
+                    share(probabilities.symbols())));
+        }
+        Probabilities probabilities = new Probabilities(standard,
+                new BonusSymbolProbabilities(share(gameConfiguration.probabilities().bonusSymbolProbabilities().symbols())));
+        return new GameConfiguration(gameConfiguration.columns(), gameConfiguration.rows(), gameConfiguration.symbols(),
+                probabilities, gameConfiguration.winCombinations());
+    }
+
+    private Map<String, Integer> share(Map<String, Integer> symbols) {
+        List<Map.Entry<String, Integer>> key = new ArrayList<>(symbols.size());
+        for (Map.Entry<String, Integer> entry : symbols.entrySet()) {
+            key.add(Map.entry(entry.getKey(), entry.getValue()));
+        }
+        return weights.intern(List.copyOf(key), k -> symbols);
+    }
+
+    /**
+     * Gets the pool of compiled cell samplers.
+     *
+     * @return the pool of samplers
+     */
+    Interner<List<Object>, CellSampler> samplers() {
+        return samplers;
+    }
+
+    /**
+     * Adds a model to the acquired models.
+     *
+     * @param gameModel a model compiled with these pools, not acquired yet
+     * @return the estimated number of bytes the model adds to the acquired models: its own structures and the
+     * shared ones no other acquired model references
+     */
+    synchronized long acquire(GameModel gameModel) {
+        long bytes = gameModel.estimateOwnBytes();
+        for (Map.Entry<Object, Long> entry : gameModel.estimateShareableBytes().entrySet()) {
+            if (references.merge(entry.getKey(), 1, Integer::sum) == 1) {
+                bytes += entry.getValue();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Removes a model from the acquired models.
+     *
+     * @param gameModel an acquired model
+     * @return the estimated number of bytes the model no longer adds to the acquired models: its own structures
+     * and the shared ones no other acquired model references
+     */
+    synchronized long release(GameModel gameModel) {
+        long bytes = gameModel.estimateOwnBytes();
+        for (Map.Entry<Object, Long> entry : gameModel.estimateShareableBytes().entrySet()) {
+            if (references.merge(entry.getKey(), -1, Integer::sum) == 0) {
+                references.remove(entry.getKey());
+                bytes += entry.getValue();
+            }
+        }
+        return bytes;
+    }
+}
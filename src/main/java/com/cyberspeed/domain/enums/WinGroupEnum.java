@@ -35,4 +35,8 @@ public enum WinGroupEnum {
         this.value = value;
     }
 
+    public String getValue() {
+        return value;
+    }
+
 }
@@ -1,11 +1,12 @@
 package com.cyberspeed.domain.mapper;
 
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.domain.validator.EvaluationContext;
+import com.cyberspeed.domain.model.winning.CombinationRegistry;
 import com.cyberspeed.domain.model.winning.WinningCombination;
 import com.cyberspeed.domain.model.winning.WinningCountCombination;
-import com.cyberspeed.domain.enums.WhenEnum;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -13,66 +14,124 @@ import java.util.Map;
  * The SymbolWinningMapper class is responsible for mapping symbols to their corresponding winning combinations.
  * This mapping is based on the repetition of symbols in the game matrix and conditions specified by the winning combinations.
  *
- * <p>This class is initialized with a map of {@link WinningCombination} objects, representing the available
- * winning combinations in the game. It provides methods to map repeated symbols to those combinations
- * based on certain conditions.</p>
+ * <p>This class is initialized with the available winning combinations of the game. The {@code same_symbols}
+ * combinations are compiled into a table indexed by count, so mapping the count of a symbol to its winning
+ * combinations and their summed multiplier is a single array read.</p>
  */
 public class SymbolWinningMapper {
+    private static final int[] NO_COMBINATIONS = new int[0];
 
     /**
-     * A map of symbol names to {@link WinningCombination} objects, representing the available
-     * winning combinations in the game.
+     * The registry resolving the symbol ids of the counted symbols.
      */
-    private final Map<String, WinningCombination> winCombinations;
+    private final SymbolRegistry symbolRegistry;
+
+    /**
+     * The registry resolving the ids of the winning combinations.
+     */
+    private final CombinationRegistry combinationRegistry;
+
+    /**
+     * The ids of the same_symbols combinations activated by each count, in ascending id order.
+     */
+    private final int[][] combinationsByCount;
+
+    /**
+     * The sum of the reward multipliers of the same_symbols combinations activated by each count.
+     */
+    private final double[] multiplierByCount;
 
     /**
      * Constructor for SymbolWinningMapper.
      *
      * @param winCombinations a map of symbol names to {@link WinningCombination} objects
+     * @param symbolRegistry  the registry resolving symbol ids to names
      */
-    public SymbolWinningMapper(Map<String, WinningCombination> winCombinations) {
-        this.winCombinations = winCombinations;
+    public SymbolWinningMapper(Map<String, WinningCombination> winCombinations, SymbolRegistry symbolRegistry) {
+        this(new CombinationRegistry(winCombinations), symbolRegistry);
     }
 
     /**
-     * Maps the repeated symbols to their corresponding winning combinations based on the condition.
-     *
-     * <p>This method iterates through the provided repeated symbols and checks if they meet the criteria
-     * for any of the winning combinations. It only considers combinations that match the specified {@link WhenEnum} condition.</p>
+     * Constructor for SymbolWinningMapper with already interned winning combinations.
      *
-     * @param repeatedSymbols a map of symbol names to their count of repetitions
-     * @param condition       the {@link WhenEnum} condition that defines when the mapping should occur
-     * @return a map of symbol names to a list of corresponding winning combination names
+     * @param combinationRegistry the registry of the winning combinations
+     * @param symbolRegistry      the registry resolving symbol ids to names
      */
-    public Map<String, List<String>> mapSymbolsToWinningCombinations(Map<String, Integer> repeatedSymbols, WhenEnum condition) {
-        Map<String, List<String>> repeatedSymbolWinning = new HashMap<>();
+    public SymbolWinningMapper(CombinationRegistry combinationRegistry, SymbolRegistry symbolRegistry) {
+        this.symbolRegistry = symbolRegistry;
+        this.combinationRegistry = combinationRegistry;
+
+        int maxCount = 0;
+        for (int id = 0; id < combinationRegistry.sameSymbolsCount(); id++) {
+            maxCount = Math.max(maxCount, getCount(id));
+        }
 
-        for (Map.Entry<String, WinningCombination> winCombination : winCombinations.entrySet()) {
-            if (winCombination.getValue().getWhen().equals(condition)) {
-                WinningCountCombination winningCountCombination = (WinningCountCombination) winCombination.getValue();
-                mapSymbols(repeatedSymbols, repeatedSymbolWinning, winCombination.getKey(), winningCountCombination);
+        this.combinationsByCount = new int[maxCount + 1][];
+        this.multiplierByCount = new double[maxCount + 1];
+        for (int count = 0; count <= maxCount; count++) {
+            combinationsByCount[count] = compileCount(count);
+        }
+    }
+
+    /**
+     * Collects the same_symbols combinations activated by a count and sums their multipliers.
+     * A count of zero never activates a combination, as the symbol is absent from the matrix.
+     *
+     * @param count the number of repetitions of a symbol
+     * @return the ids of the activated combinations
+     */
+    private int[] compileCount(int count) {
+        if (count == 0) {
+            return NO_COMBINATIONS;
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < combinationRegistry.sameSymbolsCount(); id++) {
+            if (getCount(id) == count) {
+                ids.add(id);
+                multiplierByCount[count] += combinationRegistry.getRewardMultiplier(id);
             }
         }
-        return repeatedSymbolWinning;
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private int getCount(int combinationId) {
+        return ((WinningCountCombination) combinationRegistry.get(combinationId)).getCount();
     }
 
     /**
-     * Maps the symbols to their corresponding winning combination if they match the required repetition count.
+     * Maps the repeated symbols to their corresponding same_symbols winning combinations.
      *
-     * <p>This method checks if the repeated symbols match the count specified by the {@link WinningCountCombination}.
-     * If the counts match, it adds the combination to the map of winning combinations for the corresponding symbol.</p>
+     * <p>This method looks up the count of every standard symbol in the compiled count table and records the
+     * activated combinations into the context.</p>
      *
-     * @param repeatedSymbols         a map of symbol names to their count of repetitions
-     * @param repeatedSymbolWinning   a map of symbol names to a list of corresponding winning combination names
-     * @param combinationKey          the name of the winning combination
-     * @param winningCountCombination the winning combination that specifies the required repetition count
+     * @param repeatedSymbols the histogram of symbol repetitions, indexed by symbol id
+     * @param context         the context receiving the winning combinations of each symbol
      */
-    private void mapSymbols(Map<String, Integer> repeatedSymbols, Map<String, List<String>> repeatedSymbolWinning,
-                            String combinationKey, WinningCountCombination winningCountCombination) {
-        for (Map.Entry<String, Integer> symbol : repeatedSymbols.entrySet()) {
-            if (symbol.getValue().equals(winningCountCombination.getCount())) {
-                repeatedSymbolWinning.computeIfAbsent(symbol.getKey(), k -> new ArrayList<>()).add(combinationKey);
+    public void mapSymbolsToWinningCombinations(int[] repeatedSymbols, EvaluationContext context) {
+        for (int symbolId = 0; symbolId < symbolRegistry.standardCount(); symbolId++) {
+            for (int combination : getCombinations(repeatedSymbols[symbolId])) {
+                context.addCombination(symbolId, combination);
             }
         }
     }
+
+    /**
+     * Gets the same_symbols combinations activated by a count.
+     *
+     * @param count the number of repetitions of a symbol
+     * @return the ids of the activated combinations, empty if none
+     */
+    public int[] getCombinations(int count) {
+        return count < combinationsByCount.length ? combinationsByCount[count] : NO_COMBINATIONS;
+    }
+
+    /**
+     * Gets the summed reward multiplier of the same_symbols combinations activated by a count.
+     *
+     * @param count the number of repetitions of a symbol
+     * @return the summed multiplier, zero if no combination is activated
+     */
+    public double getMultiplier(int count) {
+        return count < multiplierByCount.length ? multiplierByCount[count] : 0;
+    }
 }
@@ -0,0 +1,18 @@
+package com.cyberspeed.domain.model.analysis;
+
+import java.util.Map;
+
+/**
+ * Represents the exact payout distribution of a game configuration for a bet.
+ *
+ * @param betAmount          amount bet on the round
+ * @param rtp                return to player, the expected reward divided by the bet
+ * @param hitFrequency       probability of at least one winning combination
+ * @param maxReward          highest reward with a non-zero probability
+ * @param variance           variance of the reward
+ * @param standardDeviation  standard deviation of the reward
+ * @param rewardProbabilities probability of every possible reward, in increasing order of reward
+ */
+public record AnalysisResult(double betAmount, double rtp, double hitFrequency, double maxReward, double variance,
+                             double standardDeviation, Map<Double, Double> rewardProbabilities) {
+}
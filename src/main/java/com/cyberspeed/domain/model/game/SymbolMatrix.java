@@ -0,0 +1,178 @@
+package com.cyberspeed.domain.model.game;
+
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+
+/**
+ * Engine-internal representation of a game matrix.
+ * <p>
+ * Cells hold {@link SymbolRegistry} ids in a flat row-major byte array, which is several times smaller than a
+ * {@code String[][]} and lets the engine compare cells without hashing. The matrix is converted to symbol names
+ * only at the output boundary with {@link #toStrings(SymbolRegistry)}.
+ * </p>
+ * <p>
+ * Alongside the cells, the matrix maintains an occupancy bitboard per symbol: bit {@code index} of the board of a
+ * symbol is set when the cell with row-major {@code index} holds that symbol. Boards span {@link #words()} longs,
+ * so a set of positions can be tested against a symbol with a few bitwise operations.
+ * </p>
+ */
+public final class SymbolMatrix {
+    private final int rows;
+    private final int columns;
+    private final int words;
+    private final byte[] cells;
+    private final long[] occupancy; // words longs per symbol id
+
+    /**
+     * Creates a matrix with the given dimensions, with every cell holding symbol id 0.
+     *
+     * @param rows        the number of rows
+     * @param columns     the number of columns
+     * @param symbolCount the number of symbol ids that may be stored
+     */
+    public SymbolMatrix(int rows, int columns, int symbolCount) {
+        this.rows = rows;
+        this.columns = columns;
+        this.words = wordsFor(rows * columns);
+        this.cells = new byte[rows * columns];
+        this.occupancy = new long[Math.max(symbolCount, 1) * words];
+        for (int index = 0; index < cells.length; index++) {
+            occupancy[index >>> 6] |= 1L << index;
+        }
+    }
+
+    /**
+     * Converts a matrix of symbol names into its id representation.
+     *
+     * @param matrix   a 2D array of symbol names
+     * @param registry the registry resolving the symbol names
+     * @return the matrix of symbol ids
+     * @throws IllegalArgumentException if the matrix contains a symbol that is not configured
+     */
+    public static SymbolMatrix of(String[][] matrix, SymbolRegistry registry) {
+        SymbolMatrix symbolMatrix = new SymbolMatrix(matrix.length, matrix.length == 0 ? 0 : matrix[0].length, registry.size());
+        for (int row = 0; row < symbolMatrix.rows; row++) {
+            for (int column = 0; column < symbolMatrix.columns; column++) {
+                int id = registry.idOf(matrix[row][column]);
+                if (id < 0) {
+                    throw new IllegalArgumentException("Unknown symbol in matrix: " + matrix[row][column]);
+                }
+                symbolMatrix.set(row, column, id);
+            }
+        }
+        return symbolMatrix;
+    }
+
+    /**
+     * Gets the number of longs needed by a bitboard over the given number of cells.
+     *
+     * @param cells the number of cells
+     * @return the number of 64-bit words of a bitboard
+     */
+    public static int wordsFor(int cells) {
+        return Math.max((cells + Long.SIZE - 1) / Long.SIZE, 1);
+    }
+
+    /**
+     * Converts the matrix back into symbol names.
+     *
+     * @param registry the registry resolving the symbol ids
+     * @return a 2D array of symbol names
+     */
+    public String[][] toStrings(SymbolRegistry registry) {
+        String[][] matrix = new String[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                matrix[row][column] = registry.nameOf(get(row, column));
+            }
+        }
+        return matrix;
+    }
+
+    public int get(int row, int column) {
+        return cells[row * columns + column];
+    }
+
+    /**
+     * Gets the symbol id of a cell by its row-major index.
+     *
+     * @param index the row-major index of the cell
+     * @return the symbol id
+     */
+    public int get(int index) {
+        return cells[index];
+    }
+
+    public void set(int row, int column, int symbolId) {
+        set(row * columns + column, symbolId);
+    }
+
+    /**
+     * Stores a symbol id in a cell by its row-major index, keeping the occupancy bitboards up to date.
+     *
+     * @param index    the row-major index of the cell
+     * @param symbolId the symbol id
+     */
+    public void set(int index, int symbolId) {
+        long bit = 1L << index;
+        int word = index >>> 6;
+        occupancy[cells[index] * words + word] &= ~bit;
+        occupancy[symbolId * words + word] |= bit;
+        cells[index] = (byte) symbolId;
+    }
+
+    /**
+     * Checks whether a symbol occupies every position of a bitboard mask.
+     *
+     * @param symbolId the symbol id
+     * @param mask     the array holding the mask
+     * @param offset   the index of the first of the {@link #words()} words of the mask
+     * @return true if {@code (board & mask) == mask} for every word of the board of the symbol
+     */
+    public boolean covers(int symbolId, long[] mask, int offset) {
+        int board = symbolId * words;
+        for (int word = 0; word < words; word++) {
+            long bits = mask[offset + word];
+            if ((occupancy[board + word] & bits) != bits) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets a word of the occupancy bitboard of a symbol.
+     *
+     * @param symbolId the symbol id
+     * @param word     the index of the word
+     * @return the bits of the cells {@code 64 * word} to {@code 64 * word + 63} holding the symbol
+     */
+    public long getOccupancy(int symbolId, int word) {
+        return occupancy[symbolId * words + word];
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    /**
+     * Gets the number of cells of the matrix.
+     *
+     * @return rows times columns
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * Gets the number of 64-bit words of each occupancy bitboard.
+     *
+     * @return the number of words per bitboard
+     */
+    public int words() {
+        return words;
+    }
+}
@@ -0,0 +1,45 @@
+package com.cyberspeed.domain.model.simulation;
+
+/**
+ * Sum of doubles with Neumaier's compensated summation, which carries the rounding error of every addition in a
+ * second term. Summing billions of rewards keeps close to full double precision instead of losing digits as the
+ * total grows.
+ */
+public final class CompensatedSum {
+    private double sum;
+    private double compensation;
+
+    /**
+     * Adds a value to the sum.
+     *
+     * @param value the value to add
+     */
+    public void add(double value) {
+        double total = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - total) + value;
+        } else {
+            compensation += (value - total) + sum;
+        }
+        sum = total;
+    }
+
+    /**
+     * Adds another sum, including its compensation, to this one.
+     *
+     * @param other the sum to add
+     */
+    public void add(CompensatedSum other) {
+        add(other.sum);
+        add(other.compensation);
+    }
+
+    /**
+     * Gets the compensated value of the sum.
+     *
+     * @return the sum
+     */
+    public double value() {
+        return sum + compensation;
+    }
+}
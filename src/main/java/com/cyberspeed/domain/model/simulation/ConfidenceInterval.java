@@ -0,0 +1,88 @@
+package com.cyberspeed.domain.model.simulation;
+
+/**
+ * Represents a normal-approximation confidence interval, {@code estimate ± halfWidth}.
+ *
+ * @param estimate  the estimated value
+ * @param halfWidth the half-width of the interval
+ */
+public record ConfidenceInterval(double estimate, double halfWidth) {
+    private static final double LOG_SQRT_TWO_PI = 0.9189385332046727;
+
+    /**
+     * Builds the interval of a mean estimated from independent samples.
+     *
+     * @param mean              the sample mean
+     * @param standardDeviation the sample standard deviation
+     * @param samples           the number of samples
+     * @param zScore            the standard normal quantile of the confidence level, see {@link #zScore(double)}
+     * @return the interval
+     */
+    public static ConfidenceInterval ofMean(double mean, double standardDeviation, long samples, double zScore) {
+        return new ConfidenceInterval(mean, samples == 0 ? Double.POSITIVE_INFINITY : zScore * standardDeviation / Math.sqrt(samples));
+    }
+
+    /**
+     * Builds the interval of a proportion estimated from independent samples.
+     *
+     * @param proportion the observed proportion
+     * @param samples    the number of samples
+     * @param zScore     the standard normal quantile of the confidence level, see {@link #zScore(double)}
+     * @return the interval
+     */
+    public static ConfidenceInterval ofProportion(double proportion, long samples, double zScore) {
+        return ofMean(proportion, Math.sqrt(proportion * (1 - proportion)), samples, zScore);
+    }
+
+    /**
+     * Computes the quantile of the standard normal distribution bounding a two-sided confidence level, e.g. 1.96
+     * for 0.95. Acklam's rational approximation gives a starting point that a few Newton steps on the normal
+     * distribution function bring to double precision.
+     *
+     * @param confidence the confidence level, between 0 and 1 exclusive
+     * @return the z-score
+     * @throws IllegalArgumentException if the confidence level is not between 0 and 1
+     */
+    public static double zScore(double confidence) {
+        if (!(confidence > 0 && confidence < 1)) {
+            throw new IllegalArgumentException("Confidence level must be between 0 and 1");
+        }
+        double p = 1 - (1 - confidence) / 2;
+        double z = approximateQuantile(p);
+        for (int i = 0; i < 3; i++) {
+            z -= (normalDistribution(z) - p) / Math.exp(-0.5 * z * z - LOG_SQRT_TWO_PI);
+        }
+        return z;
+    }
+
+    private static double approximateQuantile(double p) {
+        double q;
+        if (p > 0.97575) {
+            q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                    - 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                    / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                    + 3.754408661907416e+00) * q + 1);
+        }
+        q = p - 0.5;
+        double r = q * q;
+        return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+                / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                + 6.680131310015424e+01) * r - 1.328068155288572e+01) * r + 1);
+    }
+
+    /**
+     * Standard normal distribution function, from Marsaglia's series {@code 1/2 + phi(x) (x + x^3/3 + x^5/(3*5) + ...)}.
+     */
+    private static double normalDistribution(double x) {
+        double sum = x;
+        double term = x;
+        double squared = x * x;
+        for (int i = 3; sum + term != sum; i += 2) {
+            term *= squared / i;
+            sum += term;
+        }
+        return 0.5 + sum * Math.exp(-0.5 * squared - LOG_SQRT_TWO_PI);
+    }
+}
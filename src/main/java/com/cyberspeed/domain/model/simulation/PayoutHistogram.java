@@ -0,0 +1,119 @@
+package com.cyberspeed.domain.model.simulation;
+
+/**
+ * Constant-memory histogram of rewards with logarithmic buckets.
+ * <p>
+ * Every power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, indexed by the exponent and the
+ * leading bits of the mantissa of the reward, so any reward is located with a relative error below
+ * {@code 1 / 512}. Rewards of zero are counted apart. Histograms of several workers are combined with
+ * {@link #merge(PayoutHistogram)}.
+ * </p>
+ */
+public final class PayoutHistogram {
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = -20; // Smaller rewards are counted in the first bucket
+    private static final int MAX_EXPONENT = 62; // Larger rewards are counted in the last bucket
+
+    private final long[] counts = new long[(MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS];
+    private long zeroCount;
+    private long totalCount;
+    private double minPositive = Double.POSITIVE_INFINITY;
+    private double max;
+
+    /**
+     * Records a reward.
+     *
+     * @param reward the reward, counted as zero if not positive
+     */
+    public void record(double reward) {
+        totalCount++;
+        if (!(reward > 0)) {
+            zeroCount++;
+            return;
+        }
+        counts[indexOf(reward)]++;
+        minPositive = Math.min(minPositive, reward);
+        max = Math.max(max, reward);
+    }
+
+    /**
+     * Adds the rewards recorded by another histogram to this one.
+     *
+     * @param other the histogram to merge
+     */
+    public void merge(PayoutHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        zeroCount += other.zeroCount;
+        totalCount += other.totalCount;
+        minPositive = Math.min(minPositive, other.minPositive);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Gets the reward at a quantile of all recorded rewards.
+     *
+     * @param quantile the quantile, between 0 and 1
+     * @return the reward, approximated by the middle of its bucket, or 0 if nothing was recorded
+     */
+    public double getValueAtQuantile(double quantile) {
+        return valueAtRank(rank(quantile, totalCount), 0);
+    }
+
+    /**
+     * Gets the reward at a quantile of the positive rewards only, i.e. the size of the wins.
+     *
+     * @param quantile the quantile, between 0 and 1
+     * @return the reward, approximated by the middle of its bucket, or 0 if no positive reward was recorded
+     */
+    public double getWinAtQuantile(double quantile) {
+        return valueAtRank(rank(quantile, totalCount - zeroCount) + zeroCount, zeroCount);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getZeroCount() {
+        return zeroCount;
+    }
+
+    private static long rank(double quantile, long count) {
+        return Math.max(1, Math.min(count, (long) Math.ceil(quantile * count)));
+    }
+
+    private double valueAtRank(long rank, long skipped) {
+        if (totalCount == skipped || rank <= zeroCount) {
+            return 0;
+        }
+        long cumulative = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                double middle = (lowerBound(i) + lowerBound(i + 1)) / 2;
+                return Math.max(minPositive, Math.min(max, middle));
+            }
+        }
+        return max;
+    }
+
+    private static int indexOf(double reward) {
+        int exponent = Math.getExponent(reward);
+        if (exponent < MIN_EXPONENT) {
+            return 0;
+        }
+        if (exponent > MAX_EXPONENT) {
+            return (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS - 1;
+        }
+        int subBucket = (int) (Double.doubleToRawLongBits(reward) >>> (52 - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    private static double lowerBound(int index) {
+        int exponent = index / SUB_BUCKETS + MIN_EXPONENT;
+        int subBucket = index % SUB_BUCKETS;
+        return Math.scalb(1.0 + (double) subBucket / SUB_BUCKETS, exponent);
+    }
+}
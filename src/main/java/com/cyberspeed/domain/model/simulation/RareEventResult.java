@@ -0,0 +1,29 @@
+package com.cyberspeed.domain.model.simulation;
+
+import java.util.Map;
+
+/**
+ * Represents the result of a simulation drawing rounds with importance sampling, stratified sampling or both.
+ * The variance reductions compare the variance of each estimate with the one plain sampling would give with the
+ * same number of rounds.
+ *
+ * @param rounds                 number of rounds played
+ * @param betAmount              amount bet on every round
+ * @param tilt                   exponent of the payouts the symbol weights were tilted by, 0 for none
+ * @param confidence             confidence level of the intervals
+ * @param rtpInterval            confidence interval of the return to player
+ * @param rtpVarianceReduction   variance of plain sampling over the variance of the estimate of the return to player,
+ *                               null if the estimate has no variance
+ * @param hitFrequencyInterval   confidence interval of the hit frequency
+ * @param tailProbabilities      confidence interval of the probability of the reward reaching each threshold
+ * @param tailVarianceReductions variance of plain sampling over the variance of the estimate of each tail probability
+ * @param effectiveSampleSize    number of unweighted rounds carrying as much information as the weighted ones
+ * @param strataProbabilities    probability of each bonus stratum, null without stratification
+ * @param strataRounds           number of rounds played in each bonus stratum, null without stratification
+ */
+public record RareEventResult(long rounds, double betAmount, double tilt, double confidence, ConfidenceInterval rtpInterval,
+                              Double rtpVarianceReduction, ConfidenceInterval hitFrequencyInterval,
+                              Map<String, ConfidenceInterval> tailProbabilities, Map<String, Double> tailVarianceReductions,
+                              double effectiveSampleSize, Map<String, Double> strataProbabilities,
+                              Map<String, Long> strataRounds) {
+}
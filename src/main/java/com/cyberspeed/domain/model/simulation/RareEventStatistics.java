@@ -0,0 +1,139 @@
+package com.cyberspeed.domain.model.simulation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulates the outcome of rounds drawn with importance sampling, stratified sampling or both.
+ * <p>
+ * The rounds of each stratum are recorded into their own {@link WeightedStatistics}. An estimate is the sum of
+ * the estimates of the strata weighted by the probability of each stratum, and its variance the sum of the
+ * variances of the strata weighted by the squared probabilities. Without stratification there is a single
+ * stratum of probability 1.
+ * </p>
+ */
+public final class RareEventStatistics {
+    private final double[] thresholds;
+    private final WeightedStatistics[] strata;
+
+    /**
+     * Creates empty statistics for the given number of strata.
+     *
+     * @param strata     the number of strata
+     * @param thresholds the reward thresholds of the tail probabilities
+     */
+    public RareEventStatistics(int strata, double[] thresholds) {
+        this.thresholds = thresholds.clone();
+        this.strata = new WeightedStatistics[strata];
+        for (int i = 0; i < strata; i++) {
+            this.strata[i] = new WeightedStatistics(thresholds);
+        }
+    }
+
+    /**
+     * Records a round of a stratum.
+     *
+     * @param stratum the index of the stratum
+     * @param reward  the reward of the round
+     * @param winning whether the round has at least one winning combination
+     * @param weight  the likelihood ratio of the round
+     */
+    public void record(int stratum, double reward, boolean winning, double weight) {
+        strata[stratum].record(reward, winning, weight);
+    }
+
+    /**
+     * Adds the rounds recorded by other statistics to these ones.
+     *
+     * @param other the statistics to merge, with the same strata and thresholds
+     */
+    public void merge(RareEventStatistics other) {
+        for (int i = 0; i < strata.length; i++) {
+            strata[i].merge(other.strata[i]);
+        }
+    }
+
+    /**
+     * Gets the standard deviation of the weighted reward of a round of a stratum.
+     *
+     * @param stratum the index of the stratum
+     * @return the standard deviation
+     */
+    public double getRewardStandardDeviation(int stratum) {
+        return strata[stratum].getRewardStandardDeviation();
+    }
+
+    /**
+     * Summarizes the recorded rounds.
+     *
+     * @param betAmount             the amount bet on every round
+     * @param tilt                  the exponent of the payouts the symbol weights were tilted by
+     * @param confidence            the confidence level of the intervals
+     * @param stratumNames          the name of each stratum, or null without stratification
+     * @param stratumProbabilities  the probability of each stratum
+     * @return the result of the simulation
+     */
+    public RareEventResult toResult(double betAmount, double tilt, double confidence, String[] stratumNames,
+                                    double[] stratumProbabilities) {
+        double zScore = ConfidenceInterval.zScore(confidence);
+        long rounds = 0;
+        double effectiveSampleSize = 0;
+        double meanReward = 0;
+        double meanRewardVariance = 0;
+        double secondMoment = 0;
+        double hitFrequency = 0;
+        double hitFrequencyVariance = 0;
+        for (int i = 0; i < strata.length; i++) {
+            double probability = stratumProbabilities[i];
+            WeightedStatistics stratum = strata[i];
+            rounds += stratum.getRounds();
+            effectiveSampleSize += stratum.getEffectiveSampleSize();
+            meanReward += probability * stratum.getMeanReward();
+            meanRewardVariance += probability * probability * stratum.getMeanRewardVariance();
+            secondMoment += probability * stratum.getSecondMoment();
+            hitFrequency += probability * stratum.getHitFrequency();
+            hitFrequencyVariance += probability * probability * stratum.getHitFrequencyVariance();
+        }
+
+        Map<String, ConfidenceInterval> tailProbabilities = new LinkedHashMap<>();
+        Map<String, Double> tailVarianceReductions = new LinkedHashMap<>();
+        for (int t = 0; t < thresholds.length; t++) {
+            double probability = 0;
+            double variance = 0;
+            for (int i = 0; i < strata.length; i++) {
+                probability += stratumProbabilities[i] * strata[i].getTailProbability(t);
+                variance += stratumProbabilities[i] * stratumProbabilities[i] * strata[i].getTailProbabilityVariance(t);
+            }
+            String key = String.valueOf(thresholds[t]);
+            tailProbabilities.put(key, new ConfidenceInterval(probability, zScore * Math.sqrt(variance)));
+            tailVarianceReductions.put(key, varianceReduction(probability * (1 - probability) / rounds, variance));
+        }
+
+        Map<String, Double> strataProbabilities = null;
+        Map<String, Long> strataRounds = null;
+        if (stratumNames != null) {
+            strataProbabilities = new LinkedHashMap<>();
+            strataRounds = new LinkedHashMap<>();
+            for (int i = 0; i < strata.length; i++) {
+                strataProbabilities.put(stratumNames[i], stratumProbabilities[i]);
+                strataRounds.put(stratumNames[i], strata[i].getRounds());
+            }
+        }
+
+        double rewardVariance = secondMoment - meanReward * meanReward; // Of a single round of the configured game
+        return new RareEventResult(rounds, betAmount, tilt, confidence,
+                new ConfidenceInterval(meanReward / betAmount, zScore * Math.sqrt(meanRewardVariance) / betAmount),
+                varianceReduction(rewardVariance / rounds, meanRewardVariance),
+                new ConfidenceInterval(hitFrequency, zScore * Math.sqrt(hitFrequencyVariance)),
+                tailProbabilities, tailVarianceReductions, effectiveSampleSize, strataProbabilities, strataRounds);
+    }
+
+    /**
+     * Divides the variance plain sampling would give by the variance of an estimate, or gives null when the
+     * variance of the estimate is zero, e.g. for a tail no round reached.
+     */
+    private static Double varianceReduction(double plainVariance, double variance) {
+        double reduction = plainVariance / variance;
+        return variance > 0 && Double.isFinite(reduction) ? reduction : null;
+    }
+}
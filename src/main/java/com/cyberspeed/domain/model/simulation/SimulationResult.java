@@ -0,0 +1,27 @@
+package com.cyberspeed.domain.model.simulation;
+
+import java.util.Map;
+
+/**
+ * Represents the result of a simulation of many rounds played with the same bet.
+ *
+ * @param rounds                number of rounds played
+ * @param betAmount             amount bet on every round
+ * @param totalReward           sum of the rewards of every round
+ * @param rtp                   return to player, the mean reward divided by the bet
+ * @param hitFrequency          fraction of rounds with at least one winning combination
+ * @param maxReward             highest reward of a single round
+ * @param variance              sample variance of the reward per round
+ * @param standardDeviation     standard deviation of the reward per round
+ * @param confidence            confidence level of the intervals
+ * @param rtpInterval           confidence interval of the return to player
+ * @param hitFrequencyInterval  confidence interval of the hit frequency
+ * @param winQuantiles          size of the wins at the 50th, 99th and 99.99th percentiles of the winning rounds
+ * @param combinationHitRates   fraction of rounds in which each winning combination applied
+ * @param bonusHitRates         fraction of rounds in which each bonus symbol was applied
+ */
+public record SimulationResult(long rounds, double betAmount, double totalReward, double rtp, double hitFrequency,
+                               double maxReward, double variance, double standardDeviation, double confidence,
+                               ConfidenceInterval rtpInterval, ConfidenceInterval hitFrequencyInterval, Map<String, Double> winQuantiles,
+                               Map<String, Double> combinationHitRates, Map<String, Double> bonusHitRates) {
+}
@@ -0,0 +1,199 @@
+package com.cyberspeed.domain.model.simulation;
+
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.domain.model.winning.CombinationRegistry;
+import com.cyberspeed.domain.validator.EvaluationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulates the outcome of simulated rounds.
+ * <p>
+ * An instance is confined to the worker thread recording into it; the statistics of several workers are combined
+ * with {@link #merge(SimulationStatistics)}. The mean and variance of the reward come from the count, sum and sum
+ * of squares of the rewards, kept with compensated summation so they stay accurate over billions of rounds, and
+ * the distribution of the rewards is kept in a constant-memory {@link PayoutHistogram}.
+ * </p>
+ */
+public final class SimulationStatistics {
+    public static final double DEFAULT_CONFIDENCE = 0.95;
+
+    private final long[] combinationHits; // Rounds in which each combination id applied to at least one symbol
+    private final long[] bonusHits; // Rounds in which each bonus symbol id was applied
+    private final CompensatedSum rewardSum = new CompensatedSum();
+    private final CompensatedSum squaredRewardSum = new CompensatedSum();
+    private final PayoutHistogram histogram = new PayoutHistogram();
+    private long rounds;
+    private long winningRounds;
+    private double maxReward;
+
+    /**
+     * Creates empty statistics sized for the given symbols and winning combinations.
+     *
+     * @param symbolRegistry      the registry of the symbols
+     * @param combinationRegistry the registry of the winning combinations
+     */
+    public SimulationStatistics(SymbolRegistry symbolRegistry, CombinationRegistry combinationRegistry) {
+        this.combinationHits = new long[combinationRegistry.size()];
+        this.bonusHits = new long[symbolRegistry.size()];
+    }
+
+    /**
+     * Records a round from the context it was evaluated into.
+     *
+     * @param context the context holding the winning combinations, applied bonus symbol and reward of the round
+     */
+    public void record(EvaluationContext context) {
+        double reward = context.getReward();
+        rounds++;
+        rewardSum.add(reward);
+        squaredRewardSum.add(reward * reward);
+        histogram.record(reward);
+
+        if (!context.isWinning()) {
+            return;
+        }
+
+        winningRounds++;
+        maxReward = Math.max(maxReward, reward);
+        if (context.getAppliedBonusSymbol() >= 0) {
+            bonusHits[context.getAppliedBonusSymbol()]++;
+        }
+        for (int word = 0; word < context.getCombinationWords(); word++) {
+            long combinations = 0;
+            for (int i = 0; i < context.getWinningSymbolCount(); i++) {
+                combinations |= context.getCombinations(context.getWinningSymbol(i), word);
+            }
+            while (combinations != 0) {
+                combinationHits[word * Long.SIZE + Long.numberOfTrailingZeros(combinations)]++;
+                combinations &= combinations - 1;
+            }
+        }
+    }
+
+    /**
+     * Adds the rounds recorded by other statistics to these ones.
+     *
+     * @param other the statistics to merge, sized for the same configuration
+     */
+    public void merge(SimulationStatistics other) {
+        rewardSum.add(other.rewardSum);
+        squaredRewardSum.add(other.squaredRewardSum);
+        histogram.merge(other.histogram);
+        rounds += other.rounds;
+        winningRounds += other.winningRounds;
+        maxReward = Math.max(maxReward, other.maxReward);
+        for (int i = 0; i < combinationHits.length; i++) {
+            combinationHits[i] += other.combinationHits[i];
+        }
+        for (int i = 0; i < bonusHits.length; i++) {
+            bonusHits[i] += other.bonusHits[i];
+        }
+    }
+
+    /**
+     * Summarizes the recorded rounds, with {@value #DEFAULT_CONFIDENCE} confidence intervals.
+     *
+     * @param betAmount           the amount bet on every round
+     * @param symbolRegistry      the registry resolving symbol ids
+     * @param combinationRegistry the registry resolving combination ids
+     * @return the result of the simulation
+     */
+    public SimulationResult toResult(double betAmount, SymbolRegistry symbolRegistry, CombinationRegistry combinationRegistry) {
+        return toResult(betAmount, DEFAULT_CONFIDENCE, symbolRegistry, combinationRegistry);
+    }
+
+    /**
+     * Summarizes the recorded rounds.
+     *
+     * @param betAmount           the amount bet on every round
+     * @param confidence          the confidence level of the intervals
+     * @param symbolRegistry      the registry resolving symbol ids
+     * @param combinationRegistry the registry resolving combination ids
+     * @return the result of the simulation
+     */
+    public SimulationResult toResult(double betAmount, double confidence, SymbolRegistry symbolRegistry,
+                                     CombinationRegistry combinationRegistry) {
+        Map<String, Double> combinationHitRates = new LinkedHashMap<>();
+        for (int combinationId = 0; combinationId < combinationHits.length; combinationId++) {
+            combinationHitRates.put(combinationRegistry.nameOf(combinationId), rate(combinationHits[combinationId]));
+        }
+        Map<String, Double> bonusHitRates = new LinkedHashMap<>();
+        for (int symbolId = symbolRegistry.standardCount(); symbolId < bonusHits.length; symbolId++) {
+            if (symbolRegistry.isAppliedBonus(symbolId)) {
+                bonusHitRates.put(symbolRegistry.nameOf(symbolId), rate(bonusHits[symbolId]));
+            }
+        }
+
+        Map<String, Double> winQuantiles = new LinkedHashMap<>();
+        winQuantiles.put("p50", histogram.getWinAtQuantile(0.5));
+        winQuantiles.put("p99", histogram.getWinAtQuantile(0.99));
+        winQuantiles.put("p99.99", histogram.getWinAtQuantile(0.9999));
+
+        double variance = getVariance();
+        double zScore = ConfidenceInterval.zScore(confidence);
+        return new SimulationResult(rounds, betAmount, rewardSum.value(), getMeanReward() / betAmount,
+                rate(winningRounds), maxReward, variance, Math.sqrt(variance), confidence,
+                getRtpInterval(betAmount, zScore), getHitFrequencyInterval(zScore), winQuantiles,
+                combinationHitRates, bonusHitRates);
+    }
+
+    /**
+     * Gets the confidence interval of the return to player, from the mean and standard deviation of the rewards.
+     *
+     * @param betAmount the amount bet on every round
+     * @param zScore    the standard normal quantile of the confidence level
+     * @return the interval
+     */
+    public ConfidenceInterval getRtpInterval(double betAmount, double zScore) {
+        return ConfidenceInterval.ofMean(getMeanReward() / betAmount, Math.sqrt(getVariance()) / betAmount, rounds, zScore);
+    }
+
+    /**
+     * Gets the confidence interval of the hit frequency.
+     *
+     * @param zScore the standard normal quantile of the confidence level
+     * @return the interval
+     */
+    public ConfidenceInterval getHitFrequencyInterval(double zScore) {
+        return ConfidenceInterval.ofProportion(rate(winningRounds), rounds, zScore);
+    }
+
+    private double rate(long hits) {
+        return rounds == 0 ? 0 : (double) hits / rounds;
+    }
+
+    public long getRounds() {
+        return rounds;
+    }
+
+    public long getWinningRounds() {
+        return winningRounds;
+    }
+
+    public double getMeanReward() {
+        return rounds == 0 ? 0 : rewardSum.value() / rounds;
+    }
+
+    /**
+     * Gets the sample variance of the reward per round.
+     *
+     * @return the variance, or 0 with fewer than two rounds
+     */
+    public double getVariance() {
+        if (rounds < 2) {
+            return 0;
+        }
+        double sum = rewardSum.value();
+        return Math.max(0, (squaredRewardSum.value() - sum * sum / rounds) / (rounds - 1));
+    }
+
+    public double getMaxReward() {
+        return maxReward;
+    }
+
+    public PayoutHistogram getHistogram() {
+        return histogram;
+    }
+}
@@ -0,0 +1,14 @@
+package com.cyberspeed.domain.model.simulation;
+
+import java.util.List;
+
+/**
+ * Represents the result of a sweep playing several configuration variants on the same random numbers.
+ *
+ * @param rounds     number of rounds played by every variant
+ * @param betAmount  amount bet on every round
+ * @param confidence confidence level of the intervals
+ * @param variants   comparison of the variants, the first one being the reference of the differences
+ */
+public record SweepResult(long rounds, double betAmount, double confidence, List<VariantComparison> variants) {
+}
@@ -0,0 +1,114 @@
+package com.cyberspeed.domain.model.simulation;
+
+import com.cyberspeed.domain.validator.EvaluationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accumulates the outcome of rounds played by several configuration variants on the same random numbers.
+ * <p>
+ * Each variant keeps its own {@link SimulationStatistics}. The difference between the reward of each variant and
+ * the one of the first variant is accumulated round by round as well, so the variance of the differences only
+ * carries what the variants do not have in common. An instance is confined to the worker thread recording into
+ * it; the statistics of several workers are combined with {@link #merge(SweepStatistics)}.
+ * </p>
+ */
+public final class SweepStatistics {
+    private final SimulationStatistics[] statistics;
+    private final CompensatedSum[] differenceSums; // Reward minus the reward of the first variant
+    private final CompensatedSum[] squaredDifferenceSums;
+    private final long[] discordantRounds; // Rounds won by exactly one of the variant and the first variant
+
+    /**
+     * Creates empty statistics from the empty statistics of each variant.
+     *
+     * @param statistics the statistics of each variant, sized for its configuration
+     */
+    public SweepStatistics(List<SimulationStatistics> statistics) {
+        this.statistics = statistics.toArray(new SimulationStatistics[0]);
+        this.differenceSums = new CompensatedSum[this.statistics.length];
+        this.squaredDifferenceSums = new CompensatedSum[this.statistics.length];
+        this.discordantRounds = new long[this.statistics.length];
+        for (int i = 0; i < this.statistics.length; i++) {
+            differenceSums[i] = new CompensatedSum();
+            squaredDifferenceSums[i] = new CompensatedSum();
+        }
+    }
+
+    /**
+     * Records a round from the contexts each variant evaluated it into.
+     *
+     * @param contexts the context of each variant, in the order of the statistics
+     */
+    public void record(EvaluationContext[] contexts) {
+        double reference = contexts[0].getReward();
+        boolean referenceWinning = contexts[0].isWinning();
+        for (int i = 0; i < statistics.length; i++) {
+            statistics[i].record(contexts[i]);
+            double difference = contexts[i].getReward() - reference;
+            differenceSums[i].add(difference);
+            squaredDifferenceSums[i].add(difference * difference);
+            if (contexts[i].isWinning() != referenceWinning) {
+                discordantRounds[i]++;
+            }
+        }
+    }
+
+    /**
+     * Adds the rounds recorded by other statistics to these ones.
+     *
+     * @param other the statistics to merge, sized for the same variants
+     */
+    public void merge(SweepStatistics other) {
+        for (int i = 0; i < statistics.length; i++) {
+            statistics[i].merge(other.statistics[i]);
+            differenceSums[i].add(other.differenceSums[i]);
+            squaredDifferenceSums[i].add(other.squaredDifferenceSums[i]);
+            discordantRounds[i] += other.discordantRounds[i];
+        }
+    }
+
+    /**
+     * Summarizes the recorded rounds into a comparison of the variants.
+     *
+     * @param betAmount  the amount bet on every round
+     * @param confidence the confidence level of the intervals
+     * @param names      the name of each variant
+     * @return the result of the sweep
+     */
+    public SweepResult toResult(double betAmount, double confidence, List<String> names) {
+        double zScore = ConfidenceInterval.zScore(confidence);
+        long rounds = statistics[0].getRounds();
+        double referenceHitFrequency = rate(statistics[0].getWinningRounds(), rounds);
+
+        List<VariantComparison> variants = new ArrayList<>();
+        for (int i = 0; i < statistics.length; i++) {
+            SimulationStatistics variant = statistics[i];
+            double hitFrequency = rate(variant.getWinningRounds(), rounds);
+            double hitFrequencyDifference = hitFrequency - referenceHitFrequency;
+            // Each round adds -1, 0 or 1 to the difference of the hits, so its square sum is the discordant count
+            double hitVariance = variance(hitFrequencyDifference * rounds, discordantRounds[i], rounds);
+            variants.add(new VariantComparison(names.get(i), variant.getMeanReward() / betAmount,
+                    variant.getRtpInterval(betAmount, zScore), hitFrequency, variant.getHitFrequencyInterval(zScore),
+                    Math.sqrt(variant.getVariance()) / betAmount, variant.getMaxReward(),
+                    ConfidenceInterval.ofMean(rate(differenceSums[i].value(), rounds) / betAmount,
+                            Math.sqrt(variance(differenceSums[i].value(), squaredDifferenceSums[i].value(), rounds)) / betAmount,
+                            rounds, zScore),
+                    ConfidenceInterval.ofMean(hitFrequencyDifference, Math.sqrt(hitVariance), rounds, zScore)));
+        }
+        return new SweepResult(rounds, betAmount, confidence, variants);
+    }
+
+    private static double rate(double sum, long rounds) {
+        return rounds == 0 ? 0 : sum / rounds;
+    }
+
+    private static double variance(double sum, double squaredSum, long rounds) {
+        return rounds < 2 ? 0 : Math.max(0, (squaredSum - sum * sum / rounds) / (rounds - 1));
+    }
+
+    public long getRounds() {
+        return statistics[0].getRounds();
+    }
+}
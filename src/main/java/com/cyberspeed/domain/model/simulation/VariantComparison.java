@@ -0,0 +1,21 @@
+package com.cyberspeed.domain.model.simulation;
+
+/**
+ * Represents one row of the comparison of configuration variants played on the same rounds. The differences are
+ * the ones with the first variant, measured round by round, so their intervals are narrower than the ones of two
+ * independent simulations when the variants are correlated.
+ *
+ * @param name                   name of the variant
+ * @param rtp                    return to player
+ * @param rtpInterval            confidence interval of the return to player
+ * @param hitFrequency           fraction of winning rounds
+ * @param hitFrequencyInterval   confidence interval of the hit frequency
+ * @param volatility             standard deviation of the reward of a round divided by the bet
+ * @param maxReward              highest reward of a round
+ * @param rtpDifference          confidence interval of the return to player minus the one of the first variant
+ * @param hitFrequencyDifference confidence interval of the hit frequency minus the one of the first variant
+ */
+public record VariantComparison(String name, double rtp, ConfidenceInterval rtpInterval, double hitFrequency,
+                                ConfidenceInterval hitFrequencyInterval, double volatility, double maxReward,
+                                ConfidenceInterval rtpDifference, ConfidenceInterval hitFrequencyDifference) {
+}
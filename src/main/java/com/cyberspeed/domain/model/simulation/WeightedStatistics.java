@@ -0,0 +1,171 @@
+package com.cyberspeed.domain.model.simulation;
+
+/**
+ * Accumulates the outcome of rounds drawn with importance sampling, each round being weighted by its likelihood
+ * ratio.
+ * <p>
+ * The mean of a quantity of the configured game is estimated by the mean of the quantity times the weight of
+ * each round, and the variance of that estimate from the sum of squares of the weighted quantity. Besides the
+ * reward, the statistics keep the hit frequency and the probability of the reward reaching each of a set of
+ * thresholds. An instance is confined to the worker thread recording into it; the statistics of several workers
+ * are combined with {@link #merge(WeightedStatistics)}.
+ * </p>
+ */
+public final class WeightedStatistics {
+    private final double[] thresholds;
+    private final WeightedSum rewards = new WeightedSum();
+    private final WeightedSum hits = new WeightedSum();
+    private final WeightedSum[] tails;
+    private final CompensatedSum squaredRewardSum = new CompensatedSum(); // Weighted squared rewards, the second moment
+    private final CompensatedSum weightSum = new CompensatedSum();
+    private final CompensatedSum squaredWeightSum = new CompensatedSum();
+    private long rounds;
+
+    /**
+     * Creates empty statistics estimating the probability of the reward reaching the given thresholds.
+     *
+     * @param thresholds the reward thresholds
+     */
+    public WeightedStatistics(double[] thresholds) {
+        this.thresholds = thresholds.clone();
+        this.tails = new WeightedSum[thresholds.length];
+        for (int i = 0; i < tails.length; i++) {
+            tails[i] = new WeightedSum();
+        }
+    }
+
+    /**
+     * Records a round.
+     *
+     * @param reward  the reward of the round
+     * @param winning whether the round has at least one winning combination
+     * @param weight  the likelihood ratio of the round
+     */
+    public void record(double reward, boolean winning, double weight) {
+        rounds++;
+        weightSum.add(weight);
+        squaredWeightSum.add(weight * weight);
+        rewards.add(weight * reward);
+        squaredRewardSum.add(weight * reward * reward);
+        hits.add(winning ? weight : 0);
+        for (int i = 0; i < thresholds.length; i++) {
+            tails[i].add(reward >= thresholds[i] ? weight : 0);
+        }
+    }
+
+    /**
+     * Adds the rounds recorded by other statistics to these ones.
+     *
+     * @param other the statistics to merge, with the same thresholds
+     */
+    public void merge(WeightedStatistics other) {
+        rounds += other.rounds;
+        weightSum.add(other.weightSum);
+        squaredWeightSum.add(other.squaredWeightSum);
+        rewards.merge(other.rewards);
+        squaredRewardSum.add(other.squaredRewardSum);
+        hits.merge(other.hits);
+        for (int i = 0; i < tails.length; i++) {
+            tails[i].merge(other.tails[i]);
+        }
+    }
+
+    public long getRounds() {
+        return rounds;
+    }
+
+    public double getMeanReward() {
+        return rewards.mean(rounds);
+    }
+
+    /**
+     * Gets the variance of the estimate of the mean reward.
+     *
+     * @return the variance of {@link #getMeanReward()}
+     */
+    public double getMeanRewardVariance() {
+        return rewards.varianceOfMean(rounds);
+    }
+
+    /**
+     * Gets the standard deviation of the weighted reward of a round.
+     *
+     * @return the standard deviation, 0 with less than two rounds
+     */
+    public double getRewardStandardDeviation() {
+        return rounds < 2 ? 0 : Math.sqrt(getMeanRewardVariance() * rounds);
+    }
+
+    /**
+     * Gets the estimate of the mean squared reward of the configured game.
+     *
+     * @return the second moment of the reward
+     */
+    public double getSecondMoment() {
+        return rounds == 0 ? 0 : squaredRewardSum.value() / rounds;
+    }
+
+    public double getHitFrequency() {
+        return hits.mean(rounds);
+    }
+
+    public double getHitFrequencyVariance() {
+        return hits.varianceOfMean(rounds);
+    }
+
+    /**
+     * Gets the estimate of the probability of the reward reaching a threshold.
+     *
+     * @param threshold the index of the threshold
+     * @return the probability
+     */
+    public double getTailProbability(int threshold) {
+        return tails[threshold].mean(rounds);
+    }
+
+    public double getTailProbabilityVariance(int threshold) {
+        return tails[threshold].varianceOfMean(rounds);
+    }
+
+    /**
+     * Gets Kish's effective sample size, the number of unweighted rounds carrying as much information as the
+     * weighted ones.
+     *
+     * @return the effective sample size
+     */
+    public double getEffectiveSampleSize() {
+        double squaredWeights = squaredWeightSum.value();
+        return squaredWeights == 0 ? 0 : weightSum.value() * weightSum.value() / squaredWeights;
+    }
+
+    /**
+     * Sum and sum of squares of a weighted quantity.
+     */
+    private static final class WeightedSum {
+        private final CompensatedSum sum = new CompensatedSum();
+        private final CompensatedSum squaredSum = new CompensatedSum();
+
+        private void add(double value) {
+            sum.add(value);
+            squaredSum.add(value * value);
+        }
+
+        private void merge(WeightedSum other) {
+            sum.add(other.sum);
+            squaredSum.add(other.squaredSum);
+        }
+
+        private double mean(long rounds) {
+            return rounds == 0 ? 0 : sum.value() / rounds;
+        }
+
+        private double varianceOfMean(long rounds) {
+            if (rounds < 2) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double total = sum.value();
+            double variance = Math.max(0, (squaredSum.value() - total * total / rounds) / (rounds - 1));
+            return variance / rounds;
+        }
+    }
+}
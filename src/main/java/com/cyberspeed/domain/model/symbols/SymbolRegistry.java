@@ -0,0 +1,154 @@
+package com.cyberspeed.domain.model.symbols;
+
+import com.cyberspeed.domain.enums.ImpactEnum;
+import com.cyberspeed.domain.enums.SymbolTypeEnum;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbol;
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interned table of the configured symbols.
+ * <p>
+ * Each symbol is assigned a dense small-integer id: standard symbols take ids {@code 0..standardCount()-1}
+ * and bonus symbols the following ones, both in configuration order. Type and impact of each symbol are
+ * precomputed into arrays, so the engine can check a cell with an array read instead of a map lookup.
+ * Symbol names are only needed at the input and output boundaries.
+ * </p>
+ */
+public final class SymbolRegistry {
+    /**
+     * Highest number of symbols that fit the byte cells of a {@link com.cyberspeed.domain.model.game.SymbolMatrix}.
+     */
+    public static final int MAX_SYMBOLS = Byte.MAX_VALUE;
+
+    private final String[] names;
+    private final int standardCount;
+    private final boolean[] appliedBonus; // Bonus symbols with an impact other than MISS
+    private final ImpactEnum[] impacts;
+    private final double[] rewardMultipliers;
+    private final double[] extras;
+    private final Map<String, Integer> ids;
+
+    /**
+     * Builds the registry from the configured symbols.
+     *
+     * @param symbols a map of symbol names to {@link SlotSymbol} objects
+     * @throws ConfigurationException if there are too many symbols or a symbol has no type
+     */
+    public SymbolRegistry(Map<String, SlotSymbol> symbols) {
+        if (symbols.size() > MAX_SYMBOLS) {
+            throw new ConfigurationException("At most " + MAX_SYMBOLS + " symbols are supported");
+        }
+
+        int size = symbols.size();
+        this.names = new String[size];
+        this.appliedBonus = new boolean[size];
+        this.impacts = new ImpactEnum[size];
+        this.rewardMultipliers = new double[size];
+        this.extras = new double[size];
+        this.ids = new HashMap<>();
+
+        int id = 0;
+        for (Map.Entry<String, SlotSymbol> entry : symbols.entrySet()) {
+            if (entry.getValue().getType() == SymbolTypeEnum.STANDARD) {
+                register(id++, entry.getKey(), entry.getValue());
+            }
+        }
+        this.standardCount = id;
+        for (Map.Entry<String, SlotSymbol> entry : symbols.entrySet()) {
+            if (entry.getValue().getType() == SymbolTypeEnum.BONUS) {
+                register(id++, entry.getKey(), entry.getValue());
+            }
+        }
+        if (id != size) {
+            throw new ConfigurationException("Every symbol must have a standard or bonus type");
+        }
+    }
+
+    private void register(int id, String name, SlotSymbol symbol) {
+        names[id] = name;
+        rewardMultipliers[id] = symbol.getRewardMultiplier();
+        ids.put(name, id);
+
+        if (symbol instanceof BonusSymbol bonusSymbol) {
+            impacts[id] = bonusSymbol.getImpact();
+            appliedBonus[id] = bonusSymbol.getImpact() != null && bonusSymbol.getImpact() != ImpactEnum.MISS;
+            extras[id] = bonusSymbol.getExtra() != null ? bonusSymbol.getExtra() : 0;
+        }
+    }
+
+    /**
+     * Gets the id of a symbol name.
+     *
+     * @param name the symbol name
+     * @return the id of the symbol, or -1 if it is not configured
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Gets the name of a symbol id.
+     *
+     * @param id the symbol id
+     * @return the symbol name
+     */
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * Gets the number of configured symbols.
+     *
+     * @return the number of symbols
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Gets the number of standard symbols, which is also the first bonus symbol id.
+     *
+     * @return the number of standard symbols
+     */
+    public int standardCount() {
+        return standardCount;
+    }
+
+    public boolean isStandard(int id) {
+        return id < standardCount;
+    }
+
+    public boolean isBonus(int id) {
+        return id >= standardCount;
+    }
+
+    /**
+     * Checks whether the symbol is a bonus symbol that affects the reward, i.e. a bonus symbol other than a miss.
+     *
+     * @param id the symbol id
+     * @return true if the symbol is an applicable bonus symbol, false otherwise
+     */
+    public boolean isAppliedBonus(int id) {
+        return appliedBonus[id];
+    }
+
+    public boolean isBonusMiss(int id) {
+        return impacts[id] == ImpactEnum.MISS;
+    }
+
+    public ImpactEnum getImpact(int id) {
+        return impacts[id];
+    }
+
+    public double getRewardMultiplier(int id) {
+        return rewardMultipliers[id];
+    }
+
+    public double getExtra(int id) {
+        return extras[id];
+    }
+}
@@ -0,0 +1,19 @@
+package com.cyberspeed.domain.model.tuning;
+
+import com.cyberspeed.domain.model.probabilities.Probabilities;
+
+/**
+ * Represents the outcome of a search for standard symbol weights.
+ *
+ * @param converged                   whether every target was met within the tolerance
+ * @param evaluations                 number of weight sets evaluated
+ * @param betAmount                   amount bet on the evaluated rounds
+ * @param rtp                         return to player of the weights found
+ * @param hitFrequency                fraction of winning rounds of the weights found
+ * @param volatility                  standard deviation of the reward per unit bet of the weights found
+ * @param probabilities               the weights found, in the layout of the configuration; the bonus symbol weights
+ *                                    only differ from the configured ones by a common factor
+ */
+public record TuningResult(boolean converged, int evaluations, double betAmount, double rtp, double hitFrequency,
+                           double volatility, Probabilities probabilities) {
+}
@@ -0,0 +1,16 @@
+package com.cyberspeed.domain.model.tuning;
+
+/**
+ * Represents the targets of a search for standard symbol weights. Targets left null are not searched for; the
+ * volatility is the standard deviation of the reward of a round divided by the bet.
+ *
+ * @param rtp          target return to player, or null
+ * @param hitFrequency target fraction of winning rounds, or null
+ * @param volatility   target standard deviation of the reward per unit bet, or null
+ * @param tolerance    largest relative error of each target for the search to stop
+ * @param minWeight    smallest weight a symbol may get
+ * @param maxWeight    largest weight a symbol may get
+ */
+public record TuningSpecification(Double rtp, Double hitFrequency, Double volatility, double tolerance,
+                                  int minWeight, int maxWeight) {
+}
@@ -0,0 +1,109 @@
+package com.cyberspeed.domain.model.winning;
+
+import com.cyberspeed.domain.enums.WhenEnum;
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interned table of the configured winning combinations.
+ * <p>
+ * Each combination is assigned a dense id: {@code same_symbols} combinations take ids
+ * {@code 0..sameSymbolsCount()-1} and {@code linear_symbols} combinations the following ones, both in
+ * configuration order. Iterating ids in ascending order therefore yields the order in which the applied
+ * combinations of a symbol are reported and rewarded.
+ * </p>
+ */
+public final class CombinationRegistry {
+    private final String[] names;
+    private final WinningCombination[] combinations;
+    private final double[] rewardMultipliers;
+    private final int sameSymbolsCount;
+    private final Map<String, Integer> ids;
+
+    /**
+     * Builds the registry from the configured winning combinations.
+     *
+     * @param winCombinations a map of winning combination names to {@link WinningCombination} objects
+     * @throws ConfigurationException if a combination has no condition or a same_symbols combination has no count
+     */
+    public CombinationRegistry(Map<String, WinningCombination> winCombinations) {
+        int size = winCombinations.size();
+        this.names = new String[size];
+        this.combinations = new WinningCombination[size];
+        this.rewardMultipliers = new double[size];
+        this.ids = new HashMap<>();
+
+        int id = 0;
+        for (Map.Entry<String, WinningCombination> entry : winCombinations.entrySet()) {
+            if (entry.getValue().getWhen() == WhenEnum.SAME_SYMBOLS) {
+                if (!(entry.getValue() instanceof WinningCountCombination countCombination) || countCombination.getCount() == null) {
+                    throw new ConfigurationException("Winning combination " + entry.getKey() + " must define a count");
+                }
+                register(id++, entry.getKey(), entry.getValue());
+            }
+        }
+        this.sameSymbolsCount = id;
+        for (Map.Entry<String, WinningCombination> entry : winCombinations.entrySet()) {
+            if (entry.getValue().getWhen() == WhenEnum.LINEAR_SYMBOLS) {
+                register(id++, entry.getKey(), entry.getValue());
+            }
+        }
+        if (id != size) {
+            throw new ConfigurationException("Every winning combination must define a same_symbols or linear_symbols condition");
+        }
+    }
+
+    private void register(int id, String name, WinningCombination combination) {
+        names[id] = name;
+        combinations[id] = combination;
+        rewardMultipliers[id] = combination.getRewardMultiplier();
+        ids.put(name, id);
+    }
+
+    /**
+     * Gets the id of a winning combination name.
+     *
+     * @param name the combination name
+     * @return the id of the combination, or -1 if it is not configured
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    public WinningCombination get(int id) {
+        return combinations[id];
+    }
+
+    public double getRewardMultiplier(int id) {
+        return rewardMultipliers[id];
+    }
+
+    public boolean isSameSymbols(int id) {
+        return id < sameSymbolsCount;
+    }
+
+    /**
+     * Gets the number of same_symbols combinations, which is also the first linear_symbols id.
+     *
+     * @return the number of same_symbols combinations
+     */
+    public int sameSymbolsCount() {
+        return sameSymbolsCount;
+    }
+
+    /**
+     * Gets the number of configured winning combinations.
+     *
+     * @return the number of combinations
+     */
+    public int size() {
+        return names.length;
+    }
+}
@@ -0,0 +1,94 @@
+package com.cyberspeed.domain.model.winning;
+
+import com.cyberspeed.domain.enums.ImpactEnum;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+
+/**
+ * Reward factors precomputed from the symbols and winning combinations, so the reward of a round is primitive
+ * arithmetic over small arrays.
+ * <p>
+ * The table holds the reward multiplier of every standard symbol and winning combination, indexed by id. A
+ * {@code same_symbols} combination adds the bet times both multipliers to the symbol prize, a {@code linear_symbols}
+ * combination multiplies the symbol prize. For every symbol it also holds the bonus impact: an amount added to the
+ * total prize and a factor multiplying it.
+ * </p>
+ */
+public final class PayoutTable {
+    private final int sameSymbolsCount;
+    private final double[] symbolMultipliers;
+    private final double[] combinationMultipliers;
+    private final double[] bonusAdditions;
+    private final double[] bonusFactors;
+
+    /**
+     * Compiles the payout table.
+     *
+     * @param symbolRegistry      the registry of the symbols
+     * @param combinationRegistry the registry of the winning combinations
+     */
+    public PayoutTable(SymbolRegistry symbolRegistry, CombinationRegistry combinationRegistry) {
+        this.sameSymbolsCount = combinationRegistry.sameSymbolsCount();
+        this.symbolMultipliers = new double[symbolRegistry.standardCount()];
+        this.combinationMultipliers = new double[combinationRegistry.size()];
+        this.bonusAdditions = new double[symbolRegistry.size()];
+        this.bonusFactors = new double[symbolRegistry.size()];
+
+        for (int symbolId = 0; symbolId < symbolMultipliers.length; symbolId++) {
+            symbolMultipliers[symbolId] = symbolRegistry.getRewardMultiplier(symbolId);
+        }
+        for (int combinationId = 0; combinationId < combinationMultipliers.length; combinationId++) {
+            combinationMultipliers[combinationId] = combinationRegistry.getRewardMultiplier(combinationId);
+        }
+
+        for (int symbolId = 0; symbolId < symbolRegistry.size(); symbolId++) {
+            bonusFactors[symbolId] = 1;
+            ImpactEnum impact = symbolRegistry.getImpact(symbolId);
+            if (impact == ImpactEnum.EXTRA_BONUS) {
+                bonusAdditions[symbolId] = symbolRegistry.getExtra(symbolId);
+            }
+            if (impact == ImpactEnum.MULTIPLY_REWARD) {
+                bonusFactors[symbolId] = symbolRegistry.getRewardMultiplier(symbolId);
+            }
+        }
+    }
+
+    /**
+     * Applies a winning combination to the prize of a standard symbol.
+     *
+     * @param betAmount     the amount the user has bet
+     * @param symbolPrize   the prize of the symbol so far
+     * @param symbolId      the id of the standard symbol
+     * @param combinationId the id of the winning combination
+     * @return the prize of the symbol after the combination
+     */
+    public double applyCombination(double betAmount, double symbolPrize, int symbolId, int combinationId) {
+        if (isAdditive(combinationId)) {
+            return symbolPrize + betAmount * symbolMultipliers[symbolId] * combinationMultipliers[combinationId];
+        }
+        return symbolPrize * combinationMultipliers[combinationId];
+    }
+
+    /**
+     * Checks whether a winning combination adds to the symbol prize rather than multiplying it.
+     *
+     * @param combinationId the id of the winning combination
+     * @return true for same_symbols combinations
+     */
+    public boolean isAdditive(int combinationId) {
+        return combinationId < sameSymbolsCount;
+    }
+
+    /**
+     * Applies the impact of a bonus symbol to a total prize.
+     *
+     * @param totalPrize the total prize of the winning combinations
+     * @param symbolId   the id of the applied bonus symbol, or -1 if none
+     * @return the prize after the extra amount is added and the multiplier applied
+     */
+    public double applyBonus(double totalPrize, int symbolId) {
+        if (symbolId < 0) {
+            return totalPrize;
+        }
+        return (totalPrize + bonusAdditions[symbolId]) * bonusFactors[symbolId];
+    }
+}
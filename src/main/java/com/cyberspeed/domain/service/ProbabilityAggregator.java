@@ -30,7 +30,49 @@ public class ProbabilityAggregator {
      * @return a map containing combined probabilities for standard and bonus symbols
      */
     public Map<String, Integer> getProbabilities(int row, int column, boolean withBonus) {
-        Map<String, Integer> probabilitiesStandard = standardService.getProbabilitiesByRowAndColumn(row, column);
+        return combine(standardService.getProbabilitiesByRowAndColumn(row, column), withBonus);
+    }
+
+    /**
+     * Combines the default standard probabilities with the bonus probabilities.
+     *
+     * @param withBonus whether the bonus probabilities are included
+     * @return a map containing combined probabilities for cells without their own entry
+     */
+    public Map<String, Integer> getDefaultProbabilities(boolean withBonus) {
+        return combine(standardService.getDefaultProbabilities(), withBonus);
+    }
+
+    /**
+     * Checks whether the standard probabilities have their own entry for a cell.
+     *
+     * @param row    the row index
+     * @param column the column index
+     * @return true if the cell is configured, false if it uses the default probabilities
+     */
+    public boolean hasProbabilities(int row, int column) {
+        return standardService.hasProbabilities(row, column);
+    }
+
+    /**
+     * Gets the number of rows covered by the standard probabilities.
+     *
+     * @return the number of configured rows
+     */
+    public int getRows() {
+        return standardService.getRows();
+    }
+
+    /**
+     * Gets the number of columns covered by the standard probabilities.
+     *
+     * @return the number of configured columns
+     */
+    public int getColumns() {
+        return standardService.getColumns();
+    }
+
+    private Map<String, Integer> combine(Map<String, Integer> probabilitiesStandard, boolean withBonus) {
         Map<String, Integer> probabilitiesBonus = bonusService.getAllProbabilityBonus();
 
         if (withBonus) {
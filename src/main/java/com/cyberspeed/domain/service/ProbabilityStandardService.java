@@ -10,43 +10,97 @@ import java.util.Map;
  * Service class for managing probabilities of standard symbols in the game.
  * <p>
  * This class provides methods to retrieve probabilities based on the specified
- * row and column in the configuration.
+ * row and column in the configuration. The configured entries are indexed once into a dense
+ * {@code rows x columns} grid, so a lookup is a single array read.
  * </p>
  */
 public class ProbabilityStandardService {
 
-    private final List<StandardSymbolProbabilities> probabilities;
+    private final int rows;
+    private final int columns;
+    private final StandardSymbolProbabilities[] grid; // Row-major, null for cells without their own entry
+    private final StandardSymbolProbabilities defaultProbabilities;
 
     /**
      * Constructor to initialize the ProbabilityStandardService with a list of probabilities.
+     * The first entry of the list is used as default for cells without their own entry.
      *
      * @param probabilities a list of StandardSymbolProbabilities
+     * @throws ConfigurationException if the list is empty, an entry has a negative position
+     *                                or multiple entries are found for the same row and column
      */
     public ProbabilityStandardService(List<StandardSymbolProbabilities> probabilities) {
-        this.probabilities = probabilities;
+        if (probabilities == null || probabilities.isEmpty()) {
+            throw new ConfigurationException("No probabilities configured for standard symbols");
+        }
+
+        this.rows = probabilities.stream().mapToInt(StandardSymbolProbabilities::row).max().getAsInt() + 1;
+        this.columns = probabilities.stream().mapToInt(StandardSymbolProbabilities::column).max().getAsInt() + 1;
+        this.grid = new StandardSymbolProbabilities[rows * columns];
+        this.defaultProbabilities = probabilities.getFirst();
+
+        for (StandardSymbolProbabilities probability : probabilities) {
+            if (probability.row() < 0 || probability.column() < 0) {
+                throw new ConfigurationException("Found negative row or column in config for standard symbols");
+            }
+            int index = probability.row() * columns + probability.column();
+            if (grid[index] != null) {
+                throw new ConfigurationException("Found repeated row and column in config for standard symbols");
+            }
+            grid[index] = probability;
+        }
     }
 
     /**
      * Retrieves the probabilities for a given row and column.
+     * If no entry is configured for the cell, the {@link #getDefaultProbabilities() default probabilities} are returned.
      *
      * @param row    the row index for the probability
      * @param column the column index for the probability
      * @return a map of symbol names to their respective weights for the specified row and column
-     * @throws RuntimeException if multiple entries are found for the same row and column for standard symbol
      */
     public Map<String, Integer> getProbabilitiesByRowAndColumn(int row, int column) {
-        List<StandardSymbolProbabilities> symbols = probabilities.stream().
-                filter(probability -> probability.row() == row && probability.column() == column)
-                .toList();
-
-        if(symbols.size() > 1) {
-            throw new ConfigurationException("Found repeated row and column in config for standard symbols");
-        } else
-            // If no symbols were found for the specified row and column, return the symbols from the first entry
-            if(symbols.isEmpty()) {
-                return probabilities.getFirst().symbols();
-            }
+        if (!hasProbabilities(row, column)) {
+            return getDefaultProbabilities();
+        }
+        return grid[row * columns + column].symbols();
+    }
+
+    /**
+     * Checks whether an entry is configured for the given row and column.
+     *
+     * @param row    the row index
+     * @param column the column index
+     * @return true if the cell has its own entry, false if it falls back to the default probabilities
+     */
+    public boolean hasProbabilities(int row, int column) {
+        return row >= 0 && row < rows && column >= 0 && column < columns && grid[row * columns + column] != null;
+    }
+
+    /**
+     * Retrieves the probabilities used for cells without their own entry, which are the ones of the first entry.
+     *
+     * @return a map of symbol names to their respective weights
+     */
+    public Map<String, Integer> getDefaultProbabilities() {
+        return defaultProbabilities.symbols();
+    }
+
+    /**
+     * Gets the number of rows covered by the configured entries.
+     *
+     * @return the highest configured row index plus one
+     */
+    public int getRows() {
+        return rows;
+    }
 
-        return symbols.getFirst().symbols();
+    /**
+     * Gets the number of columns covered by the configured entries.
+     *
+     * @return the highest configured column index plus one
+     */
+    public int getColumns() {
+        return columns;
     }
 }
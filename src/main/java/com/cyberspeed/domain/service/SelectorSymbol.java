@@ -1,27 +1,42 @@
 package com.cyberspeed.domain.service;
 
-import com.cyberspeed.domain.exceptions.InvalidRandomValueException;
+import com.cyberspeed.domain.service.sampler.CellSampler;
+import com.cyberspeed.domain.service.sampler.SamplerGrid;
 import com.cyberspeed.utils.RandomGenerator;
 
-import java.util.Map;
-
 /**
  * This class is responsible for selecting a random symbol based on the probabilities
  * aggregated from standard and bonus symbols.
+ * <p>
+ * The probabilities are compiled once into a {@link SamplerGrid}, so each selection is a constant time
+ * alias table draw that does not allocate.
+ * </p>
  */
 public class SelectorSymbol {
 
-    private final ProbabilityAggregator probabilityAggregator;
+    private final SamplerGrid samplerGrid;
     private final RandomGenerator randomGenerator;
 
     /**
      * Constructor to initialize the SelectorSymbol with the required services.
+     * The aggregated probabilities are compiled into a {@link SamplerGrid} right away.
      *
      * @param probabilityAggregator the service for aggregating probabilities
      * @param randomGenerator the utility for generating random numbers
      */
-    public SelectorSymbol( ProbabilityAggregator probabilityAggregator, RandomGenerator randomGenerator) {
-        this.probabilityAggregator = probabilityAggregator;
+    public SelectorSymbol(ProbabilityAggregator probabilityAggregator, RandomGenerator randomGenerator) {
+        this(new SamplerGrid(probabilityAggregator), randomGenerator);
+    }
+
+    /**
+     * Constructor to initialize the SelectorSymbol with already compiled samplers, which can be shared
+     * between selectors.
+     *
+     * @param samplerGrid the compiled samplers of each cell
+     * @param randomGenerator the utility for generating random numbers
+     */
+    public SelectorSymbol(SamplerGrid samplerGrid, RandomGenerator randomGenerator) {
+        this.samplerGrid = samplerGrid;
         this.randomGenerator = randomGenerator;
     }
 
@@ -30,21 +45,58 @@ public class SelectorSymbol {
      *
      * @param row the row index for which to select the symbol
      * @param column the column index for which to select the symbol
+     * @param addedBonus whether bonus symbols may be selected
      * @return the key of the randomly selected symbol
-     * @throws RuntimeException if the generated random value is invalid
      */
     public String selectRandomSymbolKey(int row, int column, boolean addedBonus) {
-        Map<String, Integer> probabilities = probabilityAggregator.getProbabilities(row, column, addedBonus);
-        int totalWeight = ProbabilityCalculator.calculateTotalWeight(probabilities);
-        Integer randomValue = randomGenerator.getRandomInteger(totalWeight);
-
-        int currentWeight = 0;
-        for (Map.Entry<String, Integer> entry : probabilities.entrySet()) {
-            currentWeight += entry.getValue();
-            if (randomValue <= currentWeight) {
-                return entry.getKey();
-            }
-        }
-        throw new InvalidRandomValueException("Invalid random value!");
+        return samplerGrid.getSymbol(selectRandomSymbolIndex(row, column, addedBonus));
+    }
+
+    /**
+     * Selects a random symbol for a given row and column without resolving its name.
+     *
+     * @param row the row index for which to select the symbol
+     * @param column the column index for which to select the symbol
+     * @param addedBonus whether bonus symbols may be selected
+     * @return the index of the selected symbol in the symbol table of the {@link SamplerGrid}
+     */
+    public int selectRandomSymbolIndex(int row, int column, boolean addedBonus) {
+        CellSampler sampler = samplerGrid.getSampler(row, column, addedBonus);
+        return sampler.sample(randomGenerator);
+    }
+
+    /**
+     * Selects a random symbol for a given row and column by inversion of its distribution, from a single random
+     * double whatever the cell. See {@link CellSampler#sampleByInversion(double)}.
+     *
+     * @param row the row index for which to select the symbol
+     * @param column the column index for which to select the symbol
+     * @param addedBonus whether bonus symbols may be selected
+     * @return the index of the selected symbol in the symbol table of the {@link SamplerGrid}
+     */
+    public int selectSymbolIndexByInversion(int row, int column, boolean addedBonus) {
+        return samplerGrid.getSampler(row, column, addedBonus).sampleByInversion(randomGenerator.getRandomDouble());
+    }
+
+    /**
+     * Gets the likelihood ratio of a symbol selected for a given row and column, the ratio of its configured
+     * probability to the probability it was selected with.
+     *
+     * @param row the row index the symbol was selected for
+     * @param column the column index the symbol was selected for
+     * @param addedBonus whether bonus symbols could be selected
+     * @param symbolIndex the index of the selected symbol in the symbol table of the {@link SamplerGrid}
+     * @return the likelihood ratio, 1 unless the samplers are tilted
+     */
+    public double getLikelihoodRatio(int row, int column, boolean addedBonus, int symbolIndex) {
+        return samplerGrid.getSampler(row, column, addedBonus).getLikelihoodRatio(symbolIndex);
+    }
+
+    public SamplerGrid getSamplerGrid() {
+        return samplerGrid;
+    }
+
+    public RandomGenerator getRandomGenerator() {
+        return randomGenerator;
     }
 }
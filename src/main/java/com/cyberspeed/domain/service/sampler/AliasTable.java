@@ -0,0 +1,185 @@
+package com.cyberspeed.domain.service.sampler;
+
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+import com.cyberspeed.utils.RandomGenerator;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Alias table (Vose's method) for sampling from a discrete distribution of integer weights in constant time.
+ * <p>
+ * Every column holds a capacity of {@code totalWeight} units split between its own outcome and an alias outcome.
+ * The table is built with exact integer arithmetic, so a weight of zero is never returned and the sampled
+ * distribution is identical to drawing a value in {@code [1, totalWeight]} and walking the cumulative weights.
+ * A draw consumes a single random value in {@code [0, size * totalWeight)} and reads two arrays.
+ * </p>
+ */
+public final class AliasTable {
+    private final int[] threshold; // Units of the column kept by the column's own outcome
+    private final int[] alias; // Outcome returned when the draw falls beyond the threshold
+    private final int totalWeight;
+    private final long range;
+
+    /**
+     * Builds the alias table for the given weights.
+     *
+     * @param weights the non-negative weight of each outcome, indexed by outcome
+     * @throws ConfigurationException if a weight is negative or all weights are zero
+     */
+    public AliasTable(int[] weights) {
+        int size = weights.length;
+        long total = 0;
+        for (int weight : weights) {
+            if (weight < 0) {
+                throw new ConfigurationException("Symbol weights cannot be negative");
+            }
+            total += weight;
+        }
+        if (total == 0 || total > Integer.MAX_VALUE) {
+            throw new ConfigurationException("Total symbol weight must be between 1 and " + Integer.MAX_VALUE);
+        }
+
+        this.totalWeight = (int) total;
+        this.range = (long) size * totalWeight;
+        this.threshold = new int[size];
+        this.alias = new int[size];
+        build(weights);
+    }
+
+    private AliasTable(int[] threshold, int[] alias, int totalWeight) {
+        this.threshold = threshold;
+        this.alias = alias;
+        this.totalWeight = totalWeight;
+        this.range = (long) threshold.length * totalWeight;
+    }
+
+    /**
+     * Writes the columns of the table, to be read back by {@link #readFrom(ByteBuffer)} without rebuilding them.
+     *
+     * @param output the output receiving the table
+     * @throws IOException if the table cannot be written
+     */
+    void writeTo(DataOutput output) throws IOException {
+        output.writeInt(totalWeight);
+        output.writeInt(threshold.length);
+        for (int i = 0; i < threshold.length; i++) {
+            output.writeInt(threshold[i]);
+            output.writeInt(alias[i]);
+        }
+    }
+
+    /**
+     * Reads a table written by {@link #writeTo(DataOutput)}.
+     *
+     * @param buffer the buffer positioned at the table
+     * @return the table
+     */
+    static AliasTable readFrom(ByteBuffer buffer) {
+        int totalWeight = buffer.getInt();
+        int size = buffer.getInt();
+        int[] threshold = new int[size];
+        int[] alias = new int[size];
+        for (int i = 0; i < size; i++) {
+            threshold[i] = buffer.getInt();
+            alias[i] = buffer.getInt();
+        }
+        return new AliasTable(threshold, alias, totalWeight);
+    }
+
+    /**
+     * Fills the threshold and alias columns by pairing an under-full outcome with an over-full one until every
+     * column holds exactly {@code totalWeight} units.
+     *
+     * @param weights the weight of each outcome
+     */
+    private void build(int[] weights) {
+        int size = weights.length;
+        long[] scaled = new long[size];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+
+        for (int i = 0; i < size; i++) {
+            scaled[i] = (long) weights[i] * size;
+            alias[i] = i;
+            if (scaled[i] < totalWeight) {
+                small.push(i);
+            } else {
+                large.push(i);
+            }
+        }
+
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            threshold[less] = (int) scaled[less];
+            alias[less] = more;
+            scaled[more] -= totalWeight - scaled[less];
+            if (scaled[more] < totalWeight) {
+                small.push(more);
+            } else {
+                large.push(more);
+            }
+        }
+
+        // With exact arithmetic only full columns remain here
+        while (!large.isEmpty()) {
+            threshold[large.pop()] = totalWeight;
+        }
+        while (!small.isEmpty()) {
+            threshold[small.pop()] = totalWeight;
+        }
+    }
+
+    /**
+     * Draws an outcome using a fresh random value.
+     *
+     * @param randomGenerator the generator providing the random value
+     * @return the index of the sampled outcome
+     */
+    public int sample(RandomGenerator randomGenerator) {
+        return sample(randomGenerator.getRandomLong(range));
+    }
+
+    /**
+     * Maps a uniformly distributed value in {@code [0, range())} to an outcome.
+     *
+     * @param value the uniform value
+     * @return the index of the sampled outcome
+     */
+    public int sample(long value) {
+        int column = (int) (value / totalWeight);
+        int offset = (int) (value - (long) column * totalWeight);
+        return offset < threshold[column] ? column : alias[column];
+    }
+
+    /**
+     * Gets the size of the uniform range consumed by a single draw.
+     *
+     * @return the number of outcomes times the total weight
+     */
+    public long range() {
+        return range;
+    }
+
+    /**
+     * Gets the sum of all weights of the distribution.
+     *
+     * @return the total weight
+     */
+    public int totalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Gets the number of outcomes of the distribution.
+     *
+     * @return the number of outcomes
+     */
+    public int size() {
+        return threshold.length;
+    }
+}
@@ -0,0 +1,164 @@
+package com.cyberspeed.domain.service.sampler;
+
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+import com.cyberspeed.utils.RandomGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partition of the rounds of a game by the bonus symbol they hold, for stratified sampling.
+ * <p>
+ * A matrix holds at most one bonus symbol: cells are drawn in column-major order, and once a bonus symbol is
+ * drawn the following cells are drawn among the standard symbols only. The strata are the rounds without a bonus
+ * symbol and the rounds holding each bonus symbol. The probability of a stratum, and the distribution of the
+ * position of its bonus symbol, follow from the probability of drawing a standard symbol in each cell. Given the
+ * position, every other cell of a round of the stratum is drawn among the standard symbols of the cell.
+ * </p>
+ */
+public final class BonusStrata {
+    public static final String NO_BONUS = "none";
+
+    private final int[] symbolIds; // Bonus symbol id of each stratum, -1 for the rounds without a bonus symbol
+    private final String[] names;
+    private final double[] probabilities;
+    private final double[][] positionDistributions; // Cumulative probability of each generation position in a stratum
+
+    /**
+     * Computes the strata of the rounds drawn from the given samplers.
+     *
+     * @param samplerGrid    the compiled samplers of every cell, as configured
+     * @param symbolRegistry the registry of the symbols
+     * @param rows           the number of rows of the matrix
+     * @param columns        the number of columns of the matrix
+     * @throws ConfigurationException if the probabilities reference a symbol that is not configured
+     */
+    public BonusStrata(SamplerGrid samplerGrid, SymbolRegistry symbolRegistry, int rows, int columns) {
+        String[] symbols = samplerGrid.getSymbols();
+        int[] symbolIdsByIndex = new int[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            symbolIdsByIndex[i] = symbolRegistry.idOf(symbols[i]);
+            if (symbolIdsByIndex[i] < 0) {
+                throw new ConfigurationException("Probabilities reference an unknown symbol: " + symbols[i]);
+            }
+        }
+
+        // Probability of each bonus symbol being drawn at each generation position, i.e. in the cell and in none before
+        int cells = rows * columns;
+        double[][] bonusProbabilities = new double[symbolRegistry.size()][cells];
+        double noBonus = 1;
+        for (int position = 0; position < cells; position++) {
+            CellSampler sampler = samplerGrid.getSampler(position % rows, position / rows, true);
+            double standard = 0;
+            for (int i = 0; i < symbols.length; i++) {
+                double probability = sampler.getProbability(i);
+                if (symbolRegistry.isBonus(symbolIdsByIndex[i])) {
+                    bonusProbabilities[symbolIdsByIndex[i]][position] += noBonus * probability;
+                } else {
+                    standard += probability;
+                }
+            }
+            noBonus *= standard;
+        }
+
+        List<Integer> strata = new ArrayList<>();
+        strata.add(-1);
+        for (int id = symbolRegistry.standardCount(); id < symbolRegistry.size(); id++) {
+            if (sum(bonusProbabilities[id]) > 0) {
+                strata.add(id);
+            }
+        }
+
+        this.symbolIds = new int[strata.size()];
+        this.names = new String[strata.size()];
+        this.probabilities = new double[strata.size()];
+        this.positionDistributions = new double[strata.size()][];
+        for (int stratum = 0; stratum < strata.size(); stratum++) {
+            int id = strata.get(stratum);
+            symbolIds[stratum] = id;
+            if (id < 0) {
+                names[stratum] = NO_BONUS;
+                probabilities[stratum] = noBonus;
+                continue;
+            }
+            names[stratum] = symbolRegistry.nameOf(id);
+            probabilities[stratum] = sum(bonusProbabilities[id]);
+            positionDistributions[stratum] = new double[cells];
+            double cumulative = 0;
+            for (int position = 0; position < cells; position++) {
+                cumulative += bonusProbabilities[id][position];
+                positionDistributions[stratum][position] = cumulative / probabilities[stratum];
+            }
+        }
+    }
+
+    private static double sum(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Draws the generation position of the bonus symbol of a round of a stratum, given that the round belongs to
+     * the stratum.
+     *
+     * @param stratum         the index of the stratum
+     * @param randomGenerator the generator providing the random value
+     * @return the position in column-major order, or -1 for the rounds without a bonus symbol
+     */
+    public int samplePosition(int stratum, RandomGenerator randomGenerator) {
+        double[] distribution = positionDistributions[stratum];
+        if (distribution == null) {
+            return -1;
+        }
+        double value = randomGenerator.getRandomDouble();
+        for (int position = 0; position < distribution.length - 1; position++) {
+            if (value < distribution[position]) {
+                return position;
+            }
+        }
+        return distribution.length - 1;
+    }
+
+    /**
+     * Gets the number of strata, the rounds without a bonus symbol being the first one.
+     *
+     * @return the number of strata
+     */
+    public int size() {
+        return symbolIds.length;
+    }
+
+    /**
+     * Gets the bonus symbol held by the rounds of a stratum.
+     *
+     * @param stratum the index of the stratum
+     * @return the symbol id, or -1 for the rounds without a bonus symbol
+     */
+    public int getSymbolId(int stratum) {
+        return symbolIds[stratum];
+    }
+
+    /**
+     * Gets the name of a stratum, the name of its bonus symbol or {@value #NO_BONUS}.
+     *
+     * @param stratum the index of the stratum
+     * @return the name of the stratum
+     */
+    public String getName(int stratum) {
+        return names[stratum];
+    }
+
+    /**
+     * Gets the probability of a round belonging to a stratum.
+     *
+     * @param stratum the index of the stratum
+     * @return the probability of the stratum
+     */
+    public double getProbability(int stratum) {
+        return probabilities[stratum];
+    }
+}
@@ -0,0 +1,227 @@
+package com.cyberspeed.domain.service.sampler;
+
+import com.cyberspeed.utils.RandomGenerator;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Compiled symbol distribution of a single matrix cell.
+ * <p>
+ * The weights of the cell are copied once into parallel arrays and compiled into an {@link AliasTable},
+ * so drawing a symbol does not touch any map nor allocate. Symbols are identified by their index in the
+ * symbol table of the owning {@link SamplerGrid}.
+ * </p>
+ * <p>
+ * A sampler can be {@link #tilt(double[]) tilted} for importance sampling: it then draws from reweighted
+ * symbols, and {@link #getLikelihoodRatio(int)} gives the ratio of the configured probability of a symbol to
+ * its tilted probability, by which a round must be weighted to keep estimates unbiased.
+ * </p>
+ */
+public final class CellSampler {
+    private static final long TILTED_TOTAL_WEIGHT = 1L << 24;
+
+    private final int[] symbolIndexes;
+    private final int[] weights; // Configured weights, even when tilted
+    private final long totalWeight;
+    private final long[] cumulativeWeights; // Configured weights of the symbols up to each one, for inversion
+    private final AliasTable aliasTable;
+    private final double[] likelihoodRatios; // Indexed by symbol index, null when drawing the configured weights
+
+    /**
+     * Compiles the sampler from a map of symbol names to weights.
+     *
+     * @param probabilities a map of symbol names to their respective weights
+     * @param symbolIndexes the index of each symbol name in the symbol table of the grid
+     */
+    public CellSampler(Map<String, Integer> probabilities, Map<String, Integer> symbolIndexes) {
+        this.symbolIndexes = new int[probabilities.size()];
+        this.weights = new int[probabilities.size()];
+
+        int index = 0;
+        for (Map.Entry<String, Integer> entry : probabilities.entrySet()) {
+            this.symbolIndexes[index] = symbolIndexes.get(entry.getKey());
+            weights[index] = entry.getValue();
+            index++;
+        }
+        this.aliasTable = new AliasTable(weights);
+        this.totalWeight = aliasTable.totalWeight();
+        this.cumulativeWeights = cumulate(weights);
+        this.likelihoodRatios = null;
+    }
+
+    private CellSampler(int[] symbolIndexes, int[] weights, AliasTable aliasTable) {
+        this.symbolIndexes = symbolIndexes;
+        this.weights = weights;
+        this.aliasTable = aliasTable;
+        this.totalWeight = aliasTable.totalWeight();
+        this.cumulativeWeights = cumulate(weights);
+        this.likelihoodRatios = null;
+    }
+
+    private CellSampler(int[] symbolIndexes, int[] weights, long totalWeight, int[] tiltedWeights) {
+        this.symbolIndexes = symbolIndexes;
+        this.weights = weights;
+        this.totalWeight = totalWeight;
+        this.cumulativeWeights = cumulate(weights);
+        this.aliasTable = new AliasTable(tiltedWeights);
+
+        int maxIndex = 0;
+        for (int symbolIndex : symbolIndexes) {
+            maxIndex = Math.max(maxIndex, symbolIndex);
+        }
+        this.likelihoodRatios = new double[maxIndex + 1];
+        for (int i = 0; i < symbolIndexes.length; i++) {
+            if (tiltedWeights[i] > 0) {
+                likelihoodRatios[symbolIndexes[i]] = (double) weights[i] / totalWeight
+                        / ((double) tiltedWeights[i] / aliasTable.totalWeight());
+            }
+        }
+    }
+
+    /**
+     * Draws a symbol of this cell.
+     *
+     * @param randomGenerator the generator providing the random value
+     * @return the index of the drawn symbol in the symbol table of the grid
+     */
+    public int sample(RandomGenerator randomGenerator) {
+        return symbolIndexes[aliasTable.sample(randomGenerator)];
+    }
+
+    /**
+     * Draws a symbol of this cell with the configured weights by inversion: the symbols are laid end to end in
+     * configuration order, and the one covering the given fraction of the total weight is returned. Unlike the
+     * alias table, inversion maps close fractions to the same symbol, so the cells of two configurations with close
+     * weights given the same fraction mostly draw the same symbol.
+     *
+     * @param fraction a value uniform in {@code [0, 1)}
+     * @return the index of the drawn symbol in the symbol table of the grid
+     */
+    public int sampleByInversion(double fraction) {
+        long target = (long) (fraction * totalWeight);
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeWeights[middle] > target) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return symbolIndexes[low];
+    }
+
+    /**
+     * Writes the symbols, weights and alias table of an untilted sampler, to be read back by
+     * {@link #readFrom(ByteBuffer)} without compiling them again.
+     *
+     * @param output the output receiving the sampler
+     * @throws IOException           if the sampler cannot be written
+     * @throws IllegalStateException if the sampler is tilted
+     */
+    void writeTo(DataOutput output) throws IOException {
+        if (likelihoodRatios != null) {
+            throw new IllegalStateException("Tilted samplers cannot be written");
+        }
+        output.writeInt(symbolIndexes.length);
+        for (int i = 0; i < symbolIndexes.length; i++) {
+            output.writeInt(symbolIndexes[i]);
+            output.writeInt(weights[i]);
+        }
+        aliasTable.writeTo(output);
+    }
+
+    /**
+     * Reads a sampler written by {@link #writeTo(DataOutput)}.
+     *
+     * @param buffer the buffer positioned at the sampler
+     * @return the sampler
+     */
+    static CellSampler readFrom(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        int[] symbolIndexes = new int[size];
+        int[] weights = new int[size];
+        for (int i = 0; i < size; i++) {
+            symbolIndexes[i] = buffer.getInt();
+            weights[i] = buffer.getInt();
+        }
+        return new CellSampler(symbolIndexes, weights, AliasTable.readFrom(buffer));
+    }
+
+    /**
+     * Estimates the heap retained by the sampler: its arrays of symbol indexes, weights and cumulative weights,
+     * and the columns of its alias table, with their headers.
+     *
+     * @return the estimated number of bytes
+     */
+    long estimateBytes() {
+        return 160 + 24L * symbolIndexes.length;
+    }
+
+    private static long[] cumulate(int[] weights) {
+        long[] cumulativeWeights = new long[weights.length];
+        long total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulativeWeights[i] = total;
+        }
+        return cumulativeWeights;
+    }
+
+    /**
+     * Builds a sampler drawing every symbol with a probability proportional to its configured weight times a
+     * factor. Symbols with a configured weight keep a non-zero tilted weight, so every outcome of the configured
+     * distribution can still be drawn.
+     *
+     * @param factors the positive factor of each symbol, indexed by symbol index
+     * @return the tilted sampler
+     */
+    public CellSampler tilt(double[] factors) {
+        double scale = 0;
+        for (int i = 0; i < weights.length; i++) {
+            scale += weights[i] * factors[symbolIndexes[i]];
+        }
+        scale = TILTED_TOTAL_WEIGHT / scale;
+
+        int[] tiltedWeights = new int[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] > 0) {
+                tiltedWeights[i] = (int) Math.max(1, Math.round(weights[i] * factors[symbolIndexes[i]] * scale));
+            }
+        }
+        return new CellSampler(symbolIndexes, weights, totalWeight, tiltedWeights);
+    }
+
+    /**
+     * Gets the ratio of the configured probability of a symbol to the probability it is drawn with.
+     *
+     * @param symbolIndex the index of a symbol drawn by this sampler
+     * @return the likelihood ratio, 1 unless the sampler is tilted
+     */
+    public double getLikelihoodRatio(int symbolIndex) {
+        return likelihoodRatios == null ? 1 : likelihoodRatios[symbolIndex];
+    }
+
+    /**
+     * Gets the configured probability of a symbol in this cell, whether the sampler is tilted or not.
+     *
+     * @param symbolIndex the index of a symbol in the symbol table of the grid
+     * @return the probability of the symbol, 0 if the cell does not hold it
+     */
+    public double getProbability(int symbolIndex) {
+        for (int i = 0; i < symbolIndexes.length; i++) {
+            if (symbolIndexes[i] == symbolIndex) {
+                return (double) weights[i] / totalWeight;
+            }
+        }
+        return 0;
+    }
+
+    public AliasTable getAliasTable() {
+        return aliasTable;
+    }
+}
@@ -0,0 +1,277 @@
+package com.cyberspeed.domain.service.sampler;
+
+import com.cyberspeed.domain.service.ProbabilityAggregator;
+import com.cyberspeed.utils.BinaryUtils;
+import com.cyberspeed.utils.Interner;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grid of compiled cell samplers, built once from the configured probabilities.
+ * <p>
+ * Each cell holds two samplers: one including the bonus symbols and one with standard symbols only.
+ * Cells outside the configured area resolve to the default samplers, matching the fallback of
+ * {@link ProbabilityAggregator#getProbabilities(int, int, boolean)}. Samplers return indexes into the symbol
+ * table of the grid, which holds every symbol name referenced by the probabilities. Cells with the same
+ * probabilities share their samplers, and a grid can be written to a snapshot and read back without compiling
+ * the samplers again.
+ * </p>
+ */
+public final class SamplerGrid {
+    private final int rows;
+    private final int columns;
+    private final String[] symbols;
+    private final CellSampler[] withBonus;
+    private final CellSampler[] withoutBonus;
+    private final CellSampler defaultWithBonus;
+    private final CellSampler defaultWithoutBonus;
+
+    /**
+     * Compiles the samplers for every cell covered by the configured probabilities.
+     *
+     * @param probabilityAggregator the aggregator providing the probabilities of each cell
+     */
+    public SamplerGrid(ProbabilityAggregator probabilityAggregator) {
+        this(probabilityAggregator, new Interner<>());
+    }
+
+    /**
+     * Compiles the samplers for every cell covered by the configured probabilities, sharing the samplers of the
+     * given pool with the other grids compiled with it.
+     *
+     * @param probabilityAggregator the aggregator providing the probabilities of each cell
+     * @param samplers              the pool of samplers, keyed by their symbols, indexes and weights
+     */
+    public SamplerGrid(ProbabilityAggregator probabilityAggregator, Interner<List<Object>, CellSampler> samplers) {
+        this.rows = probabilityAggregator.getRows();
+        this.columns = probabilityAggregator.getColumns();
+        this.withBonus = new CellSampler[rows * columns];
+        this.withoutBonus = new CellSampler[rows * columns];
+
+        Map<String, Integer> symbolIndexes = new LinkedHashMap<>();
+        this.defaultWithBonus = compile(probabilityAggregator.getDefaultProbabilities(true), symbolIndexes, samplers);
+        this.defaultWithoutBonus = compile(probabilityAggregator.getDefaultProbabilities(false), symbolIndexes, samplers);
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int index = row * columns + column;
+                if (probabilityAggregator.hasProbabilities(row, column)) {
+                    withBonus[index] = compile(probabilityAggregator.getProbabilities(row, column, true), symbolIndexes, samplers);
+                    withoutBonus[index] = compile(probabilityAggregator.getProbabilities(row, column, false), symbolIndexes, samplers);
+                } else {
+                    // Unconfigured cells share the default samplers
+                    withBonus[index] = defaultWithBonus;
+                    withoutBonus[index] = defaultWithoutBonus;
+                }
+            }
+        }
+        this.symbols = symbolIndexes.keySet().toArray(new String[0]);
+    }
+
+    private SamplerGrid(int rows, int columns, String[] symbols, CellSampler[] withBonus, CellSampler[] withoutBonus,
+                        CellSampler defaultWithBonus, CellSampler defaultWithoutBonus) {
+        this.rows = rows;
+        this.columns = columns;
+        this.symbols = symbols;
+        this.withBonus = withBonus;
+        this.withoutBonus = withoutBonus;
+        this.defaultWithBonus = defaultWithBonus;
+        this.defaultWithoutBonus = defaultWithoutBonus;
+    }
+
+    private SamplerGrid(SamplerGrid grid, double[] factors) {
+        this.rows = grid.rows;
+        this.columns = grid.columns;
+        this.symbols = grid.symbols;
+        this.withBonus = new CellSampler[grid.withBonus.length];
+        this.withoutBonus = new CellSampler[grid.withoutBonus.length];
+
+        // Cells sharing a sampler keep sharing the tilted one
+        Map<CellSampler, CellSampler> tilted = new IdentityHashMap<>();
+        this.defaultWithBonus = tilted.computeIfAbsent(grid.defaultWithBonus, sampler -> sampler.tilt(factors));
+        this.defaultWithoutBonus = tilted.computeIfAbsent(grid.defaultWithoutBonus, sampler -> sampler.tilt(factors));
+        for (int index = 0; index < withBonus.length; index++) {
+            withBonus[index] = tilted.computeIfAbsent(grid.withBonus[index], sampler -> sampler.tilt(factors));
+            withoutBonus[index] = tilted.computeIfAbsent(grid.withoutBonus[index], sampler -> sampler.tilt(factors));
+        }
+    }
+
+    /**
+     * Compiles the sampler of some probabilities, or reuses the one of the same probabilities in the same order
+     * and with the same symbol indexes, which draws the same symbols from the same random values.
+     */
+    private static CellSampler compile(Map<String, Integer> probabilities, Map<String, Integer> symbolIndexes,
+                                       Interner<List<Object>, CellSampler> samplers) {
+        List<Object> key = new ArrayList<>(3 * probabilities.size());
+        for (Map.Entry<String, Integer> entry : probabilities.entrySet()) {
+            symbolIndexes.putIfAbsent(entry.getKey(), symbolIndexes.size());
+            key.add(entry.getKey());
+            key.add(entry.getValue());
+            key.add(symbolIndexes.get(entry.getKey()));
+        }
+        return samplers.intern(List.copyOf(key), k -> new CellSampler(probabilities, symbolIndexes));
+    }
+
+    /**
+     * Estimates the heap retained by the grid, counting the samplers it shares with other grids as its own.
+     *
+     * @return the estimated number of bytes
+     */
+    public long estimateBytes() {
+        long bytes = estimateReferenceBytes();
+        for (long samplerBytes : estimateSamplerBytes().values()) {
+            bytes += samplerBytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the heap retained by the two arrays of references to the samplers, which the grid never shares.
+     *
+     * @return the estimated number of bytes
+     */
+    public long estimateReferenceBytes() {
+        return 64 + 8L * withBonus.length;
+    }
+
+    /**
+     * Estimates the heap retained by each distinct sampler of the grid, which other grids may share.
+     *
+     * @return the estimated number of bytes of each sampler, by identity
+     */
+    public Map<CellSampler, Long> estimateSamplerBytes() {
+        Map<CellSampler, Long> samplers = new IdentityHashMap<>();
+        samplers.put(defaultWithBonus, defaultWithBonus.estimateBytes());
+        samplers.put(defaultWithoutBonus, defaultWithoutBonus.estimateBytes());
+        for (int index = 0; index < withBonus.length; index++) {
+            samplers.computeIfAbsent(withBonus[index], CellSampler::estimateBytes);
+            samplers.computeIfAbsent(withoutBonus[index], CellSampler::estimateBytes);
+        }
+        return samplers;
+    }
+
+    /**
+     * Writes the grid, each distinct sampler once, to be read back by {@link #readFrom(ByteBuffer)}.
+     *
+     * @param output the output receiving the grid
+     * @throws IOException           if the grid cannot be written
+     * @throws IllegalStateException if the grid is tilted
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeInt(rows);
+        output.writeInt(columns);
+        output.writeInt(symbols.length);
+        for (String symbol : symbols) {
+            BinaryUtils.writeString(output, symbol);
+        }
+
+        Map<CellSampler, Integer> samplers = new IdentityHashMap<>();
+        List<CellSampler> distinct = new ArrayList<>();
+        int[] indexes = new int[2 * withBonus.length + 2];
+        indexes[0] = indexOf(defaultWithBonus, samplers, distinct);
+        indexes[1] = indexOf(defaultWithoutBonus, samplers, distinct);
+        for (int index = 0; index < withBonus.length; index++) {
+            indexes[2 + 2 * index] = indexOf(withBonus[index], samplers, distinct);
+            indexes[3 + 2 * index] = indexOf(withoutBonus[index], samplers, distinct);
+        }
+
+        output.writeInt(distinct.size());
+        for (CellSampler sampler : distinct) {
+            sampler.writeTo(output);
+        }
+        for (int index : indexes) {
+            output.writeInt(index);
+        }
+    }
+
+    private static int indexOf(CellSampler sampler, Map<CellSampler, Integer> samplers, List<CellSampler> distinct) {
+        return samplers.computeIfAbsent(sampler, key -> {
+            distinct.add(key);
+            return distinct.size() - 1;
+        });
+    }
+
+    /**
+     * Reads a grid written by {@link #writeTo(DataOutput)}. Cells sharing a sampler when written share it again.
+     *
+     * @param buffer the buffer positioned at the grid
+     * @return the grid
+     */
+    public static SamplerGrid readFrom(ByteBuffer buffer) {
+        int rows = buffer.getInt();
+        int columns = buffer.getInt();
+        String[] symbols = new String[buffer.getInt()];
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = BinaryUtils.readString(buffer);
+        }
+
+        CellSampler[] distinct = new CellSampler[buffer.getInt()];
+        for (int i = 0; i < distinct.length; i++) {
+            distinct[i] = CellSampler.readFrom(buffer);
+        }
+        CellSampler defaultWithBonus = distinct[buffer.getInt()];
+        CellSampler defaultWithoutBonus = distinct[buffer.getInt()];
+        CellSampler[] withBonus = new CellSampler[rows * columns];
+        CellSampler[] withoutBonus = new CellSampler[rows * columns];
+        for (int index = 0; index < withBonus.length; index++) {
+            withBonus[index] = distinct[buffer.getInt()];
+            withoutBonus[index] = distinct[buffer.getInt()];
+        }
+        return new SamplerGrid(rows, columns, symbols, withBonus, withoutBonus, defaultWithBonus, defaultWithoutBonus);
+    }
+
+    /**
+     * Gets the compiled sampler of a cell.
+     *
+     * @param row       the row index
+     * @param column    the column index
+     * @param withBonus whether bonus symbols may be drawn
+     * @return the sampler of the cell, or the default sampler if the cell is not configured
+     */
+    public CellSampler getSampler(int row, int column, boolean withBonus) {
+        if (row >= rows || column >= columns) {
+            return withBonus ? defaultWithBonus : defaultWithoutBonus;
+        }
+        return withBonus ? this.withBonus[row * columns + column] : withoutBonus[row * columns + column];
+    }
+
+    /**
+     * Builds a grid of samplers drawing every symbol with a probability proportional to its configured weight
+     * times a factor, for importance sampling. See {@link CellSampler#tilt(double[])}.
+     *
+     * @param factors the positive factor of each symbol, indexed by symbol index
+     * @return the tilted grid
+     */
+    public SamplerGrid tilt(double[] factors) {
+        if (factors.length != symbols.length) {
+            throw new IllegalArgumentException("Expected a factor for each of the " + symbols.length + " symbols");
+        }
+        return new SamplerGrid(this, factors);
+    }
+
+    /**
+     * Gets the symbol table of the grid.
+     *
+     * @return the symbol names, indexed by the values returned by the samplers
+     */
+    public String[] getSymbols() {
+        return symbols.clone();
+    }
+
+    /**
+     * Gets the symbol name of an index returned by a sampler of this grid.
+     *
+     * @param index the symbol index
+     * @return the symbol name
+     */
+    public String getSymbol(int index) {
+        return symbols[index];
+    }
+}
@@ -0,0 +1,195 @@
+package com.cyberspeed.domain.validator;
+
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.domain.model.winning.CombinationRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reusable scratch state for evaluating matrices.
+ * <p>
+ * The context preallocates the symbol histogram and, for each standard symbol, a bitset of the winning
+ * combination ids applied to it. Validators record their findings into the context, so evaluating a matrix does
+ * not allocate once the context exists. A context is confined to a single thread and is cleared with
+ * {@link #reset()} before each evaluation.
+ * </p>
+ */
+public final class EvaluationContext {
+    private final int combinationWords;
+    private final int[] histogram;
+    private final long[] appliedCombinations; // combinationWords longs per standard symbol id
+    private final int[] winningSymbols;
+    private int winningSymbolCount;
+    private int firstBonusSymbol = -1;
+    private int appliedBonusSymbol = -1;
+    private double reward;
+
+    /**
+     * Creates a context sized for the given symbols and winning combinations.
+     *
+     * @param symbolRegistry      the registry of the symbols
+     * @param combinationRegistry the registry of the winning combinations
+     */
+    public EvaluationContext(SymbolRegistry symbolRegistry, CombinationRegistry combinationRegistry) {
+        this.combinationWords = Math.max((combinationRegistry.size() + Long.SIZE - 1) / Long.SIZE, 1);
+        this.histogram = new int[symbolRegistry.size()];
+        this.appliedCombinations = new long[symbolRegistry.standardCount() * combinationWords];
+        this.winningSymbols = new int[symbolRegistry.standardCount()];
+    }
+
+    /**
+     * Clears the findings of the previous evaluation.
+     */
+    public void reset() {
+        for (int i = 0; i < winningSymbolCount; i++) {
+            int offset = winningSymbols[i] * combinationWords;
+            Arrays.fill(appliedCombinations, offset, offset + combinationWords, 0L);
+        }
+        winningSymbolCount = 0;
+        firstBonusSymbol = -1;
+        appliedBonusSymbol = -1;
+        reward = 0;
+    }
+
+    /**
+     * Records that a winning combination applies to a standard symbol. Recording it twice has no effect.
+     *
+     * @param symbolId      the id of the standard symbol
+     * @param combinationId the id of the winning combination
+     */
+    public void addCombination(int symbolId, int combinationId) {
+        int offset = symbolId * combinationWords;
+        if (!hasAnyCombination(symbolId)) {
+            winningSymbols[winningSymbolCount++] = symbolId;
+        }
+        appliedCombinations[offset + (combinationId >>> 6)] |= 1L << combinationId;
+    }
+
+    /**
+     * Checks whether a winning combination applies to a standard symbol.
+     *
+     * @param symbolId      the id of the standard symbol
+     * @param combinationId the id of the winning combination
+     * @return true if the combination was recorded for the symbol
+     */
+    public boolean hasCombination(int symbolId, int combinationId) {
+        return (appliedCombinations[symbolId * combinationWords + (combinationId >>> 6)] & (1L << combinationId)) != 0;
+    }
+
+    private boolean hasAnyCombination(int symbolId) {
+        int offset = symbolId * combinationWords;
+        for (int word = 0; word < combinationWords; word++) {
+            if (appliedCombinations[offset + word] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets a word of the bitset of winning combinations applied to a standard symbol.
+     *
+     * @param symbolId the id of the standard symbol
+     * @param word     the index of the word
+     * @return the bits of the combination ids {@code 64 * word} to {@code 64 * word + 63}
+     */
+    public long getCombinations(int symbolId, int word) {
+        return appliedCombinations[symbolId * combinationWords + word];
+    }
+
+    public int getCombinationWords() {
+        return combinationWords;
+    }
+
+    /**
+     * Checks whether any winning combination was recorded.
+     *
+     * @return true if at least one symbol won
+     */
+    public boolean isWinning() {
+        return winningSymbolCount > 0;
+    }
+
+    /**
+     * Gets the number of standard symbols with at least one winning combination.
+     *
+     * @return the number of winning symbols
+     */
+    public int getWinningSymbolCount() {
+        return winningSymbolCount;
+    }
+
+    /**
+     * Gets a standard symbol with at least one winning combination, in the order they were first recorded.
+     *
+     * @param index the index among the winning symbols, below {@link #getWinningSymbolCount()}
+     * @return the id of the winning symbol
+     */
+    public int getWinningSymbol(int index) {
+        return winningSymbols[index];
+    }
+
+    /**
+     * Gets the histogram array filled by the symbol counter or the {@link MatrixScanner}, indexed by symbol id.
+     *
+     * @return the histogram array
+     */
+    public int[] getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Gets the first applicable bonus symbol found by the {@link MatrixScanner}, whether or not the matrix wins.
+     *
+     * @return the id of the bonus symbol, or -1 if none
+     */
+    public int getFirstBonusSymbol() {
+        return firstBonusSymbol;
+    }
+
+    public void setFirstBonusSymbol(int firstBonusSymbol) {
+        this.firstBonusSymbol = firstBonusSymbol;
+    }
+
+    public int getAppliedBonusSymbol() {
+        return appliedBonusSymbol;
+    }
+
+    public void setAppliedBonusSymbol(int appliedBonusSymbol) {
+        this.appliedBonusSymbol = appliedBonusSymbol;
+    }
+
+    public double getReward() {
+        return reward;
+    }
+
+    public void setReward(double reward) {
+        this.reward = reward;
+    }
+
+    /**
+     * Converts the recorded winning combinations into their names, for the output boundary.
+     *
+     * @param symbolRegistry      the registry resolving symbol ids
+     * @param combinationRegistry the registry resolving combination ids
+     * @return a map of symbol names to the names of their winning combinations, in id order
+     */
+    public Map<String, List<String>> toWinningCombinations(SymbolRegistry symbolRegistry, CombinationRegistry combinationRegistry) {
+        Map<String, List<String>> winningCombinations = new HashMap<>();
+        for (int i = 0; i < winningSymbolCount; i++) {
+            int symbolId = winningSymbols[i];
+            List<String> combinations = new ArrayList<>();
+            for (int combinationId = 0; combinationId < combinationRegistry.size(); combinationId++) {
+                if (hasCombination(symbolId, combinationId)) {
+                    combinations.add(combinationRegistry.nameOf(combinationId));
+                }
+            }
+            winningCombinations.put(symbolRegistry.nameOf(symbolId), combinations);
+        }
+        return winningCombinations;
+    }
+}
@@ -0,0 +1,51 @@
+package com.cyberspeed.domain.validator;
+
+import com.cyberspeed.domain.model.game.SymbolMatrix;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+
+import java.util.Arrays;
+
+/**
+ * Gathers in a single traversal of a matrix the summaries every rule is resolved from.
+ * <p>
+ * The scan fills the symbol histogram of the context and records the first applicable bonus symbol in row-major
+ * order. Together with the occupancy bitboards the {@link SymbolMatrix} maintains as cells are written, this is
+ * all the same_symbols, linear_symbols and bonus rules need, so they no longer walk the matrix themselves.
+ * </p>
+ */
+public final class MatrixScanner {
+    private final boolean[] appliedBonus;
+
+    /**
+     * Constructs a MatrixScanner for the given symbols.
+     *
+     * @param symbolRegistry the registry of the symbols
+     */
+    public MatrixScanner(SymbolRegistry symbolRegistry) {
+        this.appliedBonus = new boolean[symbolRegistry.size()];
+        for (int symbolId = 0; symbolId < appliedBonus.length; symbolId++) {
+            appliedBonus[symbolId] = symbolRegistry.isAppliedBonus(symbolId);
+        }
+    }
+
+    /**
+     * Scans the matrix into the context, clearing the histogram of the previous scan.
+     *
+     * @param matrix  the matrix of symbol ids
+     * @param context the context receiving the histogram and the first bonus symbol
+     */
+    public void scan(SymbolMatrix matrix, EvaluationContext context) {
+        int[] histogram = context.getHistogram();
+        Arrays.fill(histogram, 0);
+
+        int firstBonusSymbol = -1;
+        for (int index = 0; index < matrix.size(); index++) {
+            int symbolId = matrix.get(index);
+            histogram[symbolId]++;
+            if (firstBonusSymbol < 0 && appliedBonus[symbolId]) {
+                firstBonusSymbol = symbolId;
+            }
+        }
+        context.setFirstBonusSymbol(firstBonusSymbol);
+    }
+}
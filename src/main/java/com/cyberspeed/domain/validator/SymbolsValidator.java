@@ -1,7 +1,6 @@
 package com.cyberspeed.domain.validator;
 
-import java.util.List;
-import java.util.Map;
+import com.cyberspeed.domain.model.game.SymbolMatrix;
 
 /**
  * The Validator interface defines a contract for validating matrices
@@ -12,10 +11,10 @@ import java.util.Map;
 public interface SymbolsValidator {
     /**
      * Validates the given matrix against specific rules and conditions.
+     * Implementations keep no per-matrix state of their own, so they can be shared between threads.
      *
-     * @param matrix the matrix to be validated
-     * @return a map containing the results of the validation,
-     *         including symbols and their associated winning combinations
+     * @param matrix  the matrix to be validated
+     * @param context the context receiving the symbols and their associated winning combinations
      */
-    Map<String, List<String>> validate(String[][] matrix);
+    void validate(SymbolMatrix matrix, EvaluationContext context);
 }
@@ -0,0 +1,73 @@
+package com.cyberspeed.domain.validator.area;
+
+import com.cyberspeed.domain.model.game.SymbolMatrix;
+
+/**
+ * Lines of a linear winning combination compiled into bitboard masks.
+ * <p>
+ * Each line of the covered areas becomes a mask of {@link SymbolMatrix#wordsFor(int)} longs with one bit per
+ * covered cell, plus the row-major index of its first cell. A line matches when the symbol at its first cell
+ * occupies every bit of the mask.
+ * </p>
+ */
+public final class AreaLines {
+    private final int combination;
+    private final int words;
+    private final long[] masks;
+    private final int[] anchors;
+
+    /**
+     * Constructor to initialize the compiled lines.
+     *
+     * @param combination the id of the winning combination
+     * @param words       the number of longs of each mask
+     * @param masks       the masks of every line, {@code words} longs per line
+     * @param anchors     the row-major index of the first cell of every line
+     */
+    public AreaLines(int combination, int words, long[] masks, int[] anchors) {
+        this.combination = combination;
+        this.words = words;
+        this.masks = masks;
+        this.anchors = anchors;
+    }
+
+    /**
+     * Finds the standard symbol filling a line.
+     *
+     * @param line        the index of the line
+     * @param matrix      the matrix of symbol ids
+     * @param standardIds the number of standard symbol ids, which precede the bonus ids
+     * @return the id of the symbol filling the line, or -1 if the line is not filled by a single standard symbol
+     */
+    public int matchLine(int line, SymbolMatrix matrix, int standardIds) {
+        int symbolId = matrix.get(anchors[line]);
+        if (symbolId >= standardIds || !matrix.covers(symbolId, masks, line * words)) {
+            return -1;
+        }
+        return symbolId;
+    }
+
+    /**
+     * Gets a word of the mask of a line.
+     *
+     * @param line the index of the line
+     * @param word the index of the word, below {@link SymbolMatrix#wordsFor(int)} of the matrix size
+     * @return the bits of the cells covered by the line within the word
+     */
+    public long getMask(int line, int word) {
+        return masks[line * words + word];
+    }
+
+    public int getCombination() {
+        return combination;
+    }
+
+    /**
+     * Gets the number of compiled lines.
+     *
+     * @return the number of lines
+     */
+    public int size() {
+        return anchors.length;
+    }
+}
@@ -1,56 +1,66 @@
 package com.cyberspeed.domain.validator.area;
 
+import com.cyberspeed.domain.model.game.SymbolMatrix;
+import com.cyberspeed.domain.model.winning.CombinationRegistry;
 import com.cyberspeed.domain.model.winning.WinningAreaCombination;
-import com.cyberspeed.domain.model.winning.WinningCombination;
+import com.cyberspeed.domain.validator.EvaluationContext;
 import com.cyberspeed.domain.validator.SymbolsValidator;
-import com.cyberspeed.domain.enums.WhenEnum;
-import com.cyberspeed.utils.MapUtils;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The AreaSymbolsValidator class implements the Validator interface
  * and is responsible for validating winning combinations in a specified area
  * of the matrix based on the defined winning rules.
+ * <p>
+ * The linear combinations are compiled into {@link AreaLines} when the validator is built.
+ * </p>
  */
 public class AreaSymbolsValidator implements SymbolsValidator {
 
-    private final Map<String, WinningCombination> winCombinations;
+    private final AreaLines[] areaLines;
     private final AreaValidator areaValidator;
 
     /**
      * Constructor to initialize the AreaSymbolsValidator with winning combinations and area validator.
      *
-     * @param winCombinations a map of winning combinations associated with keys
+     * @param combinationRegistry the registry of the winning combinations
      * @param areaValidator an instance of AreaValidator for validating areas
      */
-    public AreaSymbolsValidator(Map<String, WinningCombination> winCombinations, AreaValidator areaValidator) {
-        this.winCombinations = winCombinations;
+    public AreaSymbolsValidator(CombinationRegistry combinationRegistry, AreaValidator areaValidator) {
         this.areaValidator = areaValidator;
+
+        List<AreaLines> compiled = new ArrayList<>();
+        for (int id = combinationRegistry.sameSymbolsCount(); id < combinationRegistry.size(); id++) {
+            WinningAreaCombination combination = (WinningAreaCombination) combinationRegistry.get(id);
+            AreaLines lines = areaValidator.compile(combinationRegistry.nameOf(id), id, combination);
+            if (lines != null) {
+                compiled.add(lines);
+            }
+        }
+        this.areaLines = compiled.toArray(new AreaLines[0]);
     }
 
     /**
      * Validates the matrix for winning combinations in specified areas.
      *
-     * @param matrix the matrix to be validated
-     * @return a map containing symbols and their associated winning combinations found in the area
+     * @param matrix  the matrix to be validated, of the size the areas were compiled for
+     * @param context the context receiving the symbols and their associated winning combinations
      */
     @Override
-    public Map<String, List<String>> validate(String[][] matrix) {
-        Map<String, List<String>> areaWinningCombination = new HashMap<>();
-
-        for (Map.Entry<String, WinningCombination> entry : winCombinations.entrySet()) {
-            String key = entry.getKey();
-            WinningCombination winCombination = entry.getValue();
-
-            if (winCombination.getWhen().equals(WhenEnum.LINEAR_SYMBOLS)) {
-                WinningAreaCombination winningAreaCombination = (WinningAreaCombination) winCombination;
-                Map<String, List<String>> validatedArea = areaValidator.validateArea(key, winningAreaCombination, matrix);
-
-                areaWinningCombination = MapUtils.mergeMaps(areaWinningCombination, validatedArea);
-            }
+    public void validate(SymbolMatrix matrix, EvaluationContext context) {
+        for (AreaLines lines : areaLines) {
+            areaValidator.validateArea(lines, matrix, context);
         }
+    }
 
-        return areaWinningCombination;
+    /**
+     * Gets the compiled lines of every linear combination that can be validated for the matrix size.
+     *
+     * @return a copy of the compiled lines, in combination id order
+     */
+    public AreaLines[] getAreaLines() {
+        return areaLines.clone();
     }
 }
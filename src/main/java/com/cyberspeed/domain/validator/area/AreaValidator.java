@@ -1,110 +1,115 @@
 package com.cyberspeed.domain.validator.area;
 
+import com.cyberspeed.domain.model.game.SymbolMatrix;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
 import com.cyberspeed.domain.model.winning.WinningAreaCombination;
+import com.cyberspeed.domain.validator.EvaluationContext;
+import com.cyberspeed.shared.exceptions.ConfigurationException;
 import com.cyberspeed.utils.SymbolUtils;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.logging.Logger;
 
 /**
  * This class validates specific areas in a game matrix to determine if they meet
  * the criteria for a winning combination.
+ * <p>
+ * The covered areas are compiled once into {@link AreaLines} bitboard masks for the configured matrix size,
+ * so validating a line takes a few bitwise operations on the occupancy bitboards of the matrix.
+ * </p>
  */
 public class AreaValidator {
     private static final Logger logger = Logger.getLogger(AreaValidator.class.getName());
 
-
-    private SymbolUtils symbolUtils;
+    private final SymbolRegistry symbolRegistry;
+    private final int rows;
+    private final int columns;
 
     /**
-     * Constructor to initialize the AreaValidator with a SymbolUtils instance.
+     * Constructor to initialize the AreaValidator with a SymbolUtils instance and the matrix size.
      *
      * @param symbolUtils an instance of SymbolUtils for symbol-related operations
+     * @param rows        the number of rows of the validated matrices
+     * @param columns     the number of columns of the validated matrices
      */
-    public AreaValidator(SymbolUtils symbolUtils) {
-        this.symbolUtils = symbolUtils;
+    public AreaValidator(SymbolUtils symbolUtils, int rows, int columns) {
+        this.symbolRegistry = symbolUtils.getRegistry();
+        this.rows = rows;
+        this.columns = columns;
     }
 
     /**
-     * Validates a specific area in the matrix based on the winning area combination.
+     * Compiles the covered areas of a winning area combination into bitboard masks.
      *
-     * @param key                    the identifier for the area being validated
-     * @param winningAreaCombination  the winning area combination to validate against
-     * @param matrix                 a 2D array representing the symbols in the matrix
-     * @return a map of winning area combinations where the key is the symbol and
-     *         the value is a list of area identifiers that match
+     * @param key                    the identifier of the winning combination
+     * @param combinationId          the id of the winning combination
+     * @param winningAreaCombination the winning area combination to compile
+     * @return the compiled lines, or null if the combination cannot be validated for the matrix size
+     * @throws ConfigurationException if a covered area is outside the matrix
      */
-    public Map<String, List<String>> validateArea(String key, WinningAreaCombination winningAreaCombination, String[][] matrix) {
+    public AreaLines compile(String key, int combinationId, WinningAreaCombination winningAreaCombination) {
         String[][] coveredAreas = winningAreaCombination.getCoveredAreas();
-        Map<String, List<String>> winningAreaCombinations = new HashMap<>();
 
         // Validate if the matrix size matches the covered areas size
-        if (matrix.length != coveredAreas[0].length) {
-            logger.warning("It is not possible to validate linear_symbols the covered area size is different from matrix size");
-            return winningAreaCombinations;
+        if (coveredAreas == null || coveredAreas.length == 0 || rows != coveredAreas[0].length) {
+            logger.warning("It is not possible to validate linear_symbols the covered area size is different from matrix size: " + key);
+            return null;
         }
 
-        for (int row = 0; row < coveredAreas.length; row++) {
-            boolean isMatched = validateSingleArea(coveredAreas[row], matrix);
-            if (isMatched) {
-                String symbol = getSymbolAtPosition(coveredAreas[row][0], matrix);
-                winningAreaCombinations.put(symbol, Collections.singletonList(key));
+        int words = SymbolMatrix.wordsFor(rows * columns);
+        long[] masks = new long[coveredAreas.length * words];
+        int[] anchors = new int[coveredAreas.length];
+
+        for (int line = 0; line < coveredAreas.length; line++) {
+            for (int cell = 0; cell < coveredAreas[line].length; cell++) {
+                int index = convertCoordinateToIndex(key, coveredAreas[line][cell]);
+                if (cell == 0) {
+                    anchors[line] = index;
+                }
+                masks[line * words + (index >>> 6)] |= 1L << index;
             }
         }
-
-        return winningAreaCombinations;
+        return new AreaLines(combinationId, words, masks, anchors);
     }
 
     /**
-     * Validates a single area against the matrix to check if it matches a standard symbol.
+     * Validates the compiled lines of a winning combination against the matrix.
+     * The combination is recorded once for every standard symbol filling at least one of its lines.
      *
-     * @param area   the coordinates of the area to validate
-     * @param matrix a 2D array representing the symbols in the matrix
-     * @return true if the area matches a standard symbol, false otherwise
+     * @param areaLines the compiled lines of the winning area combination
+     * @param matrix    the matrix of symbol ids
+     * @param context   the context receiving the winning combination of each matching symbol
      */
-    private boolean validateSingleArea(String[] area, String[][] matrix) {
-        String symbol = getSymbolAtPosition(area[0], matrix);
-
-        if(!symbolUtils.isStandardSymbol(symbol)) {
-            return false;
-        }
-
-        for (int i = 1; i < area.length; i++) {
-            String currentSymbol = getSymbolAtPosition(area[i], matrix);
-            if (!symbol.equals(currentSymbol)) {
-                return false;
+    public void validateArea(AreaLines areaLines, SymbolMatrix matrix, EvaluationContext context) {
+        for (int line = 0; line < areaLines.size(); line++) {
+            int symbolId = areaLines.matchLine(line, matrix, symbolRegistry.standardCount());
+            if (symbolId >= 0) {
+                context.addCombination(symbolId, areaLines.getCombination());
             }
         }
-        return true;
-    }
-
-    /**
-     * Retrieves the symbol at a given coordinate in the matrix.
-     *
-     * @param coordinate the coordinate in the format "row:column"
-     * @param matrix     a 2D array representing the symbols in the matrix
-     * @return the symbol at the specified position
-     */
-    private String getSymbolAtPosition(String coordinate, String[][] matrix) {
-        int[] position = convertCoordinateToPosition(coordinate);
-        return matrix[position[0]][position[1]];
     }
 
     /**
-     * Converts a coordinate string to an integer array representing matrix indices.
+     * Converts a coordinate string to the row-major index of the cell.
      *
+     * @param key        the identifier of the winning combination, for error reporting
      * @param coordinate the coordinate in the format "row:column"
-     * @return an array of integers where the first element is the row and the second is the column
+     * @return the row-major index of the cell
+     * @throws ConfigurationException if the coordinate is malformed or outside the matrix
      */
-    private int[] convertCoordinateToPosition(String coordinate) {
+    private int convertCoordinateToIndex(String key, String coordinate) {
         String[] position = coordinate.split(":");
-        int[] result = new int[position.length];
-        for (int i = 0; i < position.length; i++) {
-            result[i] = Integer.parseInt(position[i]);
+        if (position.length != 2) {
+            throw new ConfigurationException("Invalid covered area " + coordinate + " in " + key);
+        }
+        try {
+            int row = Integer.parseInt(position[0].trim());
+            int column = Integer.parseInt(position[1].trim());
+            if (row >= 0 && row < rows && column >= 0 && column < columns) {
+                return row * columns + column;
+            }
+        } catch (NumberFormatException e) {
+            throw new ConfigurationException("Invalid covered area " + coordinate + " in " + key, e);
         }
-        return result;
+        throw new ConfigurationException("Covered area " + coordinate + " in " + key + " is outside the matrix");
     }
 }
@@ -1,26 +1,54 @@
 package com.cyberspeed.infraestructure.application;
 
 import com.cyberspeed.config.AppConfiguration;
-import com.cyberspeed.config.GameConfiguration;
+import com.cyberspeed.config.ConfigurationVariant;
+import com.cyberspeed.config.GameModel;
 import com.cyberspeed.domain.model.game.GameResult;
-import com.cyberspeed.domain.service.ProbabilityAggregator;
-import com.cyberspeed.domain.service.ProbabilityBonusService;
-import com.cyberspeed.domain.service.ProbabilityStandardService;
+import com.cyberspeed.domain.model.game.SymbolMatrix;
+import com.cyberspeed.domain.model.simulation.RareEventResult;
+import com.cyberspeed.domain.model.simulation.SimulationResult;
+import com.cyberspeed.domain.model.simulation.SimulationStatistics;
+import com.cyberspeed.domain.model.simulation.SweepResult;
+import com.cyberspeed.domain.model.tuning.TuningResult;
+import com.cyberspeed.domain.model.tuning.TuningSpecification;
 import com.cyberspeed.domain.service.SelectorSymbol;
 import com.cyberspeed.infraestructure.application.exceptions.InvalidParametersException;
+import com.cyberspeed.infraestructure.application.service.GameAnalyzer;
+import com.cyberspeed.infraestructure.application.service.GameSimulator;
 import com.cyberspeed.infraestructure.application.service.GameValidator;
 import com.cyberspeed.infraestructure.application.service.MatrixGenerator;
+import com.cyberspeed.infraestructure.application.service.VariantSweeper;
+import com.cyberspeed.infraestructure.application.service.WeightTuner;
 import com.cyberspeed.infraestructure.application.validator.ParameterValidator;
 import com.cyberspeed.infraestructure.output.ConsoleResultHandler;
 import com.cyberspeed.infraestructure.output.ResultHandler;
 import com.cyberspeed.utils.RandomGenerator;
 import com.cyberspeed.utils.SymbolUtils;
 
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.logging.Logger;
 
 /**
  * The GameLauncher class is responsible for initializing and launching the game.
  * It handles the loading of configurations, sets up services, runs the game logic, and prints the results.
+ * With {@code --simulate <rounds>} it plays the given number of rounds instead and prints their statistics, and
+ * with {@code --analyze} it prints the exact payout distribution of the configuration. With
+ * {@code --rtp-precision <halfWidth>}, and optionally {@code --hit-rate-precision <halfWidth>} and
+ * {@code --confidence <level>}, the simulation stops as soon as the confidence intervals are that narrow, the
+ * number of rounds given to {@code --simulate} being the maximum. {@code --importance-tilt <exponent>} and
+ * {@code --stratify} draw the simulated rounds with importance sampling and stratified sampling by bonus symbol,
+ * to estimate the probability of the rewards given to {@code --tail <reward>,...} and the RTP with fewer rounds.
+ * {@code --tune} searches standard symbol weights meeting {@code --target-rtp}, {@code --target-hit-rate} and
+ * {@code --target-volatility}, and writes the tuned configuration to {@code --output <file>} if given.
+ * {@code --sweep <variants>} plays the variants of the configuration described in the given file on the same
+ * random numbers for the number of rounds given to {@code --simulate}, and prints their comparison.
+ * The random number generator can be selected with {@code --rng <algorithm>} and seeded with {@code --seed <seed>};
+ * {@code --round <index>} replays a round of a simulation played with the counter-based generator and that seed.
+ * {@code --snapshot <file>} restores the compiled configuration from a binary snapshot, which is written again
+ * from the JSON configuration when missing or out of date.
  */
 public class GameLauncher {
     private static final Logger logger = Logger.getLogger(GameLauncher.class.getName());
@@ -37,17 +65,66 @@ public class GameLauncher {
             double bettingAmount = Double.parseDouble(args[BETTING_AMOUNT_INDEX]);
             String configFile = args[CONFIG_FILE_INDEX];
 
-            // Load the game configuration
-            GameConfiguration gameConfiguration = loadGameConfiguration(configFile);
+            // Load the game configuration and compile it, reporting every configuration error before playing,
+            // or restore the compiled model from an up to date snapshot
+            String snapshot = ParameterValidator.getOption(args, ParameterValidator.SNAPSHOT_OPTION);
+            GameModel gameModel = snapshot == null
+                    ? new AppConfiguration().loadModel(configFile)
+                    : new AppConfiguration().loadModel(configFile, Path.of(snapshot));
 
-            // Build and aggregate probabilities
-            ProbabilityAggregator probabilityAggregator = buildProbabilityAggregator(gameConfiguration);
+            // Random generator selected by --rng and --seed
+            RandomGenerator randomGenerator = buildRandomGenerator(args);
+
+            ResultHandler resultHandler = new ConsoleResultHandler();
+            if (ParameterValidator.hasOption(args, ParameterValidator.ANALYZE_OPTION)) {
+                // Compute the exact payout distribution instead of playing
+                GameAnalyzer gameAnalyzer = new GameAnalyzer(gameModel.getGameConfiguration(), gameModel.getSymbolUtils(),
+                        gameModel.getProbabilityAggregator());
+                resultHandler.handleAnalysisResult(gameAnalyzer.analyze(bettingAmount));
+                return;
+            }
+
+            if (ParameterValidator.hasOption(args, ParameterValidator.TUNE_OPTION)) {
+                // Search the standard symbol weights meeting the targets
+                TuningResult tuningResult = runTuning(args, bettingAmount, gameModel, getThreads(args));
+                String output = ParameterValidator.getOption(args, ParameterValidator.OUTPUT_OPTION);
+                if (output != null) {
+                    new AppConfiguration().writeConfiguration(configFile, tuningResult.probabilities(), Path.of(output));
+                }
+                resultHandler.handleTuningResult(tuningResult);
+                return;
+            }
+
+            String simulatedRounds = ParameterValidator.getOption(args, ParameterValidator.SIMULATE_OPTION);
+            String variants = ParameterValidator.getOption(args, ParameterValidator.SWEEP_OPTION);
+            if (variants != null) {
+                // Play every variant on the same rounds and print the comparison
+                List<ConfigurationVariant> configurationVariants = new AppConfiguration().loadVariants(configFile, variants);
+                SweepResult sweepResult = new VariantSweeper(configurationVariants).sweep(Long.parseLong(simulatedRounds),
+                        bettingAmount, getConfidence(args), getThreads(args), randomGenerator);
+                resultHandler.handleSweepResult(sweepResult);
+                return;
+            }
+            if (simulatedRounds != null && ParameterValidator.isRareEventSimulation(args)) {
+                // Play weighted rounds and print the estimates of the rare outcomes
+                RareEventResult rareEventResult = runRareEventSimulation(args, Long.parseLong(simulatedRounds), bettingAmount,
+                        gameModel, randomGenerator, getThreads(args));
+                resultHandler.handleRareEventResult(rareEventResult);
+                return;
+            }
+            if (simulatedRounds != null) {
+                // Play many rounds and print the statistics
+                SimulationResult simulationResult = runSimulation(args, Long.parseLong(simulatedRounds), bettingAmount,
+                        gameModel, randomGenerator, getThreads(args));
+                resultHandler.handleSimulationResult(simulationResult);
+                return;
+            }
 
             // Run the game logic
-            GameResult gameResult = runGame(bettingAmount, gameConfiguration, probabilityAggregator);
+            String round = ParameterValidator.getOption(args, ParameterValidator.ROUND_OPTION);
+            GameResult gameResult = runGame(bettingAmount, gameModel, randomGenerator, round == null ? -1 : Long.parseLong(round));
 
             // Print the final game result
-            ResultHandler resultHandler = new ConsoleResultHandler();
             resultHandler.handleResult(gameResult);
 
         } catch (Exception e) {
@@ -79,51 +156,162 @@ public class GameLauncher {
     }
 
     /**
-     * Loads the game configuration from the configuration file.
+     * Runs the game logic, generating the matrix, validating symbols, and computing the results.
      *
-     * @param configFile the name of the configuration file.
-     * @return GameConfiguration object containing game settings and probabilities.
-     * @throws Exception if there is an error during the loading of the configuration.
+     * @param betAmount the amount bet by the player.
+     * @param gameModel the execution model compiled from the game configuration.
+     * @param randomGenerator the random generator drawing the symbols.
+     * @param round the index of the round to replay with a counter-based generator, or -1 to play a new round.
+     * @return a GameResult object containing the final game state, winning combinations, and rewards.
      */
-    private static GameConfiguration loadGameConfiguration(String configFile) {
-        AppConfiguration appConfiguration = new AppConfiguration();
-        return appConfiguration.loadConfiguration(configFile);
+    private static GameResult runGame(double betAmount, GameModel gameModel, RandomGenerator randomGenerator, long round) {
+        // Selector for choosing symbols with the compiled samplers of the cells
+        SelectorSymbol selectorSymbol = new SelectorSymbol(gameModel.getSamplerGrid(), randomGenerator);
+
+        // Utility class for validate if is a standard symbol used in MatrixScanner and AreaValidator
+        SymbolUtils symbolUtils = gameModel.getSymbolUtils();
+
+        // Generates a matrix (grid) for the game
+        MatrixGenerator matrixGenerator = new MatrixGenerator(selectorSymbol, symbolUtils);
+        SymbolMatrix matrix = new SymbolMatrix(gameModel.getRows(), gameModel.getColumns(), symbolUtils.getRegistry().size());
+        if (round >= 0) {
+            matrixGenerator.generate(matrix, round);
+        } else {
+            matrixGenerator.generate(matrix);
+        }
+
+        // Validates the game matrix and calculates winning combinations and bonus
+        GameValidator gameValidator = new GameValidator(gameModel);
+        return gameValidator.validate(betAmount, matrix);
     }
 
     /**
-     * Builds the ProbabilityAggregator by initializing bonus and standard probability services.
+     * Gets the number of simulation threads given by {@code --threads}, all available processors by default.
      *
-     * @param gameConfiguration the loaded game configuration containing probabilities.
-     * @return a ProbabilityAggregator instance containing both standard and bonus probability services.
+     * @param args the input arguments, already validated.
+     * @return the number of threads.
      */
-    private static ProbabilityAggregator buildProbabilityAggregator(GameConfiguration gameConfiguration) {
-        ProbabilityBonusService probabilityBonusService = new ProbabilityBonusService(gameConfiguration.probabilities().bonusSymbolProbabilities());
-        ProbabilityStandardService probabilityStandardService = new ProbabilityStandardService(gameConfiguration.probabilities().standardSymbolProbabilities());
-        return new ProbabilityAggregator(probabilityStandardService, probabilityBonusService);
+    private static int getThreads(String[] args) {
+        String threads = ParameterValidator.getOption(args, ParameterValidator.THREADS_OPTION);
+        return threads == null ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(threads);
     }
 
     /**
-     * Runs the game logic, generating the matrix, validating symbols, and computing the results.
+     * Gets the confidence level of the intervals given by {@code --confidence}, {@value SimulationStatistics#DEFAULT_CONFIDENCE}
+     * by default.
      *
-     * @param betAmount the amount bet by the player.
-     * @param gameConfiguration the loaded game configuration.
-     * @param probabilityAggregator aggregator that manages symbol probabilities.
-     * @return a GameResult object containing the final game state, winning combinations, and rewards.
+     * @param args the input arguments, already validated.
+     * @return the confidence level.
+     */
+    private static double getConfidence(String[] args) {
+        String confidence = ParameterValidator.getOption(args, ParameterValidator.CONFIDENCE_OPTION);
+        return confidence == null ? SimulationStatistics.DEFAULT_CONFIDENCE : Double.parseDouble(confidence);
+    }
+
+    /**
+     * Runs a simulation of many rounds on a fork/join pool, sharing the compiled samplers and validators. When a
+     * target precision is given, rounds are played until the confidence intervals reach it.
+     *
+     * @param args the input arguments, already validated.
+     * @param rounds the number of rounds to play, or the maximum with a target precision.
+     * @param betAmount the amount bet on every round.
+     * @param gameModel the execution model compiled from the game configuration.
+     * @param randomGenerator the random generator the generators of the chunks of rounds are derived from.
+     * @param threads the number of threads.
+     * @return a SimulationResult object containing the RTP, hit rates and reward distribution of the rounds.
      */
-    private static GameResult runGame(double betAmount, GameConfiguration gameConfiguration, ProbabilityAggregator probabilityAggregator) {
-        // Selector for choosing symbols based on aggregated probabilities
-        SelectorSymbol selectorSymbol = new SelectorSymbol(probabilityAggregator, new RandomGenerator());
+    private static SimulationResult runSimulation(String[] args, long rounds, double betAmount, GameModel gameModel,
+                                                  RandomGenerator randomGenerator, int threads) {
+        GameValidator gameValidator = new GameValidator(gameModel);
+        GameSimulator gameSimulator = new GameSimulator(gameModel.getSamplerGrid(), gameModel.getSymbolUtils(), gameValidator,
+                gameModel.getRows(), gameModel.getColumns());
+        double confidence = getConfidence(args);
+        String rtpPrecision = ParameterValidator.getOption(args, ParameterValidator.RTP_PRECISION_OPTION);
+        if (rtpPrecision == null) {
+            return gameSimulator.simulateStatistics(0, rounds, betAmount, threads, randomGenerator)
+                    .toResult(betAmount, confidence, gameValidator.getSymbolRegistry(), gameValidator.getCombinationRegistry());
+        }
+        String hitRatePrecision = ParameterValidator.getOption(args, ParameterValidator.HIT_RATE_PRECISION_OPTION);
+        return gameSimulator.simulateUntil(Double.parseDouble(rtpPrecision),
+                hitRatePrecision == null ? 0 : Double.parseDouble(hitRatePrecision), confidence,
+                rounds, betAmount, threads, randomGenerator);
+    }
 
-        // Utility class for validate if is a standard symbol used in SymbolCounter and AreaValidator
-        SymbolUtils symbolUtils = new SymbolUtils(gameConfiguration.symbols());
+    /**
+     * Runs a simulation drawing weighted rounds with importance sampling given by {@code --importance-tilt} and
+     * stratified sampling given by {@code --stratify}. The tail probabilities are the ones of the rewards given
+     * by {@code --tail}, 100, 1000 and 10000 times the bet by default.
+     *
+     * @param args the input arguments, already validated.
+     * @param rounds the number of rounds to play.
+     * @param betAmount the amount bet on every round.
+     * @param gameModel the execution model compiled from the game configuration.
+     * @param randomGenerator the random generator the generators of the chunks of rounds are derived from.
+     * @param threads the number of threads.
+     * @return a RareEventResult object containing the estimates of the RTP, hit frequency and tail probabilities.
+     */
+    private static RareEventResult runRareEventSimulation(String[] args, long rounds, double betAmount, GameModel gameModel,
+                                                          RandomGenerator randomGenerator, int threads) {
+        GameSimulator gameSimulator = new GameSimulator(gameModel.getSamplerGrid(), gameModel.getSymbolUtils(),
+                new GameValidator(gameModel), gameModel.getRows(), gameModel.getColumns());
 
-        // Generates a matrix (grid) for the game
-        MatrixGenerator matrixGenerator = new MatrixGenerator(selectorSymbol, symbolUtils);
-        String[][] matrix = matrixGenerator.generateMatrix(gameConfiguration.rows(), gameConfiguration.columns());
+        String tilt = ParameterValidator.getOption(args, ParameterValidator.TILT_OPTION);
+        String tail = ParameterValidator.getOption(args, ParameterValidator.TAIL_OPTION);
+        double[] thresholds = tail == null
+                ? new double[]{100 * betAmount, 1000 * betAmount, 10000 * betAmount}
+                : Arrays.stream(tail.split(",")).mapToDouble(Double::parseDouble).toArray();
+        return gameSimulator.simulateRareEvents(rounds, betAmount, tilt == null ? 0 : Double.parseDouble(tilt),
+                ParameterValidator.hasOption(args, ParameterValidator.STRATIFY_OPTION), thresholds, getConfidence(args),
+                threads, randomGenerator);
+    }
 
-        // Validates the game matrix and calculates winning combinations and bonus
-        GameValidator gameValidator = new GameValidator(gameConfiguration, symbolUtils);
-        return gameValidator.validate(betAmount, matrix);
+    /**
+     * Searches the standard symbol weights meeting the targets given by {@code --target-rtp},
+     * {@code --target-hit-rate} and {@code --target-volatility}, within {@code --tolerance} and the bounds given by
+     * {@code --min-weight} and {@code --max-weight}.
+     *
+     * @param args the input arguments, already validated.
+     * @param betAmount the amount bet on every round.
+     * @param gameModel the execution model compiled from the game configuration, whose weights are the starting point.
+     * @param threads the number of threads.
+     * @return a TuningResult object containing the weights found and their RTP, hit frequency and volatility.
+     */
+    private static TuningResult runTuning(String[] args, double betAmount, GameModel gameModel, int threads) {
+        TuningSpecification specification = new TuningSpecification(
+                getDoubleOption(args, ParameterValidator.TARGET_RTP_OPTION),
+                getDoubleOption(args, ParameterValidator.TARGET_HIT_RATE_OPTION),
+                getDoubleOption(args, ParameterValidator.TARGET_VOLATILITY_OPTION),
+                Optional.ofNullable(getDoubleOption(args, ParameterValidator.TOLERANCE_OPTION)).orElse(ParameterValidator.DEFAULT_TOLERANCE),
+                Optional.ofNullable(ParameterValidator.getOption(args, ParameterValidator.MIN_WEIGHT_OPTION))
+                        .map(Integer::parseInt).orElse(ParameterValidator.DEFAULT_MIN_WEIGHT),
+                Optional.ofNullable(ParameterValidator.getOption(args, ParameterValidator.MAX_WEIGHT_OPTION))
+                        .map(Integer::parseInt).orElse(ParameterValidator.DEFAULT_MAX_WEIGHT));
+        WeightTuner weightTuner = new WeightTuner(gameModel.getGameConfiguration(), gameModel.getSymbolUtils());
+        return weightTuner.tune(betAmount, specification, threads);
+    }
+
+    private static Double getDoubleOption(String[] args, String option) {
+        String value = ParameterValidator.getOption(args, option);
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    /**
+     * Builds the random generator of the algorithm given by {@code --rng}, seeded by {@code --seed} if present.
+     *
+     * @param args the input arguments, already validated.
+     * @return the random generator.
+     */
+    private static RandomGenerator buildRandomGenerator(String[] args) {
+        String algorithm = ParameterValidator.getOption(args, ParameterValidator.RNG_OPTION);
+        if (algorithm == null) {
+            // Replaying a round needs a generator that can be positioned at it, and so does drawing the same
+            // numbers on every round of a sweep
+            boolean positioned = ParameterValidator.getOption(args, ParameterValidator.ROUND_OPTION) != null
+                    || ParameterValidator.getOption(args, ParameterValidator.SWEEP_OPTION) != null;
+            algorithm = positioned ? RandomGenerator.COUNTER_ALGORITHM : RandomGenerator.DEFAULT_ALGORITHM;
+        }
+        String seed = ParameterValidator.getOption(args, ParameterValidator.SEED_OPTION);
+        return seed == null ? new RandomGenerator(algorithm) : new RandomGenerator(algorithm, Long.parseLong(seed));
     }
 
     /**
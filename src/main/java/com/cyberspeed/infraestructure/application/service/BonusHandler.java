@@ -1,15 +1,20 @@
 package com.cyberspeed.infraestructure.application.service;
 
 import com.cyberspeed.config.GameConfiguration;
-import com.cyberspeed.domain.enums.ImpactEnum;
-import com.cyberspeed.domain.model.symbols.bonus.BonusSymbol;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.domain.model.winning.CombinationRegistry;
+import com.cyberspeed.domain.model.winning.PayoutTable;
 
 /**
  * The BonusHandler class encapsulates the logic for applying bonus symbols
  * based on the game configuration.
+ * <p>
+ * The impact of every bonus symbol is read from a {@link PayoutTable} compiled once per configuration.
+ * </p>
  */
 public class BonusHandler {
-    private final GameConfiguration gameConfiguration;
+    private final SymbolRegistry symbolRegistry;
+    private final PayoutTable payoutTable;
 
     /**
      * Constructs a BonusHandler instance with the specified game configuration.
@@ -17,7 +22,19 @@ public class BonusHandler {
      * @param gameConfiguration the game configuration containing symbols and bonuses
      */
     public BonusHandler(GameConfiguration gameConfiguration) {
-        this.gameConfiguration = gameConfiguration;
+        this.symbolRegistry = new SymbolRegistry(gameConfiguration.symbols());
+        this.payoutTable = new PayoutTable(symbolRegistry, new CombinationRegistry(gameConfiguration.winCombinations()));
+    }
+
+    /**
+     * Constructs a BonusHandler instance sharing an already compiled payout table.
+     *
+     * @param symbolRegistry the registry of the symbols
+     * @param payoutTable    the payout table holding the bonus impacts
+     */
+    public BonusHandler(SymbolRegistry symbolRegistry, PayoutTable payoutTable) {
+        this.symbolRegistry = symbolRegistry;
+        this.payoutTable = payoutTable;
     }
 
     /**
@@ -29,16 +46,19 @@ public class BonusHandler {
      */
     public double applyBonus(double totalPrize, String appliedBonusSymbol) {
         if (appliedBonusSymbol != null && !appliedBonusSymbol.isEmpty()) {
-            BonusSymbol appliedBonus = (BonusSymbol) gameConfiguration.symbols().get(appliedBonusSymbol);
-            if (appliedBonus != null) {
-                if (appliedBonus.getImpact().equals(ImpactEnum.EXTRA_BONUS)) {
-                    totalPrize += appliedBonus.getExtra();
-                }
-                if (appliedBonus.getImpact().equals(ImpactEnum.MULTIPLY_REWARD)) {
-                    totalPrize *= appliedBonus.getRewardMultiplier();
-                }
-            }
+            return applyBonus(totalPrize, symbolRegistry.idOf(appliedBonusSymbol));
         }
         return totalPrize;
     }
-}
\ No newline at end of file
+
+    /**
+     * Applies the bonus symbol, identified by its id, to the total prize amount.
+     *
+     * @param totalPrize the current total prize amount
+     * @param appliedBonusSymbol the id of the applied bonus symbol, or -1 if none
+     * @return the updated prize amount after applying the bonus
+     */
+    public double applyBonus(double totalPrize, int appliedBonusSymbol) {
+        return payoutTable.applyBonus(totalPrize, appliedBonusSymbol);
+    }
+}
@@ -0,0 +1,103 @@
+package com.cyberspeed.infraestructure.application.service;
+
+import com.cyberspeed.utils.RandomGenerator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Plays ranges of rounds split into chunks of a fixed number of rounds on a fork/join pool.
+ * <p>
+ * Each chunk draws from a generator derived from the seed and the chunk index, and the statistics of the chunks
+ * are reduced by halving the chunk range, always in the same order. A run with a given seed therefore gives
+ * identical statistics whatever the number of threads.
+ * </p>
+ */
+final class ChunkRunner {
+    private final int chunkRounds;
+
+    /**
+     * Constructs a ChunkRunner splitting the rounds into chunks of the given size.
+     *
+     * @param chunkRounds the number of rounds of each chunk
+     */
+    ChunkRunner(int chunkRounds) {
+        this.chunkRounds = chunkRounds;
+    }
+
+    /**
+     * Plays a range of chunks of rounds on a fork/join pool of the given number of threads.
+     *
+     * @param firstRound      the index of the first round, a multiple of the chunk size
+     * @param rounds          the number of rounds to play
+     * @param workers         the number of worker threads
+     * @param randomGenerator the generator the generators of the chunks are derived from
+     * @param empty           supplies the statistics of no rounds
+     * @param player          plays the rounds of a chunk
+     * @param merger          merges the statistics of two consecutive ranges of chunks
+     * @return the statistics of the rounds
+     */
+    <S> S run(long firstRound, long rounds, int workers, RandomGenerator randomGenerator,
+              Supplier<S> empty, ChunkPlayer<S> player, BinaryOperator<S> merger) {
+        long firstChunk = firstRound / chunkRounds;
+        long lastChunk = firstChunk + (rounds + chunkRounds - 1) / chunkRounds;
+        if (firstChunk == lastChunk) {
+            return empty.get();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, workers));
+        try {
+            return pool.invoke(new ChunkTask<>(firstChunk, lastChunk, firstRound + rounds, randomGenerator, player, merger));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays the rounds of a single chunk with the generator derived for it.
+     */
+    @FunctionalInterface
+    interface ChunkPlayer<S> {
+        S play(long firstRound, long rounds, RandomGenerator randomGenerator);
+    }
+
+    /**
+     * Plays a range of chunks, halving it until a single chunk is left. The statistics of the left half are
+     * merged with the ones of the right half, so the reduction order only depends on the chunk range.
+     */
+    private final class ChunkTask<S> extends RecursiveTask<S> {
+        private final long firstChunk;
+        private final long lastChunk; // Exclusive
+        private final long endRound; // Exclusive, the last chunk may be partial
+        private final RandomGenerator randomGenerator;
+        private final ChunkPlayer<S> player;
+        private final BinaryOperator<S> merger;
+
+        private ChunkTask(long firstChunk, long lastChunk, long endRound, RandomGenerator randomGenerator,
+                          ChunkPlayer<S> player, BinaryOperator<S> merger) {
+            this.firstChunk = firstChunk;
+            this.lastChunk = lastChunk;
+            this.endRound = endRound;
+            this.randomGenerator = randomGenerator;
+            this.player = player;
+            this.merger = merger;
+        }
+
+        @Override
+        protected S compute() {
+            if (lastChunk - firstChunk == 1) {
+                long firstRound = firstChunk * chunkRounds;
+                long rounds = Math.min(chunkRounds, endRound - firstRound);
+                return player.play(firstRound, rounds, randomGenerator.derive(firstChunk));
+            }
+
+            long middle = (firstChunk + lastChunk) >>> 1;
+            ChunkTask<S> left = new ChunkTask<>(firstChunk, middle, endRound, randomGenerator, player, merger);
+            left.fork();
+            S right = new ChunkTask<>(middle, lastChunk, endRound, randomGenerator, player, merger).compute();
+            return merger.apply(left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.cyberspeed.infraestructure.application.service;
+
+import com.cyberspeed.config.GameConfiguration;
+import com.cyberspeed.domain.mapper.SymbolWinningMapper;
+import com.cyberspeed.domain.model.analysis.AnalysisResult;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.domain.model.winning.CombinationRegistry;
+import com.cyberspeed.domain.model.winning.PayoutTable;
+import com.cyberspeed.domain.service.ProbabilityAggregator;
+import com.cyberspeed.domain.validator.area.AreaLines;
+import com.cyberspeed.domain.validator.area.AreaSymbolsValidator;
+import com.cyberspeed.domain.validator.area.AreaValidator;
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+import com.cyberspeed.utils.SymbolUtils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The GameAnalyzer class computes the exact payout distribution of a game configuration, without simulation.
+ * <p>
+ * Cells are drawn independently, except that once a bonus symbol is drawn the following cells, in generation
+ * order, are drawn without bonus symbols. The analysis therefore splits the rounds by the position of the bonus
+ * symbol, if any, and by which bonus symbol it is. Within each of these scenarios the standard symbols are
+ * assigned to the remaining cells by dynamic programming over the set of cells already assigned: each standard
+ * symbol in turn takes a subset of the free cells, whose prize depends only on that subset (its size for the
+ * same_symbols combinations, the lines it covers for the linear_symbols ones). Each state holds the distribution
+ * of the prize accumulated so far, so the result is the full probability mass function of the reward.
+ * </p>
+ * <p>
+ * The work grows as {@code 3^cells}, so the analysis is limited to {@value #MAX_CELLS} cells.
+ * </p>
+ */
+public class GameAnalyzer {
+    public static final int MAX_CELLS = 12;
+
+    private final SymbolRegistry symbolRegistry;
+    private final PayoutTable payoutTable;
+    private final SymbolWinningMapper symbolWinningMapper;
+    private final AreaLines[] areaLines;
+    private final int cells;
+    private final int[] cellOrder; // Row-major index of the cell drawn at each position of the generation order
+    private final double[][] withBonus; // Probability of each symbol id in each row-major cell
+    private final double[][] withoutBonus;
+
+    /**
+     * Constructs a GameAnalyzer for the given configuration.
+     *
+     * @param gameConfiguration     the game configuration containing symbols and winning combinations
+     * @param symbolUtils           utility class for symbol-related operations
+     * @param probabilityAggregator aggregator that manages symbol probabilities
+     * @throws ConfigurationException if the matrix has more than {@value #MAX_CELLS} cells or the probabilities
+     *                                reference an unknown symbol
+     */
+    public GameAnalyzer(GameConfiguration gameConfiguration, SymbolUtils symbolUtils, ProbabilityAggregator probabilityAggregator) {
+        int rows = gameConfiguration.rows();
+        int columns = gameConfiguration.columns();
+        this.cells = rows * columns;
+        if (cells > MAX_CELLS) {
+            throw new ConfigurationException("Exact analysis supports matrices of up to " + MAX_CELLS + " cells");
+        }
+
+        this.symbolRegistry = symbolUtils.getRegistry();
+        CombinationRegistry combinationRegistry = new CombinationRegistry(gameConfiguration.winCombinations());
+        this.payoutTable = new PayoutTable(symbolRegistry, combinationRegistry);
+        this.symbolWinningMapper = new SymbolWinningMapper(combinationRegistry, symbolRegistry);
+        this.areaLines = new AreaSymbolsValidator(combinationRegistry, new AreaValidator(symbolUtils, rows, columns)).getAreaLines();
+
+        this.cellOrder = new int[cells];
+        this.withBonus = new double[cells][];
+        this.withoutBonus = new double[cells][];
+        int position = 0;
+        for (int column = 0; column < columns; column++) {
+            for (int row = 0; row < rows; row++) {
+                int cell = row * columns + column;
+                cellOrder[position++] = cell;
+                withBonus[cell] = toProbabilities(probabilityAggregator.getProbabilities(row, column, true));
+                withoutBonus[cell] = toProbabilities(probabilityAggregator.getProbabilities(row, column, false));
+            }
+        }
+    }
+
+    private double[] toProbabilities(Map<String, Integer> weights) {
+        double[] probabilities = new double[symbolRegistry.size()];
+        long total = 0;
+        for (int weight : weights.values()) {
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new ConfigurationException("Probabilities must have a positive total weight");
+        }
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            int id = symbolRegistry.idOf(entry.getKey());
+            if (id < 0) {
+                throw new ConfigurationException("Probabilities reference an unknown symbol: " + entry.getKey());
+            }
+            probabilities[id] += (double) entry.getValue() / total;
+        }
+        return probabilities;
+    }
+
+    /**
+     * Computes the exact payout distribution for a bet.
+     *
+     * @param betAmount the amount bet on the round
+     * @return the analysis result
+     */
+    public AnalysisResult analyze(double betAmount) {
+        int standardCount = symbolRegistry.standardCount();
+        int subsets = 1 << cells;
+
+        // Prize of each standard symbol for every set of cells it may fill
+        double[][] prizes = new double[standardCount][subsets];
+        boolean[][] wins = new boolean[standardCount][subsets];
+        for (int symbolId = 0; symbolId < standardCount; symbolId++) {
+            for (int cellSet = 0; cellSet < subsets; cellSet++) {
+                wins[symbolId][cellSet] = computePrize(betAmount, symbolId, cellSet, prizes[symbolId]);
+            }
+        }
+
+        Map<Double, Double> distribution = new HashMap<>();
+        double hitFrequency = 0;
+
+        // No bonus symbol: every cell draws a standard symbol from the probabilities with bonus symbols
+        Distribution noBonus = distributeStandardSymbols(-1, prizes, wins);
+        hitFrequency += noBonus.addTo(distribution, 1, -1, payoutTable);
+
+        // Bonus symbol at each position: the previous cells draw with bonus symbols, the following ones without
+        for (int position = 0; position < cells; position++) {
+            Distribution standard = distributeStandardSymbols(position, prizes, wins);
+            double[] probabilities = withBonus[cellOrder[position]];
+            for (int bonusId = standardCount; bonusId < symbolRegistry.size(); bonusId++) {
+                if (probabilities[bonusId] > 0) {
+                    int appliedBonus = symbolRegistry.isAppliedBonus(bonusId) ? bonusId : -1;
+                    hitFrequency += standard.addTo(distribution, probabilities[bonusId], appliedBonus, payoutTable);
+                }
+            }
+        }
+
+        return toResult(betAmount, hitFrequency, distribution);
+    }
+
+    /**
+     * Computes the prize of a standard symbol filling exactly a set of cells, applying its combinations in id
+     * order as the reward calculation does.
+     *
+     * @return true if at least one winning combination applies
+     */
+    private boolean computePrize(double betAmount, int symbolId, int cellSet, double[] prizes) {
+        boolean won = false;
+        double prize = 0;
+        for (int combinationId : symbolWinningMapper.getCombinations(Integer.bitCount(cellSet))) {
+            prize = payoutTable.applyCombination(betAmount, prize, symbolId, combinationId);
+            won = true;
+        }
+        for (AreaLines lines : areaLines) {
+            for (int line = 0; line < lines.size(); line++) {
+                long mask = lines.getMask(line, 0);
+                if ((cellSet & mask) == mask) {
+                    prize = payoutTable.applyCombination(betAmount, prize, symbolId, lines.getCombination());
+                    won = true;
+                    break;
+                }
+            }
+        }
+        prizes[cellSet] = prize;
+        return won;
+    }
+
+    /**
+     * Distributes the standard symbols over the cells not holding the bonus symbol.
+     *
+     * @param bonusPosition the position in generation order of the bonus symbol, or -1 if none
+     * @return the distribution of the total prize, weighted by the probability of the standard symbols
+     */
+    private Distribution distributeStandardSymbols(int bonusPosition, double[][] prizes, boolean[][] wins) {
+        int full = (1 << cells) - 1;
+        int start = bonusPosition < 0 ? 0 : 1 << cellOrder[bonusPosition];
+        int standardCount = symbolRegistry.standardCount();
+
+        // Probability of each standard symbol in each cell for this scenario
+        double[][] probabilities = new double[cells][];
+        for (int position = 0; position < cells; position++) {
+            int cell = cellOrder[position];
+            probabilities[cell] = bonusPosition < 0 || position < bonusPosition ? withBonus[cell] : withoutBonus[cell];
+        }
+
+        Distribution[] states = new Distribution[full + 1];
+        states[start] = new Distribution(1);
+        double[] weights = new double[full + 1];
+        for (int symbolId = 0; symbolId < standardCount; symbolId++) {
+            // Probability of the symbol filling every cell of each set
+            weights[0] = 1;
+            for (int cellSet = 1; cellSet <= full; cellSet++) {
+                weights[cellSet] = weights[cellSet & (cellSet - 1)] * probabilities[Integer.numberOfTrailingZeros(cellSet)][symbolId];
+            }
+
+            boolean last = symbolId == standardCount - 1;
+            Distribution[] next = new Distribution[full + 1];
+            for (int assigned = 0; assigned <= full; assigned++) {
+                if (states[assigned] == null) {
+                    continue;
+                }
+                int free = full & ~assigned;
+                // The last symbol must fill every remaining cell
+                for (int cellSet = free; ; cellSet = (cellSet - 1) & free) {
+                    if (weights[cellSet] > 0) {
+                        int target = assigned | cellSet;
+                        if (next[target] == null) {
+                            next[target] = new Distribution(0);
+                        }
+                        next[target].add(states[assigned], weights[cellSet], wins[symbolId][cellSet], prizes[symbolId][cellSet]);
+                    }
+                    if (cellSet == 0 || last) {
+                        break;
+                    }
+                }
+            }
+            states = next;
+        }
+        return states[full] != null ? states[full] : new Distribution(0);
+    }
+
+    private AnalysisResult toResult(double betAmount, double hitFrequency, Map<Double, Double> distribution) {
+        double mean = 0;
+        double squares = 0;
+        double maxReward = 0;
+        for (Map.Entry<Double, Double> entry : distribution.entrySet()) {
+            mean += entry.getKey() * entry.getValue();
+            squares += entry.getKey() * entry.getKey() * entry.getValue();
+            maxReward = Math.max(maxReward, entry.getKey());
+        }
+        double variance = Math.max(0, squares - mean * mean);
+        return new AnalysisResult(betAmount, mean / betAmount, hitFrequency, maxReward, variance, Math.sqrt(variance),
+                new LinkedHashMap<>(new TreeMap<>(distribution)));
+    }
+
+    /**
+     * Distribution of the prize of the symbols assigned so far: the probability that none of them won, and the
+     * probability of each total prize otherwise.
+     */
+    private static final class Distribution {
+        private double lost;
+        private final Map<Double, Double> won = new HashMap<>();
+
+        private Distribution(double lost) {
+            this.lost = lost;
+        }
+
+        /**
+         * Adds another distribution extended with one more symbol.
+         *
+         * @param previous the distribution before the symbol
+         * @param weight   the probability of the symbol filling its cells
+         * @param symbolWon whether the symbol has a winning combination in its cells
+         * @param prize    the prize of the symbol in its cells
+         */
+        private void add(Distribution previous, double weight, boolean symbolWon, double prize) {
+            if (symbolWon) {
+                if (previous.lost > 0) {
+                    won.merge(prize, previous.lost * weight, Double::sum);
+                }
+                for (Map.Entry<Double, Double> entry : previous.won.entrySet()) {
+                    won.merge(entry.getKey() + prize, entry.getValue() * weight, Double::sum);
+                }
+            } else {
+                lost += previous.lost * weight;
+                for (Map.Entry<Double, Double> entry : previous.won.entrySet()) {
+                    won.merge(entry.getKey(), entry.getValue() * weight, Double::sum);
+                }
+            }
+        }
+
+        /**
+         * Adds the rewards of this distribution, once the bonus symbol is applied, to a reward distribution.
+         *
+         * @return the probability of a winning round added
+         */
+        private double addTo(Map<Double, Double> distribution, double probability, int appliedBonus, PayoutTable payoutTable) {
+            double winning = 0;
+            if (lost > 0) {
+                distribution.merge(0.0, lost * probability, Double::sum);
+            }
+            for (Map.Entry<Double, Double> entry : won.entrySet()) {
+                double reward = payoutTable.applyBonus(entry.getKey(), appliedBonus);
+                distribution.merge(reward, entry.getValue() * probability, Double::sum);
+                winning += entry.getValue() * probability;
+            }
+            return winning;
+        }
+    }
+}
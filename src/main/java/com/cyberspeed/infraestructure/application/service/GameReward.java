@@ -1,11 +1,10 @@
 package com.cyberspeed.infraestructure.application.service;
 
 import com.cyberspeed.config.GameConfiguration;
-import com.cyberspeed.domain.enums.SymbolTypeEnum;
-import com.cyberspeed.domain.enums.WhenEnum;
-import com.cyberspeed.domain.model.symbols.SlotSymbol;
-import com.cyberspeed.domain.model.symbols.standard.StandardSymbol;
-import com.cyberspeed.domain.model.winning.WinningCombination;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.domain.model.winning.CombinationRegistry;
+import com.cyberspeed.domain.model.winning.PayoutTable;
+import com.cyberspeed.domain.validator.EvaluationContext;
 import com.cyberspeed.utils.SymbolUtils;
 
 import java.util.List;
@@ -18,12 +17,14 @@ import java.util.Map;
  * This class calculates the total prize based on the bet amount, the winning combinations
  * applied to the symbols, and any bonus symbols present. It ensures that the correct reward
  * multipliers are used for standard symbols and handles the application of bonus symbols.
+ * The multipliers are read from a {@link PayoutTable} compiled when the instance is created.
  * </p>
  */
 public class GameReward {
 
-    private final GameConfiguration gameConfiguration;
-    private final SymbolUtils symbolUtils;
+    private final SymbolRegistry symbolRegistry;
+    private final CombinationRegistry combinationRegistry;
+    private final PayoutTable payoutTable;
     private final BonusHandler bonusHandler;
 
     /**
@@ -34,9 +35,55 @@ public class GameReward {
      * @param symbolUtils      utility class for symbol-related operations
      */
     public GameReward(GameConfiguration gameConfiguration, SymbolUtils symbolUtils) {
-        this.gameConfiguration = gameConfiguration;
-        this.symbolUtils = symbolUtils;
-        this.bonusHandler = new BonusHandler(gameConfiguration); // Initialize BonusHandler
+        this(gameConfiguration, symbolUtils, new CombinationRegistry(gameConfiguration.winCombinations()));
+    }
+
+    /**
+     * Constructs a GameReward instance sharing already interned winning combinations.
+     *
+     * @param gameConfiguration   the game configuration containing symbols and winning combinations
+     * @param symbolUtils         utility class for symbol-related operations
+     * @param combinationRegistry the registry of the winning combinations
+     */
+    public GameReward(GameConfiguration gameConfiguration, SymbolUtils symbolUtils, CombinationRegistry combinationRegistry) {
+        this.symbolRegistry = symbolUtils.getRegistry();
+        this.combinationRegistry = combinationRegistry;
+        this.payoutTable = new PayoutTable(symbolRegistry, combinationRegistry); // Compiled once per configuration
+        this.bonusHandler = new BonusHandler(symbolRegistry, payoutTable); // Initialize BonusHandler
+    }
+
+    /**
+     * Calculates the total prize of the winning combinations recorded in an evaluation context, without allocating.
+     * Combinations of a symbol are applied in id order: same_symbols combinations add to the symbol prize and
+     * linear_symbols combinations multiply it, as in {@link #calculatePrize(double, Map, String)}.
+     *
+     * @param betAmount          the amount the user has bet
+     * @param context            the context holding the winning combinations of each symbol
+     * @param appliedBonusSymbol the id of the applied bonus symbol, or -1 if none
+     * @return the calculated total prize amount after applying bonuses
+     */
+    public double calculatePrize(double betAmount, EvaluationContext context, int appliedBonusSymbol) {
+        if (!context.isWinning()) {
+            return 0;
+        }
+
+        double totalPrize = 0;
+        for (int i = 0; i < context.getWinningSymbolCount(); i++) {
+            int symbolId = context.getWinningSymbol(i);
+            double symbolPrize = 0;
+
+            for (int word = 0; word < context.getCombinationWords(); word++) {
+                long combinations = context.getCombinations(symbolId, word);
+                while (combinations != 0) {
+                    int combinationId = word * Long.SIZE + Long.numberOfTrailingZeros(combinations);
+                    combinations &= combinations - 1;
+                    symbolPrize = payoutTable.applyCombination(betAmount, symbolPrize, symbolId, combinationId);
+                }
+            }
+            totalPrize += symbolPrize;
+        }
+
+        return bonusHandler.applyBonus(totalPrize, appliedBonusSymbol);
     }
 
     /**
@@ -78,102 +125,42 @@ public class GameReward {
      * @return the calculated prize for the symbol
      */
     private double calculateSymbolPrize(double betAmount, String symbol, List<String> combinations) {
+        int symbolId = symbolRegistry.idOf(symbol);
+        validateSymbol(symbolId);
         double symbolPrize = 0;
 
         for (String combination : combinations) {
-            SlotSymbol slotSymbol = gameConfiguration.symbols().get(symbol);
-            validateSymbol(slotSymbol);
-
-            if (isSameSymbolsWinCombination(combination)) {
-                symbolPrize += calculateSameSymbolsPrize(betAmount, slotSymbol, symbol, combination);
-            } else {
-                symbolPrize *= getRewardMultiplier(combination);
-            }
+            symbolPrize = payoutTable.applyCombination(betAmount, symbolPrize, symbolId, getCombinationId(combination));
         }
 
         return symbolPrize;
     }
 
     /**
-     * Validates whether the given symbol is a standard symbol.
-     * Throws an exception if the symbol is not of type STANDARD.
+     * Validates whether the given symbol is a standard symbol. Only combinations given by name are checked: the
+     * ones recorded by the engine always belong to standard symbols.
      *
-     * @param slotSymbol the slot symbol to validate
+     * @param symbolId the id of the symbol to validate, or -1 if unknown
+     * @throws IllegalArgumentException if the symbol is not of type STANDARD
      */
-    private void validateSymbol(SlotSymbol slotSymbol) {
-        if (slotSymbol.getType() != SymbolTypeEnum.STANDARD) {
-            throw new RuntimeException("StandardSymbol not found in symbols");
+    private void validateSymbol(int symbolId) {
+        if (symbolId < 0 || !symbolRegistry.isStandard(symbolId)) {
+            throw new IllegalArgumentException("StandardSymbol not found in symbols");
         }
     }
 
     /**
-     * Checks if a given winning combination is a 'same symbols' combination.
-     *
-     * @param combination the winning combination to check
-     * @return true if it is a 'same symbols' combination, false otherwise
-     */
-    private boolean isSameSymbolsWinCombination(String combination) {
-        return gameConfiguration.winCombinations().get(combination).getWhen() == WhenEnum.SAME_SYMBOLS;
-    }
-
-    /**
-     * Calculates the prize for a 'same symbols' combination.
-     * It multiplies the bet amount by the symbol's reward multiplier and the combination value.
-     *
-     * @param betAmount   the amount the user has bet
-     * @param slotSymbol  the slot symbol for which the prize is being calculated
-     * @param symbol      the symbol key
-     * @param combination the combination applied to the symbol
-     * @return the calculated prize for the 'same symbols' combination
-     */
-    private double calculateSameSymbolsPrize(double betAmount, SlotSymbol slotSymbol, String symbol, String combination) {
-        StandardSymbol standardSymbol = (StandardSymbol) slotSymbol;
-        double baseMultiplier = betAmount * standardSymbol.getRewardMultiplier();
-        double combinationValue = getCombinationValue(combination);
-        return baseMultiplier * combinationValue;
-    }
-
-    /**
-     * Retrieves the reward multiplier for a specific combination.
+     * Retrieves the id of a given winning combination.
      *
      * @param combination the combination key
-     * @return the reward multiplier for the combination
+     * @return the id of the combination
+     * @throws IllegalArgumentException if the combination is not found in the configuration
      */
-    private double getRewardMultiplier(String combination) {
-        return gameConfiguration.winCombinations().get(combination).getRewardMultiplier();
-    }
-
-    /**
-     * Retrieves the combination value (reward multiplier) for a given winning combination.
-     *
-     * @param combination the combination key
-     * @return the reward multiplier for the combination
-     * @throws RuntimeException if the combination is not found in the configuration
-     */
-    private double getCombinationValue(String combination) {
-        if (!gameConfiguration.winCombinations().containsKey(combination)) {
-            throw new RuntimeException("WinCombination doesn't exist in WinCombinations");
-        }
-        WinningCombination winning = gameConfiguration.winCombinations().get(combination);
-        return winning.getRewardMultiplier(); // Return the multiplier for the combination
-    }
-
-    /**
-     * Finds the applied bonus symbol from the provided matrix.
-     * It scans the matrix for any bonus symbol that is not a 'miss' symbol.
-     *
-     * @param matrix a 2D array representing the game matrix
-     * @return the applied bonus symbol, or null if no bonus symbol is found
-     */
-    public String findAppliedBonusSymbol(String[][] matrix) {
-        for (int row = 0; row < matrix.length; row++) {
-            for (int column = 0; column < matrix[0].length; column++) {
-                String symbol = matrix[row][column];
-                if (symbolUtils.isBonusSymbol(symbol) && !symbolUtils.isBonusMissSymbol(symbol)) {
-                    return symbol;
-                }
-            }
+    private int getCombinationId(String combination) {
+        int combinationId = combinationRegistry.idOf(combination);
+        if (combinationId < 0) {
+            throw new IllegalArgumentException("WinCombination doesn't exist in WinCombinations");
         }
-        return null; // Returns null if no bonus symbol is found
+        return combinationId;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,420 @@
+package com.cyberspeed.infraestructure.application.service;
+
+import com.cyberspeed.domain.enums.ImpactEnum;
+import com.cyberspeed.domain.model.game.SymbolMatrix;
+import com.cyberspeed.domain.model.simulation.ConfidenceInterval;
+import com.cyberspeed.domain.model.simulation.RareEventResult;
+import com.cyberspeed.domain.model.simulation.RareEventStatistics;
+import com.cyberspeed.domain.model.simulation.SimulationResult;
+import com.cyberspeed.domain.model.simulation.SimulationStatistics;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.domain.service.SelectorSymbol;
+import com.cyberspeed.domain.service.sampler.BonusStrata;
+import com.cyberspeed.domain.service.sampler.SamplerGrid;
+import com.cyberspeed.domain.validator.EvaluationContext;
+import com.cyberspeed.utils.RandomGenerator;
+import com.cyberspeed.utils.SymbolUtils;
+
+/**
+ * The GameSimulator class plays a large number of rounds to measure the math of a game configuration.
+ * <p>
+ * The rounds are split into chunks of a fixed number of rounds, played on a fork/join pool by a
+ * {@link ChunkRunner}. Each chunk draws from a generator derived from the seed and the chunk index, and the
+ * statistics of the chunks are reduced by halving the chunk range, always in the same order. A run with a given
+ * seed therefore gives identical statistics whatever the number of threads. The compiled samplers, validators
+ * and payout tables are shared; each chunk owns its random generator, matrix, evaluation context and statistics,
+ * so a round neither allocates nor synchronizes.
+ * </p>
+ */
+public class GameSimulator {
+    public static final int DEFAULT_CHUNK_ROUNDS = 1 << 18;
+    private static final int PILOT_FRACTION = 10; // One round in ten of a stratified simulation is a pilot
+    private static final int FIRST_BATCH_CHUNKS = 4; // Not tied to the threads, so where a run stops is not either
+
+    private final SamplerGrid samplerGrid;
+    private final SymbolUtils symbolUtils;
+    private final GameValidator gameValidator;
+    private final int rows;
+    private final int columns;
+    private final int chunkRounds;
+    private final ChunkRunner chunkRunner;
+
+    /**
+     * Constructs a GameSimulator for the given compiled configuration.
+     *
+     * @param samplerGrid   the compiled samplers of every cell
+     * @param symbolUtils   utility class for symbol-related operations
+     * @param gameValidator the validator evaluating each round
+     * @param rows          the number of rows of the matrix
+     * @param columns       the number of columns of the matrix
+     */
+    public GameSimulator(SamplerGrid samplerGrid, SymbolUtils symbolUtils, GameValidator gameValidator, int rows, int columns) {
+        this(samplerGrid, symbolUtils, gameValidator, rows, columns, DEFAULT_CHUNK_ROUNDS);
+    }
+
+    /**
+     * Constructs a GameSimulator splitting the rounds into chunks of the given size. Runs are only reproducible
+     * with the same chunk size.
+     *
+     * @param samplerGrid   the compiled samplers of every cell
+     * @param symbolUtils   utility class for symbol-related operations
+     * @param gameValidator the validator evaluating each round
+     * @param rows          the number of rows of the matrix
+     * @param columns       the number of columns of the matrix
+     * @param chunkRounds   the number of rounds of each chunk
+     */
+    public GameSimulator(SamplerGrid samplerGrid, SymbolUtils symbolUtils, GameValidator gameValidator, int rows, int columns,
+                         int chunkRounds) {
+        this.samplerGrid = samplerGrid;
+        this.symbolUtils = symbolUtils;
+        this.gameValidator = gameValidator;
+        this.rows = rows;
+        this.columns = columns;
+        this.chunkRounds = chunkRounds;
+        this.chunkRunner = new ChunkRunner(chunkRounds);
+    }
+
+    /**
+     * Plays the given number of rounds on all available processors.
+     *
+     * @param rounds    the number of rounds to play
+     * @param betAmount the amount bet on every round
+     * @return the result of the simulation
+     */
+    public SimulationResult simulate(long rounds, double betAmount) {
+        return simulate(rounds, betAmount, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Plays the given number of rounds on a fixed number of threads.
+     *
+     * @param rounds    the number of rounds to play
+     * @param betAmount the amount bet on every round
+     * @param workers   the number of worker threads
+     * @return the result of the simulation
+     */
+    public SimulationResult simulate(long rounds, double betAmount, int workers) {
+        return simulate(rounds, betAmount, workers, new RandomGenerator());
+    }
+
+    /**
+     * Plays the given number of rounds on a fixed number of threads, each chunk drawing from its own generator
+     * derived from the given one. With a seeded generator the statistics are the same whatever the number of
+     * threads.
+     *
+     * @param rounds          the number of rounds to play
+     * @param betAmount       the amount bet on every round
+     * @param workers         the number of worker threads
+     * @param randomGenerator the generator the generators of the chunks are derived from
+     * @return the result of the simulation
+     */
+    public SimulationResult simulate(long rounds, double betAmount, int workers, RandomGenerator randomGenerator) {
+        return simulateStatistics(0, rounds, betAmount, workers, randomGenerator)
+                .toResult(betAmount, gameValidator.getSymbolRegistry(), gameValidator.getCombinationRegistry());
+    }
+
+    /**
+     * Plays batches of rounds until the confidence interval of the return to player, and optionally the one of
+     * the hit frequency, is narrower than a target, or a maximum number of rounds is reached. Each batch aims at
+     * the number of rounds the intervals so far call for, at most doubling the rounds played. The batches only
+     * depend on the statistics, so a seeded run stops after the same rounds whatever the number of threads.
+     *
+     * @param rtpHalfWidth          the target half-width of the interval of the return to player
+     * @param hitFrequencyHalfWidth the target half-width of the interval of the hit frequency, or 0 for none
+     * @param confidence            the confidence level of the intervals
+     * @param maxRounds             the maximum number of rounds to play
+     * @param betAmount             the amount bet on every round
+     * @param workers               the number of worker threads
+     * @param randomGenerator       the generator the generators of the chunks are derived from
+     * @return the result of the simulation, with the rounds played and the intervals reached
+     */
+    public SimulationResult simulateUntil(double rtpHalfWidth, double hitFrequencyHalfWidth, double confidence, long maxRounds,
+                                          double betAmount, int workers, RandomGenerator randomGenerator) {
+        double zScore = ConfidenceInterval.zScore(confidence);
+        SimulationStatistics statistics = newStatistics();
+        long batch = (long) chunkRounds * FIRST_BATCH_CHUNKS;
+
+        while (statistics.getRounds() < maxRounds) {
+            long played = statistics.getRounds();
+            statistics.merge(simulateStatistics(played, Math.min(batch, maxRounds - played), betAmount, workers, randomGenerator));
+
+            long required = requiredRounds(statistics.getRtpInterval(betAmount, zScore), rtpHalfWidth, statistics.getRounds());
+            if (hitFrequencyHalfWidth > 0) {
+                required = Math.max(required, requiredRounds(statistics.getHitFrequencyInterval(zScore), hitFrequencyHalfWidth,
+                        statistics.getRounds()));
+            }
+            if (required <= statistics.getRounds()) {
+                break;
+            }
+            // Batches stay whole chunks so the next one starts on a chunk boundary
+            long missing = Math.min(required - statistics.getRounds(), statistics.getRounds());
+            batch = Math.max(1, (missing + chunkRounds - 1) / chunkRounds) * chunkRounds;
+        }
+
+        return statistics.toResult(betAmount, confidence, gameValidator.getSymbolRegistry(), gameValidator.getCombinationRegistry());
+    }
+
+    /**
+     * Estimates the number of rounds giving an interval of the target half-width, as the half-width shrinks
+     * with the square root of the rounds.
+     */
+    private static long requiredRounds(ConfidenceInterval interval, double targetHalfWidth, long rounds) {
+        double ratio = interval.halfWidth() / targetHalfWidth;
+        double required = Math.ceil(rounds * ratio * ratio);
+        return required >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) required;
+    }
+
+    /**
+     * Plays a range of rounds on a fixed number of threads and returns their raw statistics, which can be merged
+     * with the statistics of the following ranges.
+     *
+     * @param firstRound      the index of the first round to play, a multiple of the chunk size
+     * @param rounds          the number of rounds to play
+     * @param betAmount       the amount bet on every round
+     * @param workers         the number of worker threads
+     * @param randomGenerator the generator the generators of the chunks are derived from
+     * @return the statistics of the rounds
+     */
+    public SimulationStatistics simulateStatistics(long firstRound, long rounds, double betAmount, int workers,
+                                                   RandomGenerator randomGenerator) {
+        if (firstRound % chunkRounds != 0) {
+            throw new IllegalArgumentException("The first round must start a chunk");
+        }
+        return chunkRunner.run(firstRound, rounds, workers, randomGenerator, this::newStatistics,
+                (first, count, generator) -> play(first, count, betAmount, generator),
+                (left, right) -> {
+                    left.merge(right);
+                    return left;
+                });
+    }
+
+    /**
+     * Plays the given number of rounds drawn with importance sampling, stratified sampling or both, to estimate
+     * the probability of rare outcomes and the return to player with fewer rounds than plain sampling needs.
+     * <p>
+     * With a positive tilt, every symbol is drawn with its configured weight times its payout multiplier raised
+     * to the tilt, the multiplier of a standard symbol being its reward multiplier and the one of a bonus symbol
+     * its reward factor, and every round is weighted by its likelihood ratio. With stratification, the bonus symbol
+     * of a round is placed instead of drawn, following the strata of {@link BonusStrata}: a tenth of the rounds is
+     * split between the strata in proportion to their probability, and the others in proportion to their
+     * probability times the standard deviation of their reward measured on that first tenth.
+     * </p>
+     *
+     * @param rounds          the number of rounds to play, more when stratified if the pilot or the other rounds
+     *                        cannot give two to every stratum, the result reporting the rounds played
+     * @param betAmount       the amount bet on every round
+     * @param tilt            the exponent of the payout multipliers the symbol weights are tilted by, 0 for none
+     * @param stratified      whether the rounds are stratified by bonus symbol
+     * @param thresholds      the reward thresholds of the tail probabilities to estimate
+     * @param confidence      the confidence level of the intervals
+     * @param workers         the number of worker threads
+     * @param randomGenerator the generator the generators of the chunks are derived from
+     * @return the result of the simulation
+     */
+    public RareEventResult simulateRareEvents(long rounds, double betAmount, double tilt, boolean stratified,
+                                              double[] thresholds, double confidence, int workers,
+                                              RandomGenerator randomGenerator) {
+        SamplerGrid grid = tilt == 0 ? samplerGrid : samplerGrid.tilt(tiltFactors(tilt));
+        BonusStrata strata = stratified ? new BonusStrata(samplerGrid, gameValidator.getSymbolRegistry(), rows, columns) : null;
+
+        if (strata == null) {
+            RareEventStatistics statistics = playRareEvents(0, new long[]{rounds}, betAmount, grid, null, thresholds,
+                    workers, randomGenerator);
+            return statistics.toResult(betAmount, tilt, confidence, null, new double[]{1});
+        }
+
+        String[] stratumNames = new String[strata.size()];
+        double[] stratumProbabilities = new double[strata.size()];
+        for (int i = 0; i < strata.size(); i++) {
+            stratumNames[i] = strata.getName(i);
+            stratumProbabilities[i] = strata.getProbability(i);
+        }
+
+        // A pilot in proportion to the probabilities measures the deviation of each stratum
+        long[] pilotEnds = allocate(0, rounds / PILOT_FRACTION, stratumProbabilities);
+        RareEventStatistics statistics = playRareEvents(0, pilotEnds, betAmount, grid, strata, thresholds, workers, randomGenerator);
+
+        // The other rounds follow Neyman's allocation, in proportion to probability times deviation
+        long pilotRounds = pilotEnds[pilotEnds.length - 1];
+        double[] allocation = new double[strata.size()];
+        double total = 0;
+        for (int i = 0; i < strata.size(); i++) {
+            allocation[i] = stratumProbabilities[i] * statistics.getRewardStandardDeviation(i);
+            total += allocation[i];
+        }
+        if (total == 0) {
+            allocation = stratumProbabilities;
+        }
+        long firstRound = (pilotRounds + chunkRounds - 1) / chunkRounds * chunkRounds;
+        if (rounds > pilotRounds) {
+            long[] ends = allocate(firstRound, rounds - pilotRounds, allocation);
+            statistics.merge(playRareEvents(firstRound, ends, betAmount, grid, strata, thresholds, workers, randomGenerator));
+        }
+        return statistics.toResult(betAmount, tilt, confidence, stratumNames, stratumProbabilities);
+    }
+
+    /**
+     * Plays weighted rounds on a fork/join pool, the rounds of each stratum following the ones of the previous
+     * stratum.
+     *
+     * @param firstRound      the index of the first round to play, a multiple of the chunk size
+     * @param stratumEnds     the exclusive index of the last round of each stratum
+     * @param betAmount       the amount bet on every round
+     * @param grid            the samplers drawing the symbols, possibly tilted
+     * @param strata          the bonus strata, or null without stratification
+     * @param thresholds      the reward thresholds of the tail probabilities
+     * @param workers         the number of worker threads
+     * @param randomGenerator the generator the generators of the chunks are derived from
+     * @return the statistics of the rounds
+     */
+    private RareEventStatistics playRareEvents(long firstRound, long[] stratumEnds, double betAmount, SamplerGrid grid,
+                                               BonusStrata strata, double[] thresholds, int workers,
+                                               RandomGenerator randomGenerator) {
+        return chunkRunner.run(firstRound, stratumEnds[stratumEnds.length - 1] - firstRound, workers, randomGenerator,
+                () -> new RareEventStatistics(stratumEnds.length, thresholds),
+                (first, count, generator) -> playWeighted(first, count, betAmount, generator, grid, strata, stratumEnds, thresholds),
+                (left, right) -> {
+                    left.merge(right);
+                    return left;
+                });
+    }
+
+    /**
+     * Computes the factor of each symbol of the grid for a tilt, its payout multiplier raised to the tilt.
+     */
+    private double[] tiltFactors(double tilt) {
+        SymbolRegistry symbolRegistry = gameValidator.getSymbolRegistry();
+        String[] symbols = samplerGrid.getSymbols();
+        double[] factors = new double[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            int id = symbolRegistry.idOf(symbols[i]);
+            boolean multiplies = id >= 0 && (symbolRegistry.isStandard(id) || symbolRegistry.getImpact(id) == ImpactEnum.MULTIPLY_REWARD);
+            double multiplier = multiplies ? symbolRegistry.getRewardMultiplier(id) : 1;
+            factors[i] = multiplier > 0 ? Math.pow(multiplier, tilt) : 1;
+        }
+        return factors;
+    }
+
+    /**
+     * Splits rounds between strata in proportion to the given weights, at least two per stratum so the variance
+     * of each can be estimated. The rounds left over by rounding down go to the stratum of the largest weight, and
+     * the rounds given to rare strata to reach their two are taken from the strata with the most rounds, so the
+     * strata share exactly the given rounds unless there are fewer than two per stratum.
+     *
+     * @param firstRound the index of the first round
+     * @param rounds     the number of rounds to split
+     * @param weights    the weight of each stratum
+     * @return the exclusive index of the last round of each stratum
+     */
+    private static long[] allocate(long firstRound, long rounds, double[] weights) {
+        double total = 0;
+        int largest = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            if (weights[i] > weights[largest]) {
+                largest = i;
+            }
+        }
+
+        long[] allocated = new long[weights.length];
+        long allocatedRounds = 0;
+        for (int i = 0; i < weights.length; i++) {
+            allocated[i] = Math.max(2, (long) Math.floor(rounds * weights[i] / total));
+            allocatedRounds += allocated[i];
+        }
+        allocated[largest] += Math.max(0, rounds - allocatedRounds);
+        for (long excess = allocatedRounds - rounds; excess > 0; ) {
+            int most = 0;
+            for (int i = 1; i < allocated.length; i++) {
+                if (allocated[i] > allocated[most]) {
+                    most = i;
+                }
+            }
+            long taken = Math.min(excess, allocated[most] - 2);
+            if (taken <= 0) {
+                break;
+            }
+            allocated[most] -= taken;
+            excess -= taken;
+        }
+
+        long[] ends = new long[allocated.length];
+        long end = firstRound;
+        for (int i = 0; i < allocated.length; i++) {
+            end += allocated[i];
+            ends[i] = end;
+        }
+        return ends;
+    }
+
+    /**
+     * Plays rounds on the calling thread with its own generator, matrix and context. A counter-based generator
+     * is positioned at the index of each round.
+     *
+     * @param firstRound      the index of the first round to play
+     * @param rounds          the number of rounds to play
+     * @param betAmount       the amount bet on every round
+     * @param randomGenerator the generator confined to the calling thread
+     * @return the statistics of the rounds
+     */
+    private SimulationStatistics play(long firstRound, long rounds, double betAmount, RandomGenerator randomGenerator) {
+        MatrixGenerator matrixGenerator = new MatrixGenerator(new SelectorSymbol(samplerGrid, randomGenerator), symbolUtils);
+        SymbolMatrix matrix = new SymbolMatrix(rows, columns, gameValidator.getSymbolRegistry().size());
+        EvaluationContext context = gameValidator.newContext();
+        SimulationStatistics statistics = newStatistics();
+
+        boolean counterBased = randomGenerator.isCounterBased();
+        for (long round = firstRound; round < firstRound + rounds; round++) {
+            if (counterBased) {
+                matrixGenerator.generate(matrix, round);
+            } else {
+                matrixGenerator.generate(matrix);
+            }
+            gameValidator.evaluate(betAmount, matrix, context);
+            statistics.record(context);
+        }
+        return statistics;
+    }
+
+    /**
+     * Plays weighted rounds on the calling thread with its own generator, matrix and context.
+     *
+     * @param firstRound      the index of the first round to play
+     * @param rounds          the number of rounds to play
+     * @param betAmount       the amount bet on every round
+     * @param randomGenerator the generator confined to the calling thread
+     * @param grid            the samplers drawing the symbols, possibly tilted
+     * @param strata          the bonus strata, or null without stratification
+     * @param stratumEnds     the exclusive index of the last round of each stratum
+     * @param thresholds      the reward thresholds of the tail probabilities
+     * @return the statistics of the rounds
+     */
+    private RareEventStatistics playWeighted(long firstRound, long rounds, double betAmount, RandomGenerator randomGenerator,
+                                             SamplerGrid grid, BonusStrata strata, long[] stratumEnds, double[] thresholds) {
+        MatrixGenerator matrixGenerator = new MatrixGenerator(new SelectorSymbol(grid, randomGenerator), symbolUtils);
+        SymbolMatrix matrix = new SymbolMatrix(rows, columns, gameValidator.getSymbolRegistry().size());
+        EvaluationContext context = gameValidator.newContext();
+        RareEventStatistics statistics = new RareEventStatistics(stratumEnds.length, thresholds);
+
+        boolean counterBased = randomGenerator.isCounterBased();
+        int stratum = 0;
+        for (long round = firstRound; round < firstRound + rounds; round++) {
+            while (round >= stratumEnds[stratum]) {
+                stratum++;
+            }
+            if (counterBased) {
+                randomGenerator.seek(round);
+            }
+            double weight = strata == null
+                    ? matrixGenerator.generateWeighted(matrix)
+                    : matrixGenerator.generateWeighted(matrix, strata.samplePosition(stratum, randomGenerator), strata.getSymbolId(stratum));
+            double reward = gameValidator.evaluate(betAmount, matrix, context);
+            statistics.record(stratum, reward, context.isWinning(), weight);
+        }
+        return statistics;
+    }
+
+    private SimulationStatistics newStatistics() {
+        return new SimulationStatistics(gameValidator.getSymbolRegistry(), gameValidator.getCombinationRegistry());
+    }
+}
@@ -1,11 +1,16 @@
 package com.cyberspeed.infraestructure.application.service;
 
 import com.cyberspeed.config.GameConfiguration;
+import com.cyberspeed.config.GameModel;
 import com.cyberspeed.domain.model.game.GameResult;
+import com.cyberspeed.domain.model.game.SymbolMatrix;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.domain.model.winning.CombinationRegistry;
+import com.cyberspeed.domain.validator.EvaluationContext;
+import com.cyberspeed.domain.validator.MatrixScanner;
 import com.cyberspeed.domain.validator.area.AreaSymbolsValidator;
 import com.cyberspeed.domain.validator.area.AreaValidator;
 import com.cyberspeed.domain.validator.symbol.SameSymbolValidator;
-import com.cyberspeed.utils.MapUtils;
 import com.cyberspeed.utils.SymbolUtils;
 
 import java.util.List;
@@ -14,11 +19,22 @@ import java.util.Map;
 /**
  * The GameValidator class is responsible for validating the game matrix
  * and producing the game result based on specified validation rules.
+ * <p>
+ * The validators are built once per configuration and keep no per-matrix state, so a GameValidator can be
+ * shared between threads. Evaluation state lives in an {@link EvaluationContext}, either passed explicitly to
+ * {@link #evaluate(double, SymbolMatrix, EvaluationContext)} or taken from a per-thread context.
+ * </p>
  */
 public class GameValidator {
-    private final GameConfiguration gameConfiguration;
-    private final SymbolUtils symbolUtils;
+    private final SymbolRegistry symbolRegistry;
+    private final CombinationRegistry combinationRegistry;
     private final GameReward gameReward;
+    private final SameSymbolValidator sameSymbolValidator;
+    private final AreaSymbolsValidator areaSymbolsValidator;
+    private final MatrixScanner matrixScanner;
+    private final int rows;
+    private final int columns;
+    private final ThreadLocal<EvaluationContext> contexts = ThreadLocal.withInitial(this::newContext);
 
     /**
      * Constructs a GameValidator instance with the specified game configuration
@@ -29,49 +45,123 @@ public class GameValidator {
      * @param symbolUtils      utility class for symbol-related operations
      */
     public GameValidator(GameConfiguration gameConfiguration, SymbolUtils symbolUtils) {
-        this.gameConfiguration = gameConfiguration;
-        this.symbolUtils = symbolUtils;
-        this.gameReward = new GameReward(gameConfiguration, symbolUtils); // Initializing GameReward
+        this(gameConfiguration, symbolUtils, new CombinationRegistry(gameConfiguration.winCombinations()));
+    }
+
+    /**
+     * Constructs a GameValidator instance sharing the registries of a compiled execution model.
+     *
+     * @param gameModel the execution model compiled from the game configuration
+     */
+    public GameValidator(GameModel gameModel) {
+        this(gameModel.getGameConfiguration(), gameModel.getSymbolUtils(), gameModel.getCombinationRegistry());
+    }
+
+    private GameValidator(GameConfiguration gameConfiguration, SymbolUtils symbolUtils, CombinationRegistry combinationRegistry) {
+        this.symbolRegistry = symbolUtils.getRegistry();
+        this.combinationRegistry = combinationRegistry;
+        this.rows = gameConfiguration.rows();
+        this.columns = gameConfiguration.columns();
+        this.gameReward = new GameReward(gameConfiguration, symbolUtils, combinationRegistry); // Initializing GameReward
+
+        this.sameSymbolValidator = new SameSymbolValidator(combinationRegistry, symbolUtils);
+        // Covered areas are compiled into bitboard masks once per configuration
+        AreaValidator areaValidator = new AreaValidator(symbolUtils, gameConfiguration.rows(), gameConfiguration.columns());
+        this.areaSymbolsValidator = new AreaSymbolsValidator(combinationRegistry, areaValidator);
+        this.matrixScanner = new MatrixScanner(symbolRegistry);
     }
 
     /**
      * Validates the provided game matrix and returns the result.
      *
-     * @param betAmount
+     * @param betAmount the amount bet by the player
      * @param matrix    a 2D array representing the game matrix
      * @return the game result containing the matrix, prize, winning combinations,
      * and applied bonus symbol
+     * @throws IllegalArgumentException if the matrix does not have the configured size or holds an unknown symbol
      */
     public GameResult validate(double betAmount, String[][] matrix) {
+        return validate(betAmount, SymbolMatrix.of(matrix, symbolRegistry), matrix);
+    }
+
+    /**
+     * Validates the provided game matrix in its engine-internal representation and returns the result.
+     * The matrix is converted to symbol names only for the returned result.
+     *
+     * @param betAmount the amount bet by the player
+     * @param matrix    the matrix of symbol ids
+     * @return the game result containing the matrix, prize, winning combinations,
+     * and applied bonus symbol
+     * @throws IllegalArgumentException if the matrix does not have the configured size
+     */
+    public GameResult validate(double betAmount, SymbolMatrix matrix) {
+        return validate(betAmount, matrix, matrix.toStrings(symbolRegistry));
+    }
+
+    private GameResult validate(double betAmount, SymbolMatrix matrix, String[][] symbols) {
+        // Matrices built outside the engine are checked here, once, rather than on every evaluated round
+        if (matrix.rows() != rows || matrix.columns() != columns) {
+            throw new IllegalArgumentException("Matrix size differs from the configured matrix size");
+        }
+        EvaluationContext context = contexts.get();
+        double reward = evaluate(betAmount, matrix, context);
+
+        Map<String, List<String>> winningCombination = context.toWinningCombinations(symbolRegistry, combinationRegistry);
+        int appliedBonusSymbol = context.getAppliedBonusSymbol();
+        return new GameResult(symbols, reward, winningCombination, appliedBonusSymbol < 0 ? null : symbolRegistry.nameOf(appliedBonusSymbol));
+    }
+
+    /**
+     * Evaluates the matrix into the given context without allocating. After the call the context holds the winning
+     * combinations of each symbol, the applied bonus symbol and the reward.
+     * <p>
+     * The matrix is traversed once by the {@link MatrixScanner}; the rules are then resolved from the histogram,
+     * the occupancy bitboards and the first bonus symbol it gathered.
+     * </p>
+     *
+     * @param betAmount the amount bet by the player
+     * @param matrix    the matrix of symbol ids, of the configured size
+     * @param context   the context of the calling thread, as created by {@link #newContext()}
+     * @return the reward of the matrix
+     */
+    public double evaluate(double betAmount, SymbolMatrix matrix, EvaluationContext context) {
+        context.reset();
+        matrixScanner.scan(matrix, context);
+
         // Validate repeated symbols
-        Map<String, List<String>> repeatedSymbolWinningCombination = validateRepeatedSymbols(matrix);
+        sameSymbolValidator.validate(context);
 
         // Validate area symbols
-        Map<String, List<String>> areaWinningCombination = validateAreaSymbols(matrix);
-
-        // Merging winning combinations
-        Map<String, List<String>> winningCombination = MapUtils.mergeMaps(repeatedSymbolWinningCombination, areaWinningCombination);
+        areaSymbolsValidator.validate(matrix, context);
 
         // Return early if there are no winning combinations
-        if(winningCombination.isEmpty()){
-            return new GameResult(matrix, 0.00, winningCombination, null);
+        if (!context.isWinning()) {
+            return 0.00;
         }
 
-        // Calculate prize and find applied bonus symbol
-        String appliedBonusSymbol = gameReward.findAppliedBonusSymbol(matrix);
-        double reward = gameReward.calculatePrize(betAmount, winningCombination, appliedBonusSymbol);
+        // Calculate prize with the applied bonus symbol found by the scan
+        int appliedBonusSymbol = context.getFirstBonusSymbol();
+        double reward = gameReward.calculatePrize(betAmount, context, appliedBonusSymbol);
+
+        context.setAppliedBonusSymbol(appliedBonusSymbol);
+        context.setReward(reward);
+        return reward;
+    }
 
-        return new GameResult(matrix, reward, winningCombination, appliedBonusSymbol);
+    /**
+     * Creates an evaluation context sized for this configuration, to be confined to one thread.
+     *
+     * @return a new evaluation context
+     */
+    public EvaluationContext newContext() {
+        return new EvaluationContext(symbolRegistry, combinationRegistry);
     }
 
-    private Map<String, List<String>> validateRepeatedSymbols(String[][] matrix) {
-        SameSymbolValidator sameSymbolValidator = new SameSymbolValidator(gameConfiguration.winCombinations(), gameConfiguration.symbols(), symbolUtils);
-        return sameSymbolValidator.validate(matrix);
+    public SymbolRegistry getSymbolRegistry() {
+        return symbolRegistry;
     }
 
-    private Map<String, List<String>> validateAreaSymbols(String[][] matrix) {
-        AreaValidator areaValidator = new AreaValidator(symbolUtils);
-        AreaSymbolsValidator areaSymbolsValidator = new AreaSymbolsValidator(gameConfiguration.winCombinations(), areaValidator);
-        return areaSymbolsValidator.validate(matrix);
+    public CombinationRegistry getCombinationRegistry() {
+        return combinationRegistry;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package com.cyberspeed.infraestructure.application.service;
+
+import com.cyberspeed.config.GameModel;
+import com.cyberspeed.domain.model.game.GameResult;
+import com.cyberspeed.domain.model.game.SymbolMatrix;
+import com.cyberspeed.domain.service.SelectorSymbol;
+import com.cyberspeed.utils.RandomGenerator;
+
+/**
+ * The LiveGame class plays rounds of a game whose configuration can be replaced while rounds are being played,
+ * for long-running deployments rolling out new paytables without a restart.
+ * <p>
+ * The model and its validator are published together through a single volatile reference. A round reads the
+ * reference once and plays entirely on the engine it got, so rounds in flight when a new model is published
+ * finish on the previous one and the rounds starting afterwards play on the new one. Publishing builds the new
+ * validator on the publishing thread, usually a {@link com.cyberspeed.config.ConfigurationWatcher}, before the
+ * swap: rounds never wait for a compilation nor take a lock.
+ * </p>
+ */
+public class LiveGame {
+    private volatile Engine engine;
+
+    /**
+     * Constructs a LiveGame playing on the given model until another one is published.
+     *
+     * @param gameModel the initial execution model
+     */
+    public LiveGame(GameModel gameModel) {
+        this.engine = new Engine(gameModel, new GameValidator(gameModel));
+    }
+
+    /**
+     * Publishes a new model. Rounds starting after this method returns play on it.
+     *
+     * @param gameModel the new execution model
+     */
+    public void publish(GameModel gameModel) {
+        engine = new Engine(gameModel, new GameValidator(gameModel));
+    }
+
+    /**
+     * Gets the model new rounds play on.
+     *
+     * @return the current execution model
+     */
+    public GameModel getGameModel() {
+        return engine.gameModel();
+    }
+
+    /**
+     * Plays a round on the current model. Can be called from any number of threads, each with its own generator.
+     *
+     * @param betAmount       the amount bet by the player
+     * @param randomGenerator the random generator drawing the symbols, not shared with other threads
+     * @return the game result containing the matrix, prize, winning combinations, and applied bonus symbol
+     */
+    public GameResult play(double betAmount, RandomGenerator randomGenerator) {
+        // Read once: the whole round plays on the same model even if another one is published meanwhile
+        Engine current = engine;
+        GameModel gameModel = current.gameModel();
+
+        MatrixGenerator matrixGenerator = new MatrixGenerator(
+                new SelectorSymbol(gameModel.getSamplerGrid(), randomGenerator), gameModel.getSymbolUtils());
+        SymbolMatrix matrix = new SymbolMatrix(gameModel.getRows(), gameModel.getColumns(),
+                gameModel.getSymbolUtils().getRegistry().size());
+        matrixGenerator.generate(matrix);
+        return current.gameValidator().validate(betAmount, matrix);
+    }
+
+    /**
+     * A model and the validator compiled from it, published together.
+     */
+    private record Engine(GameModel gameModel, GameValidator gameValidator) {
+    }
+}
@@ -1,6 +1,10 @@
 package com.cyberspeed.infraestructure.application.service;
 
+import com.cyberspeed.domain.model.game.SymbolMatrix;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
 import com.cyberspeed.domain.service.SelectorSymbol;
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+import com.cyberspeed.utils.RandomGenerator;
 import com.cyberspeed.utils.SymbolUtils;
 
 /**
@@ -11,16 +15,29 @@ import com.cyberspeed.utils.SymbolUtils;
 public class MatrixGenerator {
 
     private final SelectorSymbol selectorSymbol;
-    private final SymbolUtils symbolUtils;
+    private final SymbolRegistry symbolRegistry;
+    private final byte[] symbolIds; // Registry id of each symbol index returned by the selector
 
     /**
      * Constructs a MatrixGenerator with the specified SelectorSymbol.
      *
      * @param selectorSymbol the SelectorSymbol used to select symbols for the matrix
+     * @param symbolUtils    utility class for symbol-related operations
+     * @throws ConfigurationException if the probabilities reference a symbol that is not configured
      */
     public MatrixGenerator(SelectorSymbol selectorSymbol, SymbolUtils symbolUtils) {
         this.selectorSymbol = selectorSymbol;
-        this.symbolUtils = symbolUtils;
+        this.symbolRegistry = symbolUtils.getRegistry();
+
+        String[] symbols = selectorSymbol.getSamplerGrid().getSymbols();
+        this.symbolIds = new byte[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            int id = symbolRegistry.idOf(symbols[i]);
+            if (id < 0) {
+                throw new ConfigurationException("Probabilities reference an unknown symbol: " + symbols[i]);
+            }
+            symbolIds[i] = (byte) id;
+        }
     }
 
     /**
@@ -32,18 +49,143 @@ public class MatrixGenerator {
      * @return a 2D array of strings representing the generated game matrix
      */
     public String[][] generateMatrix(int rows, int columns) {
-        String[][] matrix = new String[rows][columns];
+        return generate(rows, columns).toStrings(symbolRegistry);
+    }
+
+    /**
+     * Generates the game matrix in its engine-internal representation.
+     *
+     * @param rows    the number of rows in the matrix
+     * @param columns the number of columns in the matrix
+     * @return the generated matrix of symbol ids
+     */
+    public SymbolMatrix generate(int rows, int columns) {
+        SymbolMatrix matrix = new SymbolMatrix(rows, columns, symbolRegistry.size());
+        generate(matrix);
+        return matrix;
+    }
+
+    /**
+     * Regenerates the matrix of a given round, independently of any other round played before. Requires a
+     * counter-based {@link RandomGenerator}: the matrix depends only on its seed and the round index.
+     *
+     * @param rows    the number of rows in the matrix
+     * @param columns the number of columns in the matrix
+     * @param round   the index of the round
+     * @return a 2D array of strings representing the matrix of the round
+     * @throws UnsupportedOperationException if the random generator is not counter-based
+     */
+    public String[][] generateMatrix(int rows, int columns, long round) {
+        SymbolMatrix matrix = new SymbolMatrix(rows, columns, symbolRegistry.size());
+        generate(matrix, round);
+        return matrix.toStrings(symbolRegistry);
+    }
+
+    /**
+     * Generates the matrix of a given round into an existing matrix. Requires a counter-based
+     * {@link RandomGenerator}, which is positioned at the round before drawing.
+     *
+     * @param matrix the matrix to fill, sized for the symbols of this generator
+     * @param round  the index of the round
+     * @throws UnsupportedOperationException if the random generator is not counter-based
+     */
+    public void generate(SymbolMatrix matrix, long round) {
+        selectorSymbol.getRandomGenerator().seek(round);
+        generate(matrix);
+    }
+
+    /**
+     * Generates a new round into an existing matrix, overwriting every cell, so a caller playing many rounds
+     * can reuse a single matrix.
+     *
+     * @param matrix the matrix to fill, sized for the symbols of this generator
+     */
+    public void generate(SymbolMatrix matrix) {
         boolean includedBonus = false;
 
-        for (int i = 0; i < columns; i++) {
-            for (int j = 0; j < rows; j++) {
-                matrix[j][i] = selectSymbolForCell(j, i, includedBonus);
-                if (symbolUtils.isBonusSymbol(matrix[j][i])) {
+        for (int i = 0; i < matrix.columns(); i++) {
+            for (int j = 0; j < matrix.rows(); j++) {
+                int symbolId = selectSymbolForCell(j, i, includedBonus);
+                matrix.set(j, i, symbolId);
+                if (symbolRegistry.isBonus(symbolId)) {
                     includedBonus = true;
                 }
             }
         }
-        return matrix;
+    }
+
+    /**
+     * Generates a new round into an existing matrix drawing every cell by inversion from one random double. Two
+     * generators of configurations with the same symbols and close weights, drawing from generators at the same
+     * position, mostly generate the same matrix, which makes their rounds common random numbers.
+     *
+     * @param matrix the matrix to fill, sized for the symbols of this generator
+     */
+    public void generateByInversion(SymbolMatrix matrix) {
+        boolean includedBonus = false;
+
+        for (int i = 0; i < matrix.columns(); i++) {
+            for (int j = 0; j < matrix.rows(); j++) {
+                int symbolId = symbolIds[selectorSymbol.selectSymbolIndexByInversion(j, i, !includedBonus)];
+                matrix.set(j, i, symbolId);
+                if (symbolRegistry.isBonus(symbolId)) {
+                    includedBonus = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates a new round into an existing matrix and returns its likelihood ratio, the product of the
+     * likelihood ratios of the symbols drawn. With tilted samplers, see
+     * {@link com.cyberspeed.domain.service.sampler.SamplerGrid#tilt(double[])}, weighting the round by the ratio
+     * keeps the estimates of the configured game unbiased.
+     *
+     * @param matrix the matrix to fill, sized for the symbols of this generator
+     * @return the likelihood ratio of the round, 1 with samplers drawing the configured weights
+     */
+    public double generateWeighted(SymbolMatrix matrix) {
+        boolean includedBonus = false;
+        double likelihoodRatio = 1;
+
+        for (int i = 0; i < matrix.columns(); i++) {
+            for (int j = 0; j < matrix.rows(); j++) {
+                int symbolIndex = selectorSymbol.selectRandomSymbolIndex(j, i, !includedBonus);
+                likelihoodRatio *= selectorSymbol.getLikelihoodRatio(j, i, !includedBonus, symbolIndex);
+                matrix.set(j, i, symbolIds[symbolIndex]);
+                if (symbolRegistry.isBonus(symbolIds[symbolIndex])) {
+                    includedBonus = true;
+                }
+            }
+        }
+        return likelihoodRatio;
+    }
+
+    /**
+     * Generates a round holding a given bonus symbol at a given position into an existing matrix, every other cell
+     * being drawn among the standard symbols of the cell. This draws the rounds of a stratum of
+     * {@link com.cyberspeed.domain.service.sampler.BonusStrata}.
+     *
+     * @param matrix         the matrix to fill, sized for the symbols of this generator
+     * @param bonusPosition  the position of the bonus symbol in column-major order, or -1 for no bonus symbol
+     * @param bonusSymbolId  the id of the bonus symbol
+     * @return the likelihood ratio of the standard symbols drawn, 1 with samplers drawing the configured weights
+     */
+    public double generateWeighted(SymbolMatrix matrix, int bonusPosition, int bonusSymbolId) {
+        double likelihoodRatio = 1;
+
+        for (int i = 0; i < matrix.columns(); i++) {
+            for (int j = 0; j < matrix.rows(); j++) {
+                if (i * matrix.rows() + j == bonusPosition) {
+                    matrix.set(j, i, bonusSymbolId);
+                    continue;
+                }
+                int symbolIndex = selectorSymbol.selectRandomSymbolIndex(j, i, false);
+                likelihoodRatio *= selectorSymbol.getLikelihoodRatio(j, i, false, symbolIndex);
+                matrix.set(j, i, symbolIds[symbolIndex]);
+            }
+        }
+        return likelihoodRatio;
     }
 
     /**
@@ -52,11 +194,11 @@ public class MatrixGenerator {
      * @param row            the row index
      * @param column         the column index
      * @param bonusIncluded  whether a bonus symbol has already been included
-     * @return the key of the selected symbol
+     * @return the id of the selected symbol
      */
-    private String selectSymbolForCell(int row, int column, boolean bonusIncluded) {
+    private int selectSymbolForCell(int row, int column, boolean bonusIncluded) {
         boolean withBonus = !bonusIncluded;
-        return selectorSymbol.selectRandomSymbolKey(row, column, withBonus);
+        return symbolIds[selectorSymbol.selectRandomSymbolIndex(row, column, withBonus)];
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,181 @@
+package com.cyberspeed.infraestructure.application.service;
+
+import com.cyberspeed.config.ConfigurationVariant;
+import com.cyberspeed.config.GameConfiguration;
+import com.cyberspeed.config.GameModel;
+import com.cyberspeed.domain.model.game.SymbolMatrix;
+import com.cyberspeed.domain.model.probabilities.Probabilities;
+import com.cyberspeed.domain.model.simulation.SimulationStatistics;
+import com.cyberspeed.domain.model.simulation.SweepResult;
+import com.cyberspeed.domain.model.simulation.SweepStatistics;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.domain.service.SelectorSymbol;
+import com.cyberspeed.domain.service.sampler.SamplerGrid;
+import com.cyberspeed.domain.validator.EvaluationContext;
+import com.cyberspeed.utils.RandomGenerator;
+import com.cyberspeed.utils.SymbolUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The VariantSweeper class plays several variants of a game configuration on the same rounds to compare them.
+ * <p>
+ * Variants drawing their matrices the same way, with the same matrix size, probabilities and symbols, form a
+ * group sharing one compiled {@link SamplerGrid}: each round generates one matrix per group, evaluated by the
+ * validator of every variant of the group. Groups draw from copies of the same generator, one random double per
+ * cell mapped to a symbol by {@link MatrixGenerator#generateByInversion(SymbolMatrix) inversion}, so with the
+ * counter-based generator every group draws the same numbers on a round, and variants of close probabilities
+ * mostly generate the same matrix as well. Differences between variants are then measured round by round and
+ * need far fewer rounds than independent simulations to be told apart. Drawing by inversion, a sweep does not
+ * play the same rounds as a simulation with the same seed.
+ * </p>
+ * <p>
+ * The rounds are split into chunks played on a fork/join pool like the ones of the {@link GameSimulator}, so a
+ * sweep with a given seed gives identical results whatever the number of threads.
+ * </p>
+ */
+public class VariantSweeper {
+    private final List<String> names;
+    private final GameValidator[] gameValidators;
+    private final MatrixGroup[] groups;
+    private final ChunkRunner chunkRunner;
+
+    /**
+     * Constructs a VariantSweeper compiling the given variants.
+     *
+     * @param variants the variants to compare, the first one being the reference of the differences
+     */
+    public VariantSweeper(List<ConfigurationVariant> variants) {
+        this(variants, GameSimulator.DEFAULT_CHUNK_ROUNDS);
+    }
+
+    /**
+     * Constructs a VariantSweeper compiling the given variants and splitting the rounds into chunks of the given
+     * size. Sweeps are only reproducible with the same chunk size.
+     *
+     * @param variants    the variants to compare, the first one being the reference of the differences
+     * @param chunkRounds the number of rounds of each chunk
+     * @throws IllegalArgumentException if no variant is given
+     * @throws com.cyberspeed.shared.exceptions.ConfigurationException if a variant is not a valid configuration
+     */
+    public VariantSweeper(List<ConfigurationVariant> variants, int chunkRounds) {
+        if (variants.isEmpty()) {
+            throw new IllegalArgumentException("At least one variant is required");
+        }
+        this.names = variants.stream().map(ConfigurationVariant::name).toList();
+        this.gameValidators = new GameValidator[variants.size()];
+        this.chunkRunner = new ChunkRunner(chunkRounds);
+
+        Map<MatrixKey, List<Integer>> groupVariants = new LinkedHashMap<>();
+        Map<MatrixKey, GameModel> groupModels = new HashMap<>();
+        for (int i = 0; i < variants.size(); i++) {
+            GameModel gameModel = GameModel.compile(variants.get(i).gameConfiguration());
+            gameValidators[i] = new GameValidator(gameModel);
+
+            MatrixKey key = MatrixKey.of(gameModel.getGameConfiguration(), gameModel.getSymbolUtils().getRegistry());
+            groupVariants.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            groupModels.putIfAbsent(key, gameModel);
+        }
+
+        this.groups = new MatrixGroup[groupVariants.size()];
+        int group = 0;
+        for (Map.Entry<MatrixKey, List<Integer>> entry : groupVariants.entrySet()) {
+            MatrixKey key = entry.getKey();
+            GameModel gameModel = groupModels.get(key);
+            groups[group++] = new MatrixGroup(gameModel.getSamplerGrid(), gameModel.getSymbolUtils(), key.rows(),
+                    key.columns(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * Plays the given number of rounds with every variant on a fixed number of threads.
+     *
+     * @param rounds          the number of rounds to play
+     * @param betAmount       the amount bet on every round
+     * @param confidence      the confidence level of the intervals
+     * @param workers         the number of worker threads
+     * @param randomGenerator the generator the generators of the chunks are derived from, preferably counter-based
+     * @return the comparison of the variants
+     */
+    public SweepResult sweep(long rounds, double betAmount, double confidence, int workers, RandomGenerator randomGenerator) {
+        SweepStatistics statistics = chunkRunner.run(0, rounds, workers, randomGenerator, this::newStatistics,
+                (first, count, generator) -> play(first, count, betAmount, generator),
+                (left, right) -> {
+                    left.merge(right);
+                    return left;
+                });
+        return statistics.toResult(betAmount, confidence, names);
+    }
+
+    /**
+     * Plays rounds with every variant on the calling thread, each group with its own matrix and copy of the
+     * generator, and each variant with its own context.
+     */
+    private SweepStatistics play(long firstRound, long rounds, double betAmount, RandomGenerator randomGenerator) {
+        RandomGenerator[] randomGenerators = new RandomGenerator[groups.length];
+        MatrixGenerator[] matrixGenerators = new MatrixGenerator[groups.length];
+        SymbolMatrix[] matrices = new SymbolMatrix[groups.length];
+        for (int i = 0; i < groups.length; i++) {
+            MatrixGroup group = groups[i];
+            // Copies derived with the same index start from the same numbers
+            randomGenerators[i] = randomGenerator.derive(0);
+            matrixGenerators[i] = new MatrixGenerator(new SelectorSymbol(group.samplerGrid(), randomGenerators[i]),
+                    group.symbolUtils());
+            matrices[i] = new SymbolMatrix(group.rows(), group.columns(), group.symbolUtils().getRegistry().size());
+        }
+        EvaluationContext[] contexts = new EvaluationContext[gameValidators.length];
+        for (int i = 0; i < gameValidators.length; i++) {
+            contexts[i] = gameValidators[i].newContext();
+        }
+        SweepStatistics statistics = newStatistics();
+
+        boolean counterBased = randomGenerator.isCounterBased();
+        for (long round = firstRound; round < firstRound + rounds; round++) {
+            for (int i = 0; i < groups.length; i++) {
+                if (counterBased) {
+                    randomGenerators[i].seek(round);
+                }
+                matrixGenerators[i].generateByInversion(matrices[i]);
+                for (int variant : groups[i].variants()) {
+                    gameValidators[variant].evaluate(betAmount, matrices[i], contexts[variant]);
+                }
+            }
+            statistics.record(contexts);
+        }
+        return statistics;
+    }
+
+    private SweepStatistics newStatistics() {
+        List<SimulationStatistics> statistics = new ArrayList<>();
+        for (GameValidator gameValidator : gameValidators) {
+            statistics.add(new SimulationStatistics(gameValidator.getSymbolRegistry(), gameValidator.getCombinationRegistry()));
+        }
+        return new SweepStatistics(statistics);
+    }
+
+    /**
+     * Everything a generated matrix depends on: its size, the probabilities it is drawn with and the ids of the
+     * symbols, given by their names in id order and the number of standard symbols.
+     */
+    private record MatrixKey(int rows, int columns, Probabilities probabilities, List<String> symbols, int standardCount) {
+
+        private static MatrixKey of(GameConfiguration gameConfiguration, SymbolRegistry symbolRegistry) {
+            List<String> symbols = new ArrayList<>();
+            for (int id = 0; id < symbolRegistry.size(); id++) {
+                symbols.add(symbolRegistry.nameOf(id));
+            }
+            return new MatrixKey(gameConfiguration.rows(), gameConfiguration.columns(), gameConfiguration.probabilities(),
+                    symbols, symbolRegistry.standardCount());
+        }
+    }
+
+    /**
+     * Variants sharing the matrix generated on each round.
+     */
+    private record MatrixGroup(SamplerGrid samplerGrid, SymbolUtils symbolUtils, int rows, int columns, int[] variants) {
+    }
+}
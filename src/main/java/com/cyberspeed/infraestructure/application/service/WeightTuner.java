@@ -0,0 +1,299 @@
+package com.cyberspeed.infraestructure.application.service;
+
+import com.cyberspeed.config.GameConfiguration;
+import com.cyberspeed.domain.model.analysis.AnalysisResult;
+import com.cyberspeed.domain.model.probabilities.Probabilities;
+import com.cyberspeed.domain.model.simulation.SimulationResult;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbolProbabilities;
+import com.cyberspeed.domain.model.symbols.standard.StandardSymbolProbabilities;
+import com.cyberspeed.domain.model.tuning.TuningResult;
+import com.cyberspeed.domain.model.tuning.TuningSpecification;
+import com.cyberspeed.domain.service.ProbabilityAggregator;
+import com.cyberspeed.domain.service.ProbabilityBonusService;
+import com.cyberspeed.domain.service.ProbabilityStandardService;
+import com.cyberspeed.domain.service.sampler.SamplerGrid;
+import com.cyberspeed.utils.RandomGenerator;
+import com.cyberspeed.utils.SymbolUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The WeightTuner class searches integer weights of the standard symbols meeting a target return to player, hit
+ * frequency and volatility.
+ * <p>
+ * The search is a pattern search over one weight per standard symbol: a move adds or subtracts a step to the
+ * weight of a symbol in every cell it is configured for, or moves a step of weight from one symbol to another,
+ * keeping the differences between cells. Every move of the current weights is evaluated, the best one is kept
+ * if it lowers the sum of the squared relative errors of the targets, and the step is halved otherwise. When no
+ * move of a single unit helps, every weight is doubled, the ones of the bonus symbols included since they share
+ * the total weight of each cell. This keeps the probabilities but makes finer moves possible, until the targets
+ * are met or the weights reach their upper bound.
+ * </p>
+ * <p>
+ * Matrices of up to {@value GameAnalyzer#MAX_CELLS} cells are evaluated exactly by the {@link GameAnalyzer}, the
+ * moves of a step in parallel. Larger matrices are evaluated by simulating {@value #SIMULATED_ROUNDS} rounds with
+ * the same seed for every candidate, so two candidates are compared on the same random numbers. A search stops
+ * after {@value #MAX_EVALUATIONS} evaluations, or after {@value #MAX_SIMULATED_ROUNDS} simulated rounds in total
+ * when the candidates are simulated.
+ * </p>
+ */
+public class WeightTuner {
+    public static final int SIMULATED_ROUNDS = 1 << 20;
+    public static final long MAX_SIMULATED_ROUNDS = 1L << 30;
+    private static final int MAX_EVALUATIONS = 10_000;
+    private static final long SIMULATION_SEED = 0;
+
+    private final GameConfiguration gameConfiguration;
+    private final SymbolUtils symbolUtils;
+    private final GameValidator gameValidator;
+    private final List<String> symbols; // Standard symbols with a weight, in order of first appearance
+    private final boolean exact;
+
+    /**
+     * Constructs a WeightTuner for the given configuration, whose standard symbol weights are the starting point.
+     *
+     * @param gameConfiguration the game configuration to tune
+     * @param symbolUtils       utility class for symbol-related operations
+     */
+    public WeightTuner(GameConfiguration gameConfiguration, SymbolUtils symbolUtils) {
+        this.gameConfiguration = gameConfiguration;
+        this.symbolUtils = symbolUtils;
+        this.gameValidator = new GameValidator(gameConfiguration, symbolUtils);
+        this.exact = gameConfiguration.rows() * gameConfiguration.columns() <= GameAnalyzer.MAX_CELLS;
+
+        Set<String> configured = new LinkedHashSet<>();
+        for (StandardSymbolProbabilities probabilities : gameConfiguration.probabilities().standardSymbolProbabilities()) {
+            configured.addAll(probabilities.symbols().keySet());
+        }
+        this.symbols = new ArrayList<>(configured);
+    }
+
+    /**
+     * Searches the weights meeting the targets for a bet.
+     *
+     * @param betAmount     the amount bet on every round
+     * @param specification the targets, tolerance and bounds of the weights
+     * @param workers       the number of worker threads
+     * @return the best weights found and their return to player, hit frequency and volatility
+     * @throws IllegalArgumentException if no target is given or the bounds of the weights are invalid
+     */
+    public TuningResult tune(double betAmount, TuningSpecification specification, int workers) {
+        if (specification.rtp() == null && specification.hitFrequency() == null && specification.volatility() == null) {
+            throw new IllegalArgumentException("At least one target is required");
+        }
+        if (specification.minWeight() < 0 || specification.maxWeight() < Math.max(1, specification.minWeight())) {
+            throw new IllegalArgumentException("Weights must be bounded by 0 <= min <= max and max >= 1");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, workers));
+        try {
+            List<StandardSymbolProbabilities> start = new ArrayList<>();
+            int largestWeight = 1;
+            for (StandardSymbolProbabilities probabilities : gameConfiguration.probabilities().standardSymbolProbabilities()) {
+                StandardSymbolProbabilities cell = move(probabilities, null, 0, null, specification);
+                largestWeight = Math.max(largestWeight, cell.symbols().values().stream().mapToInt(Integer::intValue).max().orElse(1));
+                start.add(cell);
+            }
+            Evaluation best = evaluate(new Probabilities(start, gameConfiguration.probabilities().bonusSymbolProbabilities()),
+                    betAmount, specification, workers);
+            int evaluations = 1;
+            int maxEvaluations = exact ? MAX_EVALUATIONS : (int) (MAX_SIMULATED_ROUNDS / SIMULATED_ROUNDS);
+
+            int step = Math.max(1, largestWeight / 2);
+            while (!best.meets(specification) && evaluations < maxEvaluations) {
+                List<Probabilities> candidates = moves(best.probabilities(), step, specification);
+                if (candidates.size() > maxEvaluations - evaluations) {
+                    // The last step only evaluates the moves fitting in the budget
+                    candidates = candidates.subList(0, maxEvaluations - evaluations);
+                }
+                List<Evaluation> evaluated = evaluate(candidates, betAmount, specification, workers, pool);
+                evaluations += evaluated.size();
+
+                // The first best candidate wins ties, so the search does not depend on the evaluation order
+                Evaluation candidate = null;
+                for (Evaluation evaluation : evaluated) {
+                    if (candidate == null || evaluation.objective() < candidate.objective()) {
+                        candidate = evaluation;
+                    }
+                }
+                if (candidate != null && candidate.objective() < best.objective()) {
+                    best = candidate;
+                } else if (step > 1) {
+                    step /= 2;
+                } else {
+                    // Doubling every weight keeps the probabilities but halves the smallest move
+                    Probabilities refined = scale(best.probabilities(), 2, specification);
+                    if (refined == null) {
+                        break;
+                    }
+                    best = new Evaluation(refined, best.rtp(), best.hitFrequency(), best.volatility(), best.objective());
+                }
+            }
+
+            return new TuningResult(best.meets(specification), evaluations, betAmount, best.rtp(), best.hitFrequency(),
+                    best.volatility(), best.probabilities());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Builds the weights of every move of a step: the weight of one symbol raised or lowered in every cell, and
+     * a step of weight moved from one symbol to another in every cell. Moves blocked by the bounds in every cell
+     * are left out.
+     */
+    private List<Probabilities> moves(Probabilities probabilities, int step, TuningSpecification specification) {
+        List<Probabilities> moves = new ArrayList<>();
+        for (String symbol : symbols) {
+            addMove(moves, probabilities, symbol, step, null, specification);
+            addMove(moves, probabilities, symbol, -step, null, specification);
+        }
+        for (String raised : symbols) {
+            for (String lowered : symbols) {
+                if (!raised.equals(lowered)) {
+                    addMove(moves, probabilities, raised, step, lowered, specification);
+                }
+            }
+        }
+        return moves;
+    }
+
+    private static void addMove(List<Probabilities> moves, Probabilities probabilities, String symbol, int delta,
+                                String lowered, TuningSpecification specification) {
+        List<StandardSymbolProbabilities> moved = new ArrayList<>();
+        boolean changed = false;
+        for (StandardSymbolProbabilities cell : probabilities.standardSymbolProbabilities()) {
+            StandardSymbolProbabilities movedCell = move(cell, symbol, delta, lowered, specification);
+            changed |= !movedCell.symbols().equals(cell.symbols());
+            moved.add(movedCell);
+        }
+        if (changed) {
+            moves.add(new Probabilities(moved, probabilities.bonusSymbolProbabilities()));
+        }
+    }
+
+    /**
+     * Adds a delta to the weight of a symbol in a cell, and subtracts it from the weight of another symbol if
+     * given, keeping every weight within the bounds and the total weight of the cell positive.
+     */
+    private static StandardSymbolProbabilities move(StandardSymbolProbabilities probabilities, String symbol, int delta,
+                                                    String lowered, TuningSpecification specification) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : probabilities.symbols().entrySet()) {
+            int weight = entry.getValue();
+            if (entry.getKey().equals(symbol)) {
+                weight += delta;
+            } else if (entry.getKey().equals(lowered)) {
+                weight -= delta;
+            }
+            weights.put(entry.getKey(), Math.min(specification.maxWeight(), Math.max(specification.minWeight(), weight)));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            return probabilities;
+        }
+        return new StandardSymbolProbabilities(probabilities.row(), probabilities.column(), weights);
+    }
+
+    /**
+     * Multiplies every weight by a factor, the ones of the bonus symbols included, which keeps the probabilities.
+     *
+     * @return the scaled weights, or null if a weight would exceed the upper bound
+     */
+    private static Probabilities scale(Probabilities probabilities, int factor, TuningSpecification specification) {
+        List<StandardSymbolProbabilities> standard = new ArrayList<>();
+        for (StandardSymbolProbabilities cell : probabilities.standardSymbolProbabilities()) {
+            Map<String, Integer> weights = scale(cell.symbols(), factor, specification);
+            if (weights == null) {
+                return null;
+            }
+            standard.add(new StandardSymbolProbabilities(cell.row(), cell.column(), weights));
+        }
+        Map<String, Integer> bonus = scale(probabilities.bonusSymbolProbabilities().symbols(), factor, specification);
+        return bonus == null ? null : new Probabilities(standard, new BonusSymbolProbabilities(bonus));
+    }
+
+    private static Map<String, Integer> scale(Map<String, Integer> weights, int factor, TuningSpecification specification) {
+        Map<String, Integer> scaled = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            if ((long) entry.getValue() * factor > specification.maxWeight()) {
+                return null;
+            }
+            scaled.put(entry.getKey(), entry.getValue() * factor);
+        }
+        return scaled;
+    }
+
+    private List<Evaluation> evaluate(List<Probabilities> candidates, double betAmount,
+                                      TuningSpecification specification, int workers, ForkJoinPool pool) {
+        if (!exact) {
+            // Each simulation already runs on every worker
+            return candidates.stream().map(probabilities -> evaluate(probabilities, betAmount, specification, workers)).toList();
+        }
+        return pool.submit(() -> candidates.parallelStream()
+                .map(probabilities -> evaluate(probabilities, betAmount, specification, 1))
+                .toList()).join();
+    }
+
+    private Evaluation evaluate(Probabilities probabilities, double betAmount, TuningSpecification specification, int workers) {
+        ProbabilityAggregator probabilityAggregator = new ProbabilityAggregator(
+                new ProbabilityStandardService(probabilities.standardSymbolProbabilities()),
+                new ProbabilityBonusService(probabilities.bonusSymbolProbabilities()));
+
+        double rtp;
+        double hitFrequency;
+        double volatility;
+        if (exact) {
+            AnalysisResult result = new GameAnalyzer(gameConfiguration, symbolUtils, probabilityAggregator).analyze(betAmount);
+            rtp = result.rtp();
+            hitFrequency = result.hitFrequency();
+            volatility = result.standardDeviation() / betAmount;
+        } else {
+            GameSimulator gameSimulator = new GameSimulator(new SamplerGrid(probabilityAggregator), symbolUtils, gameValidator,
+                    gameConfiguration.rows(), gameConfiguration.columns());
+            SimulationResult result = gameSimulator.simulate(SIMULATED_ROUNDS, betAmount, workers,
+                    new RandomGenerator(RandomGenerator.COUNTER_ALGORITHM, SIMULATION_SEED));
+            rtp = result.rtp();
+            hitFrequency = result.hitFrequency();
+            volatility = result.standardDeviation() / betAmount;
+        }
+
+        double objective = squaredError(rtp, specification.rtp()) + squaredError(hitFrequency, specification.hitFrequency())
+                + squaredError(volatility, specification.volatility());
+        return new Evaluation(probabilities, rtp, hitFrequency, volatility, objective);
+    }
+
+    private static double squaredError(double value, Double target) {
+        if (target == null) {
+            return 0;
+        }
+        double error = relativeError(value, target);
+        return error * error;
+    }
+
+    private static double relativeError(double value, double target) {
+        return target == 0 ? value : (value - target) / target;
+    }
+
+    /**
+     * Weights with their measures and the sum of the squared relative errors of the targets.
+     */
+    private record Evaluation(Probabilities probabilities, double rtp, double hitFrequency,
+                              double volatility, double objective) {
+
+        private boolean meets(TuningSpecification specification) {
+            return meets(rtp, specification.rtp(), specification.tolerance())
+                    && meets(hitFrequency, specification.hitFrequency(), specification.tolerance())
+                    && meets(volatility, specification.volatility(), specification.tolerance());
+        }
+
+        private static boolean meets(double value, Double target, double tolerance) {
+            return target == null || Math.abs(relativeError(value, target)) <= tolerance;
+        }
+    }
+}
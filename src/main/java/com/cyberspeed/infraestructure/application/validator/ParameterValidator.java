@@ -1,8 +1,36 @@
 package com.cyberspeed.infraestructure.application.validator;
 
 import com.cyberspeed.infraestructure.application.exceptions.InvalidParametersException;
+import com.cyberspeed.utils.RandomGenerator;
+
 
 public class ParameterValidator {
+    public static final String SIMULATE_OPTION = "--simulate";
+    public static final String RNG_OPTION = "--rng";
+    public static final String SEED_OPTION = "--seed";
+    public static final String ROUND_OPTION = "--round";
+    public static final String ANALYZE_OPTION = "--analyze";
+    public static final String THREADS_OPTION = "--threads";
+    public static final String RTP_PRECISION_OPTION = "--rtp-precision";
+    public static final String HIT_RATE_PRECISION_OPTION = "--hit-rate-precision";
+    public static final String CONFIDENCE_OPTION = "--confidence";
+    public static final String TILT_OPTION = "--importance-tilt";
+    public static final String STRATIFY_OPTION = "--stratify";
+    public static final String TAIL_OPTION = "--tail";
+    public static final String TUNE_OPTION = "--tune";
+    public static final String TARGET_RTP_OPTION = "--target-rtp";
+    public static final String TARGET_HIT_RATE_OPTION = "--target-hit-rate";
+    public static final String TARGET_VOLATILITY_OPTION = "--target-volatility";
+    public static final String TOLERANCE_OPTION = "--tolerance";
+    public static final String MIN_WEIGHT_OPTION = "--min-weight";
+    public static final String MAX_WEIGHT_OPTION = "--max-weight";
+    public static final String OUTPUT_OPTION = "--output";
+    public static final String SWEEP_OPTION = "--sweep";
+    public static final String SNAPSHOT_OPTION = "--snapshot";
+    public static final int DEFAULT_MIN_WEIGHT = 1;
+    public static final int DEFAULT_MAX_WEIGHT = 1000;
+    public static final double DEFAULT_TOLERANCE = 0.001;
+
     public static void validate(String[] args) {
         if (args.length < 3) {
             throw new InvalidParametersException("No parameters provided. Please provide the betting amount and optionally a config file.");
@@ -16,5 +44,254 @@ public class ParameterValidator {
         } catch (NumberFormatException e) {
             throw new InvalidParametersException("Betting amount must be a valid number.");
         }
+
+        validateSimulation(args);
+        validateRandomGenerator(args);
+        validateTuning(args);
+        validateSweep(args);
+    }
+
+    /**
+     * Gets the value following an option in the arguments.
+     *
+     * @param args   the input arguments
+     * @param option the name of the option, e.g. {@code --simulate}
+     * @return the value of the option, or null if the option is not present
+     * @throws InvalidParametersException if the option is present without a value
+     */
+    public static String getOption(String[] args, String option) {
+        for (int i = 0; i < args.length; i++) {
+            if (option.equals(args[i])) {
+                if (i + 1 >= args.length) {
+                    throw new InvalidParametersException("Missing value for option " + option);
+                }
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether an option without value is present in the arguments.
+     *
+     * @param args   the input arguments
+     * @param option the name of the option, e.g. {@code --analyze}
+     * @return true if the option is present
+     */
+    public static boolean hasOption(String[] args, String option) {
+        for (String arg : args) {
+            if (option.equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void validateSimulation(String[] args) {
+        String rounds = getOption(args, SIMULATE_OPTION);
+        if (rounds == null) {
+            if (getOption(args, RTP_PRECISION_OPTION) != null || getOption(args, HIT_RATE_PRECISION_OPTION) != null) {
+                throw new InvalidParametersException("A target precision requires " + SIMULATE_OPTION + " with the maximum number of rounds.");
+            }
+            if (isRareEventSimulation(args)) {
+                throw new InvalidParametersException("Options " + TILT_OPTION + ", " + STRATIFY_OPTION + " and " + TAIL_OPTION
+                        + " require " + SIMULATE_OPTION + ".");
+            }
+            return;
+        }
+        if (hasOption(args, ANALYZE_OPTION)) {
+            throw new InvalidParametersException("Options " + SIMULATE_OPTION + " and " + ANALYZE_OPTION + " cannot be combined.");
+        }
+
+        try {
+            if (Long.parseLong(rounds) <= 0) {
+                throw new InvalidParametersException("Invalid number of rounds. It must be a positive number.");
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidParametersException("Number of rounds must be a valid integer.");
+        }
+
+        validateExecution(args);
+
+        String rtpPrecision = getOption(args, RTP_PRECISION_OPTION);
+        String hitRatePrecision = getOption(args, HIT_RATE_PRECISION_OPTION);
+        if (hitRatePrecision != null && rtpPrecision == null) {
+            throw new InvalidParametersException("Option " + HIT_RATE_PRECISION_OPTION + " requires " + RTP_PRECISION_OPTION + ".");
+        }
+        validatePrecision(rtpPrecision, RTP_PRECISION_OPTION);
+        validatePrecision(hitRatePrecision, HIT_RATE_PRECISION_OPTION);
+
+        validateRareEvents(args);
+    }
+
+    /**
+     * Validates the options of the simulations and searches running on several threads.
+     */
+    private static void validateExecution(String[] args) {
+        String threads = getOption(args, THREADS_OPTION);
+        if (threads != null) {
+            try {
+                if (Integer.parseInt(threads) <= 0) {
+                    throw new InvalidParametersException("Invalid number of threads. It must be a positive number.");
+                }
+            } catch (NumberFormatException e) {
+                throw new InvalidParametersException("Number of threads must be a valid integer.");
+            }
+        }
+
+        String confidence = getOption(args, CONFIDENCE_OPTION);
+        if (confidence != null) {
+            try {
+                double level = Double.parseDouble(confidence);
+                if (!(level > 0 && level < 1)) {
+                    throw new InvalidParametersException("Invalid confidence level. It must be between 0 and 1.");
+                }
+            } catch (NumberFormatException e) {
+                throw new InvalidParametersException("Confidence level must be a valid number.");
+            }
+        }
+    }
+
+    private static void validateRareEvents(String[] args) {
+        if (!isRareEventSimulation(args)) {
+            return;
+        }
+        if (getOption(args, RTP_PRECISION_OPTION) != null) {
+            throw new InvalidParametersException("Option " + RTP_PRECISION_OPTION + " cannot be combined with weighted sampling.");
+        }
+
+        String tilt = getOption(args, TILT_OPTION);
+        if (tilt != null) {
+            try {
+                if (!(Double.parseDouble(tilt) >= 0)) {
+                    throw new InvalidParametersException("Invalid importance tilt. It must not be negative.");
+                }
+            } catch (NumberFormatException e) {
+                throw new InvalidParametersException("Importance tilt must be a valid number.");
+            }
+        }
+
+        String tail = getOption(args, TAIL_OPTION);
+        if (tail != null) {
+            try {
+                for (String threshold : tail.split(",")) {
+                    Double.parseDouble(threshold);
+                }
+            } catch (NumberFormatException e) {
+                throw new InvalidParametersException("Tail thresholds must be a comma separated list of rewards.");
+            }
+        }
+    }
+
+    /**
+     * Checks whether the arguments ask for a simulation drawing weighted rounds, with importance sampling,
+     * stratified sampling or tail probabilities.
+     *
+     * @param args the input arguments
+     * @return true if any of the weighted sampling options is present
+     */
+    public static boolean isRareEventSimulation(String[] args) {
+        return getOption(args, TILT_OPTION) != null || hasOption(args, STRATIFY_OPTION) || getOption(args, TAIL_OPTION) != null;
+    }
+
+    private static void validatePrecision(String precision, String option) {
+        if (precision == null) {
+            return;
+        }
+        try {
+            if (!(Double.parseDouble(precision) > 0)) {
+                throw new InvalidParametersException("Invalid value for option " + option + ". It must be a positive number.");
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidParametersException("Value of option " + option + " must be a valid number.");
+        }
+    }
+
+    private static void validateTuning(String[] args) {
+        if (!hasOption(args, TUNE_OPTION)) {
+            return;
+        }
+        if (getOption(args, SIMULATE_OPTION) != null || hasOption(args, ANALYZE_OPTION)) {
+            throw new InvalidParametersException("Option " + TUNE_OPTION + " cannot be combined with " + SIMULATE_OPTION
+                    + " or " + ANALYZE_OPTION + ".");
+        }
+        validateExecution(args);
+
+        String rtp = getOption(args, TARGET_RTP_OPTION);
+        String hitRate = getOption(args, TARGET_HIT_RATE_OPTION);
+        String volatility = getOption(args, TARGET_VOLATILITY_OPTION);
+        if (rtp == null && hitRate == null && volatility == null) {
+            throw new InvalidParametersException("Option " + TUNE_OPTION + " requires at least one of " + TARGET_RTP_OPTION
+                    + ", " + TARGET_HIT_RATE_OPTION + " and " + TARGET_VOLATILITY_OPTION + ".");
+        }
+        validatePrecision(rtp, TARGET_RTP_OPTION);
+        validatePrecision(hitRate, TARGET_HIT_RATE_OPTION);
+        validatePrecision(volatility, TARGET_VOLATILITY_OPTION);
+        validatePrecision(getOption(args, TOLERANCE_OPTION), TOLERANCE_OPTION);
+
+        String minWeight = getOption(args, MIN_WEIGHT_OPTION);
+        String maxWeight = getOption(args, MAX_WEIGHT_OPTION);
+        try {
+            int min = minWeight == null ? DEFAULT_MIN_WEIGHT : Integer.parseInt(minWeight);
+            int max = maxWeight == null ? DEFAULT_MAX_WEIGHT : Integer.parseInt(maxWeight);
+            if (min < 0 || max < Math.max(1, min)) {
+                throw new InvalidParametersException("Invalid weight bounds. They must satisfy 0 <= min <= max and max >= 1.");
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidParametersException("Weight bounds must be valid integers.");
+        }
+    }
+
+    private static void validateSweep(String[] args) {
+        if (getOption(args, SWEEP_OPTION) == null) {
+            return;
+        }
+        if (getOption(args, SIMULATE_OPTION) == null) {
+            throw new InvalidParametersException("Option " + SWEEP_OPTION + " requires " + SIMULATE_OPTION + " with the number of rounds.");
+        }
+        if (getOption(args, RTP_PRECISION_OPTION) != null || isRareEventSimulation(args) || hasOption(args, TUNE_OPTION)) {
+            throw new InvalidParametersException("Option " + SWEEP_OPTION + " cannot be combined with a target precision,"
+                    + " weighted sampling or " + TUNE_OPTION + ".");
+        }
+    }
+
+    private static void validateRandomGenerator(String[] args) {
+        String algorithm = getOption(args, RNG_OPTION);
+        if (algorithm != null) {
+            if (!RandomGenerator.isAvailable(algorithm)) {
+                throw new InvalidParametersException("Unknown random number generator algorithm: " + algorithm);
+            }
+        }
+
+        String seed = getOption(args, SEED_OPTION);
+        if (seed != null) {
+            try {
+                Long.parseLong(seed);
+            } catch (NumberFormatException e) {
+                throw new InvalidParametersException("Seed must be a valid integer.");
+            }
+        }
+
+        String round = getOption(args, ROUND_OPTION);
+        if (round != null) {
+            // Only a single played round can be replayed
+            if (getOption(args, SIMULATE_OPTION) != null || hasOption(args, ANALYZE_OPTION) || hasOption(args, TUNE_OPTION)) {
+                throw new InvalidParametersException("Option " + ROUND_OPTION + " cannot be combined with " + SIMULATE_OPTION
+                        + ", " + ANALYZE_OPTION + " or " + TUNE_OPTION + ".");
+            }
+            if (seed == null) {
+                throw new InvalidParametersException("Replaying a round requires the seed it was played with.");
+            }
+            if (algorithm != null && !RandomGenerator.COUNTER_ALGORITHM.equals(algorithm)) {
+                throw new InvalidParametersException("Replaying a round requires the " + RandomGenerator.COUNTER_ALGORITHM + " generator.");
+            }
+            try {
+                if (Long.parseLong(round) < 0) {
+                    throw new InvalidParametersException("Invalid round. It must not be negative.");
+                }
+            } catch (NumberFormatException e) {
+                throw new InvalidParametersException("Round must be a valid integer.");
+            }
+        }
     }
-}
\ No newline at end of file
+}
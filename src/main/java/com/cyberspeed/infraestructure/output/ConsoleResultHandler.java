@@ -1,6 +1,11 @@
 package com.cyberspeed.infraestructure.output;
 
+import com.cyberspeed.domain.model.analysis.AnalysisResult;
 import com.cyberspeed.domain.model.game.GameResult;
+import com.cyberspeed.domain.model.simulation.RareEventResult;
+import com.cyberspeed.domain.model.simulation.SimulationResult;
+import com.cyberspeed.domain.model.simulation.SweepResult;
+import com.cyberspeed.domain.model.tuning.TuningResult;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
@@ -15,4 +20,40 @@ public class ConsoleResultHandler implements ResultHandler {
         String result = gson.toJson(gameResult);
         System.out.println(result);
     }
+
+    @Override
+    public void handleSimulationResult(SimulationResult simulationResult) {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        String result = gson.toJson(simulationResult);
+        System.out.println(result);
+    }
+
+    @Override
+    public void handleRareEventResult(RareEventResult rareEventResult) {
+        // Strata or tails without rounds have infinite intervals
+        Gson gson = new GsonBuilder().setPrettyPrinting().serializeSpecialFloatingPointValues().create();
+        String result = gson.toJson(rareEventResult);
+        System.out.println(result);
+    }
+
+    @Override
+    public void handleAnalysisResult(AnalysisResult analysisResult) {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        String result = gson.toJson(analysisResult);
+        System.out.println(result);
+    }
+
+    @Override
+    public void handleTuningResult(TuningResult tuningResult) {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        String result = gson.toJson(tuningResult);
+        System.out.println(result);
+    }
+
+    @Override
+    public void handleSweepResult(SweepResult sweepResult) {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        String result = gson.toJson(sweepResult);
+        System.out.println(result);
+    }
 }
@@ -1,6 +1,11 @@
 package com.cyberspeed.infraestructure.output;
 
+import com.cyberspeed.domain.model.analysis.AnalysisResult;
 import com.cyberspeed.domain.model.game.GameResult;
+import com.cyberspeed.domain.model.simulation.RareEventResult;
+import com.cyberspeed.domain.model.simulation.SimulationResult;
+import com.cyberspeed.domain.model.simulation.SweepResult;
+import com.cyberspeed.domain.model.tuning.TuningResult;
 
 /**
  * The ResultHandler interface defines a contract for handling game results.
@@ -13,4 +18,39 @@ public interface ResultHandler {
      * @param gameResult The result of the game to be processed.
      */
     void handleResult(GameResult gameResult);
-}
\ No newline at end of file
+
+    /**
+     * Processes the result of a simulation, whether it is printed, saved, or sent elsewhere.
+     *
+     * @param simulationResult The result of the simulation to be processed.
+     */
+    void handleSimulationResult(SimulationResult simulationResult);
+
+    /**
+     * Processes the result of a simulation drawing weighted rounds, whether it is printed, saved, or sent elsewhere.
+     *
+     * @param rareEventResult The result of the simulation to be processed.
+     */
+    void handleRareEventResult(RareEventResult rareEventResult);
+
+    /**
+     * Processes the exact payout distribution of a configuration, whether it is printed, saved, or sent elsewhere.
+     *
+     * @param analysisResult The result of the analysis to be processed.
+     */
+    void handleAnalysisResult(AnalysisResult analysisResult);
+
+    /**
+     * Processes the outcome of a search for symbol weights, whether it is printed, saved, or sent elsewhere.
+     *
+     * @param tuningResult The result of the search to be processed.
+     */
+    void handleTuningResult(TuningResult tuningResult);
+
+    /**
+     * Processes the comparison of configuration variants, whether it is printed, saved, or sent elsewhere.
+     *
+     * @param sweepResult The result of the sweep to be processed.
+     */
+    void handleSweepResult(SweepResult sweepResult);
+}
@@ -0,0 +1,43 @@
+package com.cyberspeed.utils;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Utility class for the binary encoding of snapshots, written through a {@link DataOutput} and read from a
+ * {@link ByteBuffer}, usually a memory-mapped file. Both use the big-endian byte order.
+ */
+public class BinaryUtils {
+
+    /**
+     * Writes a string as its length in UTF-8 bytes followed by the bytes.
+     *
+     * @param output the output receiving the string
+     * @param value  the string to write
+     * @throws IOException if the string cannot be written
+     */
+    public static void writeString(DataOutput output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutput, String)}.
+     *
+     * @param buffer the buffer positioned at the string
+     * @return the string
+     * @throws IllegalArgumentException if the length is negative
+     */
+    public static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,42 @@
+package com.cyberspeed.utils;
+
+/**
+ * Counter-based generator: the value at a position is a SplitMix64 hash of the seed, the round index and a
+ * counter within the round, so any round can be positioned directly without generating the previous ones.
+ * <p>
+ * Each round draws from its own SplitMix64 sequence, seeded by mixing the seed with the round index.
+ * </p>
+ */
+final class CounterRandomGenerator implements java.util.random.RandomGenerator {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    private long roundKey;
+    private long counter;
+
+    CounterRandomGenerator(long seed) {
+        this.seed = seed;
+        seek(0);
+    }
+
+    /**
+     * Positions the generator at the first value of a round.
+     *
+     * @param round the round index
+     */
+    void seek(long round) {
+        this.roundKey = mix64(seed ^ mix64(round * GOLDEN_GAMMA + GOLDEN_GAMMA));
+        this.counter = 0;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(roundKey + ++counter * GOLDEN_GAMMA);
+    }
+
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
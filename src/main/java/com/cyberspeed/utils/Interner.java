@@ -0,0 +1,72 @@
+package com.cyberspeed.utils;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Thread-safe pool handing out a single instance of every value with the same key, so identical immutable
+ * structures built by different owners are shared instead of duplicated.
+ * <p>
+ * Values are held weakly: a value stays in the pool only as long as one of its owners keeps it, so the pool
+ * itself never retains the structures of owners that were discarded. Keys must be immutable and should not
+ * reference their value.
+ * </p>
+ *
+ * @param <K> the type of the keys identifying equal values
+ * @param <V> the type of the shared values
+ */
+public class Interner<K, V> {
+    private final Map<K, KeyedReference<K, V>> values = new HashMap<>();
+    private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+    /**
+     * Gets the value of a key, building it if the pool holds none.
+     *
+     * @param key     the key identifying the value
+     * @param factory builds the value of the key, called at most once per call
+     * @return the shared value of the key
+     */
+    public synchronized V intern(K key, Function<? super K, ? extends V> factory) {
+        purge();
+        KeyedReference<K, V> reference = values.get(key);
+        V value = reference == null ? null : reference.get();
+        if (value == null) {
+            value = factory.apply(key);
+            values.put(key, new KeyedReference<>(key, value, queue));
+        }
+        return value;
+    }
+
+    /**
+     * Gets the number of values held by the pool.
+     *
+     * @return the number of values still referenced by an owner
+     */
+    public synchronized int size() {
+        purge();
+        return values.size();
+    }
+
+    /**
+     * Removes the entries of the values that are no longer referenced.
+     */
+    @SuppressWarnings("unchecked")
+    private void purge() {
+        KeyedReference<K, V> reference;
+        while ((reference = (KeyedReference<K, V>) queue.poll()) != null) {
+            values.remove(reference.key, reference);
+        }
+    }
+
+    private static final class KeyedReference<K, V> extends WeakReference<V> {
+        private final K key;
+
+        private KeyedReference(K key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
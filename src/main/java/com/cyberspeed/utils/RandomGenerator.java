@@ -1,21 +1,96 @@
 package com.cyberspeed.utils;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGeneratorFactory;
 
 /**
  * Utility class for generating random numbers.
  * Provides methods to generate random integers within specified bounds.
+ * <p>
+ * The numbers come from a {@link java.util.random.RandomGenerator} selected by algorithm name among the ones
+ * the JDK provides through {@link RandomGeneratorFactory}, such as {@code L64X128MixRandom} or
+ * {@code SplittableRandom}, or from the {@value #COUNTER_ALGORITHM} counter-based generator, which can be
+ * positioned at any round with {@link #seek(long)}. An instance is not thread-safe and is meant to be confined
+ * to one thread; workers get their own instance with {@link #split()}, or one derived from the seed and an index
+ * with {@link #derive(long)}.
+ * </p>
+ * <p>
+ * Small bounded draws are carved out of a pool of entropy instead of consuming a 64-bit value each: the pool is
+ * a value uniform in {@code [0, range)}, and a draw with bound {@code b} takes {@code value % b} and keeps
+ * {@code value / b}, uniform in {@code [0, range / b)}, for the next draw. Values above the largest multiple of
+ * {@code b} are rejected but their remainder is kept as well, so draws stay exactly uniform. The pool is topped
+ * up 32 bits at a time, half of a 64-bit value.
+ * </p>
  */
 public class RandomGenerator {
-    private Random random;
+    public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+    public static final String COUNTER_ALGORITHM = "SplitMixCounter";
+    private static final long MIN_ENTROPY_RANGE = 1L << 31; // Topped up below this range, largest batched bound
+
+    private final RandomGeneratorFactory<java.util.random.RandomGenerator> factory; // null for the counter-based generator
+    private final java.util.random.RandomGenerator random;
+    private final long seed;
+    private long entropy; // Uniform in [0, entropyRange)
+    private long entropyRange = 1;
+    private long spareBits;
+    private boolean hasSpareBits;
 
     /**
-     * Constructs a new RandomGenerator with a default Random instance.
+     * Constructs a new RandomGenerator with the default algorithm and a random seed.
      */
     public RandomGenerator() {
-        this.random = new Random();
+        this(DEFAULT_ALGORITHM);
+    }
+
+    /**
+     * Constructs a new RandomGenerator with the given algorithm and a random seed.
+     *
+     * @param algorithm the name of the algorithm, {@value #COUNTER_ALGORITHM} or one accepted by
+     *                  {@link RandomGeneratorFactory#of(String)}
+     * @throws IllegalArgumentException if the algorithm is not available
+     */
+    public RandomGenerator(String algorithm) {
+        this(algorithm, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructs a new RandomGenerator with the given algorithm and seed, producing a reproducible sequence.
+     *
+     * @param algorithm the name of the algorithm, {@value #COUNTER_ALGORITHM} or one accepted by
+     *                  {@link RandomGeneratorFactory#of(String)}
+     * @param seed      the seed of the sequence
+     * @throws IllegalArgumentException if the algorithm is not available
+     */
+    public RandomGenerator(String algorithm, long seed) {
+        this.factory = COUNTER_ALGORITHM.equals(algorithm) ? null : RandomGeneratorFactory.of(algorithm);
+        this.random = factory == null ? new CounterRandomGenerator(seed) : factory.create(seed);
+        this.seed = seed;
+    }
+
+    private RandomGenerator(RandomGeneratorFactory<java.util.random.RandomGenerator> factory,
+                            java.util.random.RandomGenerator random, long seed) {
+        this.factory = factory;
+        this.random = random;
+        this.seed = seed;
     }
 
+    /**
+     * Checks whether an algorithm can be used to construct a RandomGenerator.
+     *
+     * @param algorithm the name of the algorithm
+     * @return true if the algorithm is available
+     */
+    public static boolean isAvailable(String algorithm) {
+        if (COUNTER_ALGORITHM.equals(algorithm)) {
+            return true;
+        }
+        try {
+            RandomGeneratorFactory.of(algorithm);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
 
     /**
      * Returns a random integer between 1 (inclusive) and the specified bound (inclusive).
@@ -23,7 +98,148 @@ public class RandomGenerator {
      * @param bound the upper bound for the random number (must be greater than 0)
      * @return a random integer between 1 and bound (inclusive)
      */
-    public Integer getRandomInteger(int bound) {
-        return random.nextInt(bound) + 1;
+    public int getRandomInteger(int bound) {
+        return (int) getRandomLong(bound) + 1;
+    }
+
+    /**
+     * Returns a random long between 0 (inclusive) and the specified bound (exclusive).
+     *
+     * @param bound the upper bound for the random number (must be greater than 0)
+     * @return a random long between 0 and bound (exclusive)
+     */
+    public long getRandomLong(long bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        if (bound > MIN_ENTROPY_RANGE) {
+            return random.nextLong(bound);
+        }
+
+        while (true) {
+            while (entropyRange < MIN_ENTROPY_RANGE) {
+                entropy = entropy << Integer.SIZE | nextBits();
+                entropyRange <<= Integer.SIZE;
+            }
+
+            long quotient = entropyRange / bound;
+            long limit = quotient * bound;
+            if (entropy < limit) {
+                long value = entropy % bound;
+                entropy /= bound;
+                entropyRange = quotient;
+                return value;
+            }
+            // Keep the rejected remainder, uniform in [0, entropyRange - limit)
+            entropy -= limit;
+            entropyRange -= limit;
+        }
+    }
+
+    /**
+     * Returns a random double between 0 (inclusive) and 1 (exclusive), with 53 random bits.
+     *
+     * @return a random double in {@code [0, 1)}
+     */
+    public double getRandomDouble() {
+        return getRandomLong(1L << 53) * 0x1.0p-53;
+    }
+
+    /**
+     * Returns 32 fresh random bits, using both halves of each 64-bit value of the underlying generator.
+     */
+    private long nextBits() {
+        if (hasSpareBits) {
+            hasSpareBits = false;
+            return spareBits & 0xffffffffL;
+        }
+        spareBits = random.nextLong();
+        hasSpareBits = true;
+        return spareBits >>> Integer.SIZE;
+    }
+
+    /**
+     * Creates a new generator of the same algorithm to hand to another thread. Splitting a seeded generator the
+     * same way yields the same generators.
+     * <p>
+     * The sequence of the new generator is statistically independent of this one, except for the counter-based
+     * generator, whose copy shares the seed: its rounds are told apart by their index, as given to {@link #seek(long)}.
+     * </p>
+     *
+     * @return the new generator
+     */
+    public RandomGenerator split() {
+        if (random instanceof CounterRandomGenerator) {
+            return new RandomGenerator(null, new CounterRandomGenerator(seed), seed);
+        }
+        long splitSeed = random.nextLong(); // Seed reported by the new generator, for derive
+        if (random instanceof java.util.random.RandomGenerator.SplittableGenerator splittable) {
+            return new RandomGenerator(factory, splittable.split(), splitSeed);
+        }
+        return new RandomGenerator(factory, factory.create(splitSeed), splitSeed);
+    }
+
+    /**
+     * Creates a new generator of the same algorithm seeded from the seed of this one and an index, without
+     * consuming values of this generator. Deriving the same index always yields the same generator, so work
+     * split into indexed chunks draws the same numbers however the chunks are scheduled.
+     * <p>
+     * A counter-based generator is copied with the same seed: its rounds are told apart by their index.
+     * </p>
+     *
+     * @param index the index, e.g. of a chunk of rounds
+     * @return the new generator
+     */
+    public RandomGenerator derive(long index) {
+        if (factory == null) {
+            return new RandomGenerator(null, new CounterRandomGenerator(seed), seed);
+        }
+        long derivedSeed = CounterRandomGenerator.mix64(seed + (index + 1) * 0x9e3779b97f4a7c15L);
+        return new RandomGenerator(factory, factory.create(derivedSeed), derivedSeed);
+    }
+
+    /**
+     * Checks whether the generator is counter-based, and can therefore be positioned at any round.
+     *
+     * @return true for the {@value #COUNTER_ALGORITHM} generator
+     */
+    public boolean isCounterBased() {
+        return factory == null;
+    }
+
+    /**
+     * Positions a counter-based generator at the first value of a round. The values drawn afterwards depend only
+     * on the seed and the round index.
+     *
+     * @param round the round index
+     * @throws UnsupportedOperationException if the generator is not counter-based
+     */
+    public void seek(long round) {
+        if (!(random instanceof CounterRandomGenerator counter)) {
+            throw new UnsupportedOperationException(getAlgorithm() + " cannot be positioned at a round");
+        }
+        counter.seek(round);
+        // Entropy left over from the previous round must not leak into this one
+        entropy = 0;
+        entropyRange = 1;
+        hasSpareBits = false;
+    }
+
+    /**
+     * Gets the seed of the generator, drawn at random when none was given.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the name of the algorithm producing the numbers.
+     *
+     * @return the algorithm name
+     */
+    public String getAlgorithm() {
+        return factory == null ? COUNTER_ALGORITHM : factory.name();
     }
 }
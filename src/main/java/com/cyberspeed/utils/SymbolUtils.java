@@ -1,29 +1,29 @@
 package com.cyberspeed.utils;
 
-import com.cyberspeed.domain.enums.ImpactEnum;
 import com.cyberspeed.domain.model.symbols.SlotSymbol;
-import com.cyberspeed.domain.enums.SymbolTypeEnum;
-import com.cyberspeed.domain.model.symbols.bonus.BonusSymbol;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
 
-import java.util.Collections;
 import java.util.Map;
 
 /**
  * Utility class to provide helper methods for symbol-related operations.
  * This class primarily works with standard and bonus symbols.
+ * <p>
+ * The symbols are interned once into a {@link SymbolRegistry}; the engine works on its ids, and the
+ * name-based checks of this class are meant for the input and output boundaries.
+ * </p>
  */
 public class SymbolUtils {
 
-    private final Map<String, SlotSymbol> symbols;
+    private final SymbolRegistry registry;
 
     /**
      * Constructs a SymbolUtils instance with the provided symbol map.
-     * The map is wrapped to be unmodifiable to prevent external modifications.
      *
      * @param symbols a map of symbol keys to SlotSymbol objects
      */
     public SymbolUtils(Map<String, SlotSymbol> symbols) {
-        this.symbols = Collections.unmodifiableMap(symbols);
+        this.registry = new SymbolRegistry(symbols);
     }
 
     /**
@@ -34,12 +34,8 @@ public class SymbolUtils {
      * @throws IllegalArgumentException if the symbol is null or empty
      */
     public boolean isStandardSymbol(String symbol) {
-        if (symbol == null || symbol.isEmpty()) {
-            throw new IllegalArgumentException("Symbol cannot be null or empty");
-        }
-
-        // Check if the symbol exists in the map and if its type is STANDARD
-        return symbols.containsKey(symbol) && SymbolTypeEnum.STANDARD.equals(symbols.get(symbol).getType());
+        int id = resolve(symbol);
+        return id >= 0 && registry.isStandard(id);
     }
 
     /**
@@ -50,24 +46,30 @@ public class SymbolUtils {
      * @throws IllegalArgumentException if the symbol is null or empty
      */
     public boolean isBonusSymbol(String symbol) {
-        if (symbol == null || symbol.isEmpty()) {
-            throw new IllegalArgumentException("Symbol cannot be null or empty");
-        }
-
-        // Check if the symbol exists in the map and if its type is BONUS
-        return symbols.containsKey(symbol) && SymbolTypeEnum.BONUS.equals(symbols.get(symbol).getType());
+        int id = resolve(symbol);
+        return id >= 0 && registry.isBonus(id);
     }
 
     public boolean isBonusMissSymbol(String symbol) {
-        BonusSymbol bonusSymbol = null;
+        int id = resolve(symbol);
+        // Check if the symbol exists in the map and if its impact is MISS
+        return id >= 0 && registry.isBonusMiss(id);
+    }
+
+    /**
+     * Gets the registry holding the interned symbols.
+     *
+     * @return the symbol registry
+     */
+    public SymbolRegistry getRegistry() {
+        return registry;
+    }
+
+    private int resolve(String symbol) {
         if (symbol == null || symbol.isEmpty()) {
             throw new IllegalArgumentException("Symbol cannot be null or empty");
         }
-        if(isBonusSymbol(symbol)) {
-            bonusSymbol = (BonusSymbol) symbols.get(symbol);
-        }
-        // Check if the symbol exists in the map and if its type is BONUS
-        return bonusSymbol != null && bonusSymbol.getImpact().equals(ImpactEnum.MISS);
+        return registry.idOf(symbol);
     }
 
 }
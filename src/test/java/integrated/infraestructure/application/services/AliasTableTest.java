@@ -0,0 +1,64 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.domain.service.sampler.AliasTable;
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+import com.cyberspeed.utils.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AliasTableTest {
+
+    @Test
+    public void shouldGiveEveryOutcomeExactlyItsWeight() {
+        int[] weights = {1, 2, 3, 4, 5, 6};
+        AliasTable aliasTable = new AliasTable(weights);
+
+        // Every value of the range is drawn with the same probability, so counting the values mapped to each
+        // outcome gives its exact probability: weight / total = (weight * size) / range
+        assertArrayEquals(new long[]{6, 12, 18, 24, 30, 36}, countOutcomes(aliasTable));
+        assertEquals(6 * 21, aliasTable.range());
+        assertEquals(21, aliasTable.totalWeight());
+    }
+
+    @Test
+    public void shouldNeverDrawAZeroWeight() {
+        AliasTable aliasTable = new AliasTable(new int[]{3, 0, 1, 0, 7});
+
+        assertArrayEquals(new long[]{15, 0, 5, 0, 35}, countOutcomes(aliasTable));
+        RandomGenerator randomGenerator = new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 42);
+        for (int i = 0; i < 10_000; i++) {
+            int outcome = aliasTable.sample(randomGenerator);
+            assertNotEquals(1, outcome);
+            assertNotEquals(3, outcome);
+        }
+    }
+
+    @Test
+    public void shouldAlwaysDrawASingleSymbol() {
+        AliasTable aliasTable = new AliasTable(new int[]{5});
+
+        assertArrayEquals(new long[]{5}, countOutcomes(aliasTable));
+        RandomGenerator randomGenerator = new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 42);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, aliasTable.sample(randomGenerator));
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidWeights() {
+        assertThrows(ConfigurationException.class, () -> new AliasTable(new int[]{0, 0}));
+        assertThrows(ConfigurationException.class, () -> new AliasTable(new int[]{2, -1}));
+    }
+
+    private static long[] countOutcomes(AliasTable aliasTable) {
+        long[] counts = new long[aliasTable.size()];
+        for (long value = 0; value < aliasTable.range(); value++) {
+            counts[aliasTable.sample(value)]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,80 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.config.AppConfiguration;
+import com.cyberspeed.config.GameConfiguration;
+import com.cyberspeed.domain.enums.WhenEnum;
+import com.cyberspeed.domain.enums.WinGroupEnum;
+import com.cyberspeed.domain.model.game.SymbolMatrix;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.domain.model.winning.WinningAreaCombination;
+import com.cyberspeed.domain.validator.area.AreaLines;
+import com.cyberspeed.domain.validator.area.AreaValidator;
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+import com.cyberspeed.utils.SymbolUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AreaLinesTest {
+    private SymbolUtils symbolUtils;
+    private SymbolRegistry symbolRegistry;
+
+    @BeforeEach
+    public void init() {
+        GameConfiguration gameConfiguration = new AppConfiguration().loadConfiguration("config-test.json");
+        symbolUtils = new SymbolUtils(gameConfiguration.symbols());
+        symbolRegistry = symbolUtils.getRegistry();
+    }
+
+    @Test
+    public void shouldMatchALineCrossingAWordBoundary() {
+        // Column 4 of a 9x9 matrix covers the indexes 4 to 76, in both words of the bitboards
+        String[] column = new String[9];
+        for (int row = 0; row < 9; row++) {
+            column[row] = row + ":4";
+        }
+        AreaLines areaLines = new AreaValidator(symbolUtils, 9, 9).compile("vertical", 0,
+                new WinningAreaCombination(new String[][]{column}, 2, WhenEnum.LINEAR_SYMBOLS, WinGroupEnum.VERTICALLY_LINEAR));
+        assertEquals(1L << 4 | 1L << 13 | 1L << 22 | 1L << 31 | 1L << 40 | 1L << 49 | 1L << 58, areaLines.getMask(0, 0));
+        assertEquals(1L << 3 | 1L << 12, areaLines.getMask(0, 1));
+
+        String[][] symbols = new String[9][9];
+        for (String[] row : symbols) {
+            Arrays.fill(row, "B");
+            row[4] = "A";
+        }
+        int a = symbolRegistry.idOf("A");
+        assertEquals(a, areaLines.matchLine(0, SymbolMatrix.of(symbols, symbolRegistry), symbolRegistry.standardCount()));
+
+        // A different symbol in the second word only breaks the line
+        symbols[8][4] = "B";
+        assertEquals(-1, areaLines.matchLine(0, SymbolMatrix.of(symbols, symbolRegistry), symbolRegistry.standardCount()));
+    }
+
+    @Test
+    public void shouldRejectMalformedCoveredArea() {
+        AreaValidator areaValidator = new AreaValidator(symbolUtils, 3, 3);
+
+        for (String coordinate : new String[]{"1:1:1", "1", "a:1"}) {
+            WinningAreaCombination combination = new WinningAreaCombination(new String[][]{{"0:0", coordinate, "2:2"}}, 5,
+                    WhenEnum.LINEAR_SYMBOLS, WinGroupEnum.LTR_DIAGONALLY_LINEAR);
+            ConfigurationException exception = assertThrows(ConfigurationException.class,
+                    () -> areaValidator.compile("diagonal", 0, combination));
+            assertEquals("Invalid covered area " + coordinate + " in diagonal", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldRejectCoveredAreaOutsideTheMatrix() {
+        WinningAreaCombination combination = new WinningAreaCombination(new String[][]{{"0:0", "1:1", "3:3"}}, 5,
+                WhenEnum.LINEAR_SYMBOLS, WinGroupEnum.LTR_DIAGONALLY_LINEAR);
+
+        ConfigurationException exception = assertThrows(ConfigurationException.class,
+                () -> new AreaValidator(symbolUtils, 3, 3).compile("diagonal", 0, combination));
+        assertEquals("Covered area 3:3 in diagonal is outside the matrix", exception.getMessage());
+    }
+}
@@ -0,0 +1,79 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.config.AppConfiguration;
+import com.cyberspeed.config.GameConfiguration;
+import com.cyberspeed.domain.model.game.GameResult;
+import com.cyberspeed.domain.model.winning.CombinationRegistry;
+import com.cyberspeed.domain.model.winning.WinningCombination;
+import com.cyberspeed.infraestructure.application.service.GameValidator;
+import com.cyberspeed.utils.SymbolUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CombinationRegistryTest {
+    private GameConfiguration gameConfiguration;
+
+    @BeforeEach
+    public void init() {
+        GameConfiguration configured = new AppConfiguration().loadConfiguration("config-test.json");
+        // The linear combinations first, then the same symbols ones in reverse order
+        List<String> names = new ArrayList<>(configured.winCombinations().keySet());
+        Collections.reverse(names);
+        Map<String, WinningCombination> reversed = new LinkedHashMap<>();
+        for (String name : names) {
+            reversed.put(name, configured.winCombinations().get(name));
+        }
+        gameConfiguration = new GameConfiguration(configured.columns(), configured.rows(), configured.symbols(),
+                configured.probabilities(), reversed);
+    }
+
+    @Test
+    public void shouldNumberSameSymbolsBeforeLinearCombinations() {
+        CombinationRegistry combinationRegistry = new CombinationRegistry(gameConfiguration.winCombinations());
+
+        assertEquals(11, combinationRegistry.size());
+        assertEquals(7, combinationRegistry.sameSymbolsCount());
+        assertEquals("same_symbol_9_times", combinationRegistry.nameOf(0));
+        assertEquals("same_symbol_3_times", combinationRegistry.nameOf(6));
+        assertEquals("same_symbols_diagonally_right_to_left", combinationRegistry.nameOf(7));
+        assertEquals("same_symbols_horizontally", combinationRegistry.nameOf(10));
+        for (int id = 0; id < combinationRegistry.size(); id++) {
+            String name = combinationRegistry.nameOf(id);
+            assertEquals(id, combinationRegistry.idOf(name));
+            assertEquals(gameConfiguration.winCombinations().get(name), combinationRegistry.get(id));
+            assertEquals(gameConfiguration.winCombinations().get(name).getRewardMultiplier(), combinationRegistry.getRewardMultiplier(id));
+        }
+        assertTrue(combinationRegistry.isSameSymbols(6));
+        assertFalse(combinationRegistry.isSameSymbols(7));
+        assertEquals(-1, combinationRegistry.idOf("unknown"));
+    }
+
+    @Test
+    public void shouldApplySameSymbolsFirstAndOneCombinationPerGroup() {
+        GameValidator gameValidator = new GameValidator(gameConfiguration, new SymbolUtils(gameConfiguration.symbols()));
+        String[][] matrix = {
+                {"A", "A", "A"},
+                {"A", "A", "A"},
+                {"A", "A", "A"}
+        };
+
+        GameResult gameResult = gameValidator.validate(100, matrix);
+
+        // Only the largest count of the same_symbols group, and every line group once despite its three lines
+        assertEquals(List.of("same_symbol_9_times", "same_symbols_diagonally_right_to_left",
+                        "same_symbols_diagonally_left_to_right", "same_symbols_vertically", "same_symbols_horizontally"),
+                gameResult.appliedWinningCombinations().get("A"));
+        // 100 * 5 * 20, then times 5, 5, 2 and 2
+        assertEquals(100 * 5 * 20 * 5 * 5 * 2 * 2, gameResult.reward());
+    }
+}
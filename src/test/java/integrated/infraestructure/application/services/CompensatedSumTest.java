@@ -0,0 +1,24 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.domain.model.simulation.CompensatedSum;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CompensatedSumTest {
+
+    @Test
+    public void shouldKeepSmallValuesAddedToALargeSum() {
+        // 1 is below the precision of 1e16, so naive summation loses every unit
+        CompensatedSum left = new CompensatedSum();
+        CompensatedSum right = new CompensatedSum();
+        left.add(1e16);
+        for (int i = 0; i < 10; i++) {
+            left.add(1.0);
+            right.add(1.0);
+        }
+        left.add(right);
+
+        assertEquals(1e16 + 20, left.value());
+    }
+}
@@ -0,0 +1,129 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.config.AppConfiguration;
+import com.cyberspeed.config.GameConfiguration;
+import com.cyberspeed.config.GameModel;
+import com.cyberspeed.domain.enums.ImpactEnum;
+import com.cyberspeed.domain.enums.SymbolTypeEnum;
+import com.cyberspeed.domain.enums.WhenEnum;
+import com.cyberspeed.domain.enums.WinGroupEnum;
+import com.cyberspeed.domain.model.probabilities.Probabilities;
+import com.cyberspeed.domain.model.symbols.SlotSymbol;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbol;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbolProbabilities;
+import com.cyberspeed.domain.model.symbols.standard.StandardSymbolProbabilities;
+import com.cyberspeed.domain.model.winning.WinningAreaCombination;
+import com.cyberspeed.domain.model.winning.WinningCombination;
+import com.cyberspeed.domain.model.winning.WinningCountCombination;
+import com.cyberspeed.infraestructure.application.service.GameValidator;
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConfigurationCheckerTest {
+    private GameConfiguration gameConfiguration;
+
+    @BeforeEach
+    public void init() {
+        gameConfiguration = new AppConfiguration().loadConfiguration("config-test.json");
+    }
+
+    @Test
+    public void shouldCompileAValidConfiguration() {
+        assertDoesNotThrow(() -> GameModel.compile(gameConfiguration));
+    }
+
+    @Test
+    public void shouldReportEveryConfigurationErrorAtCompilation() {
+        GameConfiguration brokenConfiguration = new GameConfiguration(gameConfiguration.columns(), 2,
+                gameConfiguration.symbols(), gameConfiguration.probabilities(), gameConfiguration.winCombinations());
+
+        ConfigurationException exception = assertThrows(ConfigurationException.class,
+                () -> GameModel.compile(brokenConfiguration));
+
+        assertTrue(exception.getMessage().contains("Probabilities of cell 2:0 are outside the matrix"));
+        assertTrue(exception.getMessage().contains("Covered area 2:0 in same_symbols_vertically is not a row:column inside the matrix"));
+    }
+
+    @Test
+    public void shouldReportInvalidSymbols() {
+        Map<String, SlotSymbol> symbols = new LinkedHashMap<>(gameConfiguration.symbols());
+        symbols.put("10x", new BonusSymbol(10, SymbolTypeEnum.BONUS, null, null));
+        symbols.put("+1000", new BonusSymbol(0, SymbolTypeEnum.BONUS, ImpactEnum.EXTRA_BONUS, null));
+        symbols.put("A", new BonusSymbol(-5, SymbolTypeEnum.BONUS, ImpactEnum.MISS, null));
+
+        String message = compileErrors(new GameConfiguration(gameConfiguration.columns(), gameConfiguration.rows(), symbols,
+                gameConfiguration.probabilities(), gameConfiguration.winCombinations()));
+
+        assertTrue(message.contains("Bonus symbol 10x must have an impact"), message);
+        assertTrue(message.contains("Bonus symbol +1000 must define an extra amount"), message);
+        assertTrue(message.contains("Symbol A must have a finite, non-negative reward_multiplier"), message);
+        // A is referenced by the standard weights while it is now a bonus symbol
+        assertTrue(message.contains("Weights of cell 0:0 reference A, which is not a standard symbol"), message);
+    }
+
+    @Test
+    public void shouldReportInvalidWeights() {
+        // Cells 0:0, 1:0 and 2:0 come first
+        List<StandardSymbolProbabilities> standard = new ArrayList<>(gameConfiguration.probabilities().standardSymbolProbabilities());
+        standard.set(1, new StandardSymbolProbabilities(0, 0, standard.get(1).symbols()));
+        Map<String, Integer> weights = new LinkedHashMap<>(standard.get(2).symbols());
+        weights.put("B", -1);
+        weights.put("Z", 1);
+        standard.set(2, new StandardSymbolProbabilities(2, 0, weights));
+        standard.add(new StandardSymbolProbabilities(1, 0, Map.of("A", 0)));
+        Map<String, Integer> bonusWeights = Map.of("10x", 1, "D", 1);
+
+        String message = compileErrors(new GameConfiguration(gameConfiguration.columns(), gameConfiguration.rows(),
+                gameConfiguration.symbols(), new Probabilities(standard, new BonusSymbolProbabilities(bonusWeights)),
+                gameConfiguration.winCombinations()));
+
+        assertTrue(message.contains("Probabilities of cell 0:0 are configured more than once"), message);
+        assertTrue(message.contains("Weight of B in cell 2:0 must not be negative"), message);
+        assertTrue(message.contains("Weights of cell 2:0 reference Z, which is not a standard symbol"), message);
+        assertTrue(message.contains("Weights of cell 1:0 must have a positive total"), message);
+        assertTrue(message.contains("Weights of bonus symbols reference D, which is not a bonus symbol"), message);
+    }
+
+    @Test
+    public void shouldReportInvalidWinningCombinations() {
+        Map<String, WinningCombination> winCombinations = new LinkedHashMap<>(gameConfiguration.winCombinations());
+        winCombinations.put("same_symbol_3_times", new WinningCountCombination(0, 1, WhenEnum.SAME_SYMBOLS, WinGroupEnum.SAME_SYMBOLS));
+        winCombinations.put("same_symbols_vertically", new WinningAreaCombination(new String[0][], 2,
+                WhenEnum.LINEAR_SYMBOLS, WinGroupEnum.VERTICALLY_LINEAR));
+        winCombinations.put("same_symbols_diagonally_left_to_right", new WinningAreaCombination(new String[][]{{"0:0", "1:1", "x"}}, 5,
+                WhenEnum.LINEAR_SYMBOLS, WinGroupEnum.LTR_DIAGONALLY_LINEAR));
+        winCombinations.put("unconditional", null);
+
+        String message = compileErrors(new GameConfiguration(gameConfiguration.columns(), gameConfiguration.rows(),
+                gameConfiguration.symbols(), gameConfiguration.probabilities(), winCombinations));
+
+        assertTrue(message.contains("Winning combination same_symbol_3_times must define a positive count"), message);
+        assertTrue(message.contains("Winning combination same_symbols_vertically must define covered areas"), message);
+        assertTrue(message.contains("Covered area x in same_symbols_diagonally_left_to_right is not a row:column inside the matrix"), message);
+        assertTrue(message.contains("Winning combination unconditional must define a same_symbols or linear_symbols condition"), message);
+    }
+
+    @Test
+    public void shouldRejectMatrixOfAnotherSize() {
+        String[][] matrix = {
+                {"A", "A", "A"},
+                {"A", "A", "A"}
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> new GameValidator(GameModel.compile(gameConfiguration)).validate(100, matrix));
+    }
+
+    private static String compileErrors(GameConfiguration configuration) {
+        return assertThrows(ConfigurationException.class, () -> GameModel.compile(configuration)).getMessage();
+    }
+}
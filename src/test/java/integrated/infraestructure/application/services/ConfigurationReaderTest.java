@@ -0,0 +1,148 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.config.AppConfiguration;
+import com.cyberspeed.config.GameConfiguration;
+import com.cyberspeed.domain.enums.ImpactEnum;
+import com.cyberspeed.domain.enums.SymbolTypeEnum;
+import com.cyberspeed.domain.enums.WhenEnum;
+import com.cyberspeed.domain.enums.WinGroupEnum;
+import com.cyberspeed.domain.model.game.GameResult;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbol;
+import com.cyberspeed.domain.model.symbols.standard.StandardSymbolProbabilities;
+import com.cyberspeed.domain.model.winning.WinningAreaCombination;
+import com.cyberspeed.domain.model.winning.WinningCountCombination;
+import com.cyberspeed.infraestructure.application.service.GameValidator;
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConfigurationReaderTest {
+    private final AppConfiguration appConfiguration = new AppConfiguration();
+
+    @TempDir
+    Path directory;
+    private String content;
+
+    @BeforeEach
+    public void init() throws IOException {
+        try (InputStream inputStream = ConfigurationReaderTest.class.getResourceAsStream("/config-test.json")) {
+            content = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void shouldLoadConfigurationFromFilesystem() throws IOException {
+        GameConfiguration gameConfiguration = appConfiguration.loadConfiguration(write(content));
+
+        assertEquals(3, gameConfiguration.rows());
+        assertEquals(3, gameConfiguration.columns());
+        assertEquals(List.of("A", "B", "C", "D", "E", "F", "10x", "5x", "+1000", "+500", "MISS"),
+                List.copyOf(gameConfiguration.symbols().keySet()));
+        assertEquals(SymbolTypeEnum.STANDARD, gameConfiguration.symbols().get("C").getType());
+        assertEquals(2.5, gameConfiguration.symbols().get("C").getRewardMultiplier());
+        BonusSymbol extraBonus = assertInstanceOf(BonusSymbol.class, gameConfiguration.symbols().get("+1000"));
+        assertEquals(ImpactEnum.EXTRA_BONUS, extraBonus.getImpact());
+        assertEquals(1000, extraBonus.getExtra());
+        assertEquals(ImpactEnum.MISS, ((BonusSymbol) gameConfiguration.symbols().get("MISS")).getImpact());
+
+        List<StandardSymbolProbabilities> standard = gameConfiguration.probabilities().standardSymbolProbabilities();
+        assertEquals(9, standard.size());
+        assertEquals(0, standard.getFirst().row());
+        assertEquals(0, standard.getFirst().column());
+        assertEquals(1, standard.getFirst().symbols().get("A"));
+        assertEquals(Map.of("10x", 1, "5x", 2, "+1000", 3, "+500", 4, "MISS", 5),
+                gameConfiguration.probabilities().bonusSymbolProbabilities().symbols());
+
+        assertEquals(11, gameConfiguration.winCombinations().size());
+        WinningCountCombination fourTimes = assertInstanceOf(WinningCountCombination.class,
+                gameConfiguration.winCombinations().get("same_symbol_4_times"));
+        assertEquals(4, fourTimes.getCount());
+        assertEquals(1.5, fourTimes.getRewardMultiplier());
+        assertEquals(WinGroupEnum.SAME_SYMBOLS, fourTimes.getGroup());
+        WinningAreaCombination diagonal = assertInstanceOf(WinningAreaCombination.class,
+                gameConfiguration.winCombinations().get("same_symbols_diagonally_left_to_right"));
+        assertEquals(WhenEnum.LINEAR_SYMBOLS, diagonal.getWhen());
+        assertEquals(WinGroupEnum.LTR_DIAGONALLY_LINEAR, diagonal.getGroup());
+        assertArrayEquals(new String[][]{{"0:0", "1:1", "2:2"}}, diagonal.getCoveredAreas());
+    }
+
+    @Test
+    public void shouldPlayTheConfigurationOfTheFilesystem() throws IOException {
+        String[][] matrix = {
+                {"A", "A", "B"},
+                {"A", "+1000", "B"},
+                {"A", "A", "B"}
+        };
+
+        GameResult expected = new GameValidator(appConfiguration.loadModel("config-test.json")).validate(100, matrix);
+        GameResult gameResult = new GameValidator(appConfiguration.loadModel(write(content))).validate(100, matrix);
+
+        assertEquals(expected.reward(), gameResult.reward());
+        assertEquals(expected.appliedWinningCombinations(), gameResult.appliedWinningCombinations());
+        assertEquals(expected.appliedBonusSymbol(), gameResult.appliedBonusSymbol());
+    }
+
+    @Test
+    public void shouldRejectAnUnknownImpact() throws IOException {
+        String config = write(content.replaceFirst("\"multiply_reward\"", "\"multiply\""));
+
+        assertError("Invalid impact: multiply at $.symbols.10x.impact", config);
+    }
+
+    @Test
+    public void shouldRejectAnUnknownGroup() throws IOException {
+        String config = write(content.replaceFirst("\"group\": \"same_symbols\"", "\"group\": \"same_symbol\""));
+
+        assertError("Invalid group: same_symbol at $.win_combinations.same_symbol_3_times.group", config);
+    }
+
+    @Test
+    public void shouldRejectMissingMembers() throws IOException {
+        assertError("Missing symbol type at $.symbols.A",
+                write(content.replaceFirst(",\\s*\"type\": \"standard\"", "")));
+        assertError("Missing when value at $.win_combinations.same_symbol_3_times",
+                write(content.replaceFirst("\"when\": \"same_symbols\",", "")));
+
+        // Members the reader leaves unset are reported by the compilation
+        String empty = write("{ \"columns\": 3, \"rows\": 3 }");
+        ConfigurationException exception = assertThrows(ConfigurationException.class, () -> appConfiguration.loadModel(empty));
+        assertTrue(exception.getMessage().contains("No symbols configured"), exception.getMessage());
+        assertTrue(exception.getMessage().contains("No probabilities configured"), exception.getMessage());
+        assertTrue(exception.getMessage().contains("No winning combinations configured"), exception.getMessage());
+    }
+
+    @Test
+    public void shouldRejectMalformedJson() throws IOException {
+        assertError("End of input at line 1 column 24 path $.rows", write("{ \"columns\": 3, \"rows\":"));
+        assertError("Invalid integer at $.columns", write("{ \"columns\": \"three\", \"rows\": 3 }"));
+        assertError("Expected BEGIN_OBJECT but was BEGIN_ARRAY", write("[]"));
+        assertError("malformed JSON at line 1 column 19", write("{ \"columns\": 3 } { \"rows\": 3 }"));
+    }
+
+    private void assertError(String expected, String config) {
+        ConfigurationException exception = assertThrows(ConfigurationException.class, () -> appConfiguration.loadConfiguration(config));
+        assertTrue(exception.getMessage().startsWith("Error loading configuration: "), exception.getMessage());
+        assertTrue(exception.getMessage().contains(expected), exception.getMessage());
+    }
+
+    private String write(String json) throws IOException {
+        Path config = Files.createTempFile(directory, "config", ".json");
+        Files.writeString(config, json);
+        return config.toString();
+    }
+}
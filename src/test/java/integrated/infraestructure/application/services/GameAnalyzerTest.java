@@ -0,0 +1,64 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.config.AppConfiguration;
+import com.cyberspeed.config.GameConfiguration;
+import com.cyberspeed.domain.model.analysis.AnalysisResult;
+import com.cyberspeed.domain.model.simulation.SimulationResult;
+import com.cyberspeed.domain.service.ProbabilityAggregator;
+import com.cyberspeed.domain.service.ProbabilityBonusService;
+import com.cyberspeed.domain.service.ProbabilityStandardService;
+import com.cyberspeed.domain.service.sampler.SamplerGrid;
+import com.cyberspeed.infraestructure.application.service.GameAnalyzer;
+import com.cyberspeed.infraestructure.application.service.GameSimulator;
+import com.cyberspeed.infraestructure.application.service.GameValidator;
+import com.cyberspeed.utils.RandomGenerator;
+import com.cyberspeed.utils.SymbolUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameAnalyzerTest {
+    private GameConfiguration gameConfiguration;
+    private ProbabilityAggregator probabilityAggregator;
+    private SymbolUtils symbolUtils;
+
+    private void init(String config) {
+        AppConfiguration appConfiguration = new AppConfiguration();
+        gameConfiguration = appConfiguration.loadConfiguration(config);
+        ProbabilityBonusService probabilityBonusService = new ProbabilityBonusService(gameConfiguration.probabilities().bonusSymbolProbabilities());
+        ProbabilityStandardService probabilityStandardService = new ProbabilityStandardService(gameConfiguration.probabilities().standardSymbolProbabilities());
+        probabilityAggregator = new ProbabilityAggregator(probabilityStandardService, probabilityBonusService);
+        symbolUtils = new SymbolUtils(gameConfiguration.symbols());
+    }
+
+    @Test
+    public void shouldGiveCertainLossForALosingDeterministicMatrix() {
+        init("config-test-matrix.json");
+        AnalysisResult result = new GameAnalyzer(gameConfiguration, symbolUtils, probabilityAggregator).analyze(100);
+
+        assertEquals(Map.of(0.0, 1.0), result.rewardProbabilities());
+        assertEquals(0.0, result.rtp());
+        assertEquals(0.0, result.hitFrequency());
+    }
+
+    @Test
+    public void shouldAgreeWithSimulation() {
+        init("config-test.json");
+        AnalysisResult result = new GameAnalyzer(gameConfiguration, symbolUtils, probabilityAggregator).analyze(100);
+
+        double totalProbability = result.rewardProbabilities().values().stream().mapToDouble(Double::doubleValue).sum();
+        assertEquals(1.0, totalProbability, 1e-9);
+
+        GameSimulator gameSimulator = new GameSimulator(new SamplerGrid(probabilityAggregator), symbolUtils,
+                new GameValidator(gameConfiguration, symbolUtils), gameConfiguration.rows(), gameConfiguration.columns());
+        int rounds = 200_000;
+        SimulationResult simulation = gameSimulator.simulate(rounds, 100, 2, new RandomGenerator(RandomGenerator.COUNTER_ALGORITHM, 7));
+
+        double standardError = result.standardDeviation() / 100 / Math.sqrt(rounds);
+        assertTrue(Math.abs(simulation.rtp() - result.rtp()) < 5 * standardError);
+        assertEquals(result.hitFrequency(), simulation.hitFrequency(), 0.01);
+    }
+}
@@ -0,0 +1,76 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.config.GameModel;
+import com.cyberspeed.config.GameRegistry;
+import com.cyberspeed.shared.exceptions.ConfigurationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameRegistryTest {
+    private static final Map<String, String> GAMES = Map.of(
+            "classic", "config-test.json",
+            "classic-copy", "config-test.json",
+            "fixed", "config-test-matrix.json");
+
+    @Test
+    public void shouldShareIdenticalStructuresAcrossGames() {
+        GameRegistry gameRegistry = new GameRegistry(GAMES, Long.MAX_VALUE);
+
+        GameModel classic = gameRegistry.get("classic");
+        GameModel copy = gameRegistry.get("classic-copy");
+
+        assertSame(classic, gameRegistry.get("classic"));
+        assertNotSame(classic, copy);
+        assertSame(classic.getSymbolUtils(), copy.getSymbolUtils());
+        assertSame(classic.getSamplerGrid().getSampler(0, 0, true), copy.getSamplerGrid().getSampler(0, 0, true));
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedGameOverTheBudget() {
+        GameRegistry unbounded = new GameRegistry(GAMES, Long.MAX_VALUE);
+        long classicBytes = unbounded.get("classic").estimateBytes();
+        long fixedBytes = unbounded.get("fixed").estimateBytes();
+        // Room for either game, but not both
+        long budget = classicBytes + fixedBytes - 1;
+        GameRegistry gameRegistry = new GameRegistry(GAMES, budget);
+
+        GameModel classic = gameRegistry.get("classic");
+        gameRegistry.get("fixed");
+
+        assertFalse(gameRegistry.isLoaded("classic"));
+        assertTrue(gameRegistry.isLoaded("fixed"));
+        assertEquals(fixedBytes, gameRegistry.getUsedBytes());
+        assertNotSame(classic, gameRegistry.get("classic"));
+    }
+
+    @Test
+    public void shouldChargeSharedStructuresOnce() {
+        GameRegistry unbounded = new GameRegistry(GAMES, Long.MAX_VALUE);
+        long classicBytes = unbounded.get("classic").estimateBytes();
+        long fixedBytes = unbounded.get("fixed").estimateBytes();
+        GameRegistry gameRegistry = new GameRegistry(GAMES, classicBytes + fixedBytes - 1);
+
+        // The copy shares the weights and samplers of the classic game, so both fit where the fixed game does not
+        gameRegistry.get("classic");
+        gameRegistry.get("classic-copy");
+        assertTrue(gameRegistry.isLoaded("classic"));
+        assertTrue(gameRegistry.isLoaded("classic-copy"));
+        assertTrue(gameRegistry.getUsedBytes() < 2 * classicBytes);
+
+        // Evicting the classic game frees none of the structures the copy still references, so the copy goes too
+        gameRegistry.get("fixed");
+        assertFalse(gameRegistry.isLoaded("classic"));
+        assertFalse(gameRegistry.isLoaded("classic-copy"));
+        assertEquals(fixedBytes, gameRegistry.getUsedBytes());
+    }
+
+    @Test
+    public void shouldRejectUnknownGame() {
+        GameRegistry gameRegistry = new GameRegistry(GAMES, Long.MAX_VALUE);
+
+        assertThrows(ConfigurationException.class, () -> gameRegistry.get("unknown"));
+    }
+}
@@ -0,0 +1,247 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.config.AppConfiguration;
+import com.cyberspeed.config.GameConfiguration;
+import com.cyberspeed.config.GameModel;
+import com.cyberspeed.domain.model.analysis.AnalysisResult;
+import com.cyberspeed.domain.model.game.GameResult;
+import com.cyberspeed.domain.model.game.SymbolMatrix;
+import com.cyberspeed.domain.model.probabilities.Probabilities;
+import com.cyberspeed.domain.model.simulation.ConfidenceInterval;
+import com.cyberspeed.domain.model.simulation.RareEventResult;
+import com.cyberspeed.domain.model.simulation.SimulationResult;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbolProbabilities;
+import com.cyberspeed.domain.service.ProbabilityAggregator;
+import com.cyberspeed.domain.service.ProbabilityBonusService;
+import com.cyberspeed.domain.service.ProbabilityStandardService;
+import com.cyberspeed.domain.service.SelectorSymbol;
+import com.cyberspeed.domain.service.sampler.SamplerGrid;
+import com.cyberspeed.infraestructure.application.service.GameAnalyzer;
+import com.cyberspeed.infraestructure.application.service.GameSimulator;
+import com.cyberspeed.infraestructure.application.service.GameValidator;
+import com.cyberspeed.infraestructure.application.service.MatrixGenerator;
+import com.cyberspeed.utils.RandomGenerator;
+import com.cyberspeed.utils.SymbolUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameSimulatorTest {
+    private GameSimulator gameSimulator;
+    private GameValidator gameValidator;
+
+    @BeforeEach
+    public void init() {
+        gameSimulator = newSimulator("config-test-matrix.json");
+    }
+
+    private GameSimulator newSimulator(String config) {
+        AppConfiguration appConfiguration = new AppConfiguration();
+        GameConfiguration gameConfiguration = appConfiguration.loadConfiguration(config);
+        ProbabilityBonusService probabilityBonusService = new ProbabilityBonusService(gameConfiguration.probabilities().bonusSymbolProbabilities());
+        ProbabilityStandardService probabilityStandardService = new ProbabilityStandardService(gameConfiguration.probabilities().standardSymbolProbabilities());
+        ProbabilityAggregator probabilityAggregator = new ProbabilityAggregator(probabilityStandardService, probabilityBonusService);
+        SymbolUtils symbolUtils = new SymbolUtils(gameConfiguration.symbols());
+        gameValidator = new GameValidator(gameConfiguration, symbolUtils);
+        return new GameSimulator(new SamplerGrid(probabilityAggregator), symbolUtils, gameValidator,
+                gameConfiguration.rows(), gameConfiguration.columns(), 256);
+    }
+
+    @Test
+    public void shouldPlayEveryRoundAcrossWorkers() {
+        SimulationResult result = gameSimulator.simulate(1001, 100, 4);
+        assertEquals(1001, result.rounds());
+        assertEquals(100.0, result.betAmount());
+    }
+
+    @Test
+    public void shouldReportTheRewardOfADeterministicMatrix() {
+        // Every cell has a single symbol with a non-zero weight, so every round plays the same losing matrix
+        String[][] matrix = {
+                {"A", "D", "A"},
+                {"B", "E", "B"},
+                {"C", "F", "C"}
+        };
+        GameResult gameResult = gameValidator.validate(100, matrix);
+
+        SimulationResult result = gameSimulator.simulate(500, 100, 2);
+        assertEquals(gameResult.reward(), result.maxReward());
+        assertEquals(0.0, result.rtp());
+        assertEquals(0.0, result.hitFrequency());
+        assertEquals(0.0, result.variance());
+        assertEquals(0.0, result.combinationHitRates().get("same_symbol_3_times"));
+    }
+
+    private GameSimulator newSimulator(GameModel gameModel) {
+        return new GameSimulator(gameModel.getSamplerGrid(), gameModel.getSymbolUtils(), new GameValidator(gameModel),
+                gameModel.getRows(), gameModel.getColumns(), 256);
+    }
+
+    @Test
+    public void shouldPlayTheSameRoundsWhateverTheNumberOfWorkers() {
+        GameSimulator simulator = newSimulator("config-test.json");
+
+        SimulationResult single = simulator.simulate(5000, 100, 1, new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 42));
+        SimulationResult parallel = simulator.simulate(5000, 100, 3, new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 42));
+        assertEquals(single, parallel);
+    }
+
+    @Test
+    public void shouldPlayTheSameRoundsWithTheCounterBasedGenerator() {
+        GameSimulator simulator = newSimulator("config-test.json");
+
+        SimulationResult single = simulator.simulate(5000, 100, 1, new RandomGenerator(RandomGenerator.COUNTER_ALGORITHM, 42));
+        SimulationResult parallel = simulator.simulate(5000, 100, 4, new RandomGenerator(RandomGenerator.COUNTER_ALGORITHM, 42));
+        assertEquals(single, parallel);
+    }
+
+    @Test
+    public void shouldStopOnceTheRtpIntervalIsNarrowEnough() {
+        GameSimulator simulator = newSimulator("config-test.json");
+
+        SimulationResult result = simulator.simulateUntil(0.5, 0.01, 0.95, 1_000_000, 100, 2,
+                new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 42));
+        assertTrue(result.rtpInterval().halfWidth() <= 0.5);
+        assertTrue(result.hitFrequencyInterval().halfWidth() <= 0.01);
+        assertTrue(result.rounds() < 1_000_000);
+        assertEquals(0, result.rounds() % 256);
+        // The rounds played are the first rounds of a fixed-size simulation with the same seed
+        assertEquals(simulator.simulate(result.rounds(), 100, 1, new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 42)), result);
+    }
+
+    @Test
+    public void shouldStopAfterTheSameRoundsWhateverTheNumberOfWorkers() {
+        GameSimulator simulator = newSimulator("config-test.json");
+
+        // A loose target met by the first batch, and a tighter one needing more
+        for (double rtpHalfWidth : new double[]{5, 0.5}) {
+            SimulationResult single = simulator.simulateUntil(rtpHalfWidth, 0.05, 0.95, 1_000_000, 100, 1,
+                    new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 42));
+            SimulationResult parallel = simulator.simulateUntil(rtpHalfWidth, 0.05, 0.95, 1_000_000, 100, 4,
+                    new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 42));
+            assertEquals(single, parallel);
+        }
+    }
+
+    @Test
+    public void shouldStopAtTheMaximumNumberOfRounds() {
+        GameSimulator simulator = newSimulator("config-test.json");
+
+        SimulationResult result = simulator.simulateUntil(1e-9, 0, 0.95, 1000, 100, 2,
+                new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 42));
+        assertEquals(1000, result.rounds());
+    }
+
+    @Test
+    public void shouldReplayTheRoundsOfASimulation() {
+        GameModel gameModel = new AppConfiguration().loadModel("config-test.json");
+        GameValidator validator = new GameValidator(gameModel);
+        // A chunk per round, so the statistics of a single round can be played apart
+        GameSimulator simulator = new GameSimulator(gameModel.getSamplerGrid(), gameModel.getSymbolUtils(), validator,
+                gameModel.getRows(), gameModel.getColumns(), 1);
+        RandomGenerator seeded = new RandomGenerator(RandomGenerator.COUNTER_ALGORITHM, 42);
+        SimulationResult simulation = simulator.simulate(50, 100, 2, seeded);
+
+        // Replay in another order, on a generator that already played other rounds
+        MatrixGenerator matrixGenerator = new MatrixGenerator(new SelectorSymbol(gameModel.getSamplerGrid(),
+                new RandomGenerator(RandomGenerator.COUNTER_ALGORITHM, 42)), gameModel.getSymbolUtils());
+        double totalReward = 0;
+        for (long round = 49; round >= 0; round--) {
+            SymbolMatrix matrix = new SymbolMatrix(gameModel.getRows(), gameModel.getColumns(), validator.getSymbolRegistry().size());
+            matrixGenerator.generate(matrix, round);
+            GameResult replayed = validator.validate(100, matrix);
+            totalReward += replayed.reward();
+
+            SimulationResult played = simulator.simulateStatistics(round, 1, 100, 1, seeded)
+                    .toResult(100, validator.getSymbolRegistry(), validator.getCombinationRegistry());
+            assertEquals(played.totalReward(), replayed.reward());
+            for (Map.Entry<String, Double> combination : played.combinationHitRates().entrySet()) {
+                boolean applied = replayed.appliedWinningCombinations().values().stream()
+                        .anyMatch(combinations -> combinations.contains(combination.getKey()));
+                assertEquals(applied ? 1.0 : 0.0, combination.getValue(), combination.getKey() + " in round " + round);
+            }
+            assertArrayEquals(replayed.matrix(), matrixGenerator.generateMatrix(gameModel.getRows(), gameModel.getColumns(), round));
+        }
+        assertEquals(simulation.totalReward(), totalReward, 1e-6);
+    }
+
+    @Test
+    public void shouldAgreeWithAnalysisWhenTiltedAndStratified() {
+        GameModel gameModel = new AppConfiguration().loadModel("config-test.json");
+        AnalysisResult analysis = analyze(gameModel);
+        double threshold = 5000;
+
+        RareEventResult simulation = newSimulator(gameModel).simulateRareEvents(100_000, 100, 0.5, true,
+                new double[]{threshold}, 0.95, 2, new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 7));
+
+        // Five standard errors, the half-widths being 1.96 standard errors
+        assertEquals(analysis.rtp(), simulation.rtpInterval().estimate(), 5 / 1.96 * simulation.rtpInterval().halfWidth());
+        ConfidenceInterval tail = simulation.tailProbabilities().get(String.valueOf(threshold));
+        assertEquals(tailProbability(analysis, threshold), tail.estimate(), 5 / 1.96 * tail.halfWidth());
+        assertEquals(100_000, simulation.rounds());
+    }
+
+    @Test
+    public void shouldAgreeWithAnalysisWhenStratified() {
+        GameModel gameModel = new AppConfiguration().loadModel("config-test.json");
+        AnalysisResult analysis = analyze(gameModel);
+
+        RareEventResult simulation = newSimulator(gameModel).simulateRareEvents(100_000, 100, 0, true,
+                new double[0], 0.95, 2, new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 7));
+
+        assertEquals(analysis.rtp(), simulation.rtpInterval().estimate(), 5 / 1.96 * simulation.rtpInterval().halfWidth());
+        assertEquals(100_000, simulation.rounds());
+    }
+
+    @Test
+    public void shouldKeepStratifiedRoundsWithinTheBudget() {
+        // The 10x stratum is so rare that rounding down its share of the rounds gives it none
+        GameConfiguration gameConfiguration = new AppConfiguration().loadConfiguration("config-test.json");
+        Probabilities probabilities = new Probabilities(gameConfiguration.probabilities().standardSymbolProbabilities(),
+                new BonusSymbolProbabilities(Map.of("10x", 1, "5x", 1000, "+1000", 1000, "+500", 1000, "MISS", 1000)));
+        GameModel gameModel = GameModel.compile(new GameConfiguration(gameConfiguration.columns(), gameConfiguration.rows(),
+                gameConfiguration.symbols(), probabilities, gameConfiguration.winCombinations()));
+        GameSimulator simulator = newSimulator(gameModel);
+
+        for (long rounds : new long[]{1000, 1003}) {
+            RareEventResult simulation = simulator.simulateRareEvents(rounds, 100, 0, true, new double[0], 0.95, 2,
+                    new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 7));
+
+            assertEquals(rounds, simulation.rounds());
+            assertEquals(rounds, simulation.strataRounds().values().stream().mapToLong(Long::longValue).sum());
+            // Two rounds of the pilot and two of the other rounds at least
+            assertTrue(simulation.strataRounds().get("10x") >= 4, simulation.strataRounds().toString());
+        }
+    }
+
+    @Test
+    public void shouldAgreeWithAnalysisWhenTilted() {
+        GameModel gameModel = new AppConfiguration().loadModel("config-test.json");
+        AnalysisResult analysis = analyze(gameModel);
+
+        RareEventResult simulation = newSimulator(gameModel).simulateRareEvents(100_000, 100, 0.5, false,
+                new double[0], 0.95, 2, new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 7));
+
+        assertEquals(analysis.rtp(), simulation.rtpInterval().estimate(), 5 / 1.96 * simulation.rtpInterval().halfWidth());
+        assertEquals(100_000, simulation.rounds());
+    }
+
+    private static AnalysisResult analyze(GameModel gameModel) {
+        return new GameAnalyzer(gameModel.getGameConfiguration(), gameModel.getSymbolUtils(),
+                gameModel.getProbabilityAggregator()).analyze(100);
+    }
+
+    /**
+     * Gets the exact probability of a reward of at least the threshold from the distribution of the analysis.
+     */
+    private static double tailProbability(AnalysisResult analysis, double threshold) {
+        return analysis.rewardProbabilities().entrySet().stream()
+                .filter(entry -> entry.getKey() >= threshold).mapToDouble(Map.Entry::getValue).sum();
+    }
+}
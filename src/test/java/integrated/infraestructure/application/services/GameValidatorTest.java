@@ -155,6 +155,4 @@ public class GameValidatorTest {
         assertEquals(gameResult.appliedWinningCombinations(), expectedCombinations);
         assertEquals(gameResult.reward(), 1000000.00);
     }
-
-
 }
@@ -0,0 +1,102 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.config.AppConfiguration;
+import com.cyberspeed.config.ConfigurationWatcher;
+import com.cyberspeed.config.GameModel;
+import com.cyberspeed.domain.model.game.GameResult;
+import com.cyberspeed.infraestructure.application.service.LiveGame;
+import com.cyberspeed.utils.RandomGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public class LiveGameTest {
+
+    @Test
+    public void shouldPlayOnTheReloadedConfiguration(@TempDir Path directory) throws IOException, InterruptedException {
+        Path config = directory.resolve("config.json");
+        copyResource("/config-test.json", config);
+        GameModel initial = new AppConfiguration().loadModel(config.toString());
+        LiveGame liveGame = new LiveGame(initial);
+
+        try (ConfigurationWatcher ignored = new ConfigurationWatcher(config, liveGame::publish)) {
+            // A configuration drawing a single matrix
+            replace(directory, config, "/config-test-matrix.json");
+
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (liveGame.getGameModel() == initial && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+        }
+
+        assertNotSame(initial, liveGame.getGameModel());
+        String[][] expectedMatrix = {
+                {"A", "D", "A"},
+                {"B", "E", "B"},
+                {"C", "F", "C"}
+        };
+        GameResult gameResult = liveGame.play(100, new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 42));
+        assertArrayEquals(expectedMatrix, gameResult.matrix());
+    }
+
+    @Test
+    public void shouldKeepReloadingAfterAFailedReload(@TempDir Path directory) throws IOException, InterruptedException {
+        Path config = directory.resolve("config.json");
+        copyResource("/config-test.json", config);
+        GameModel initial = new AppConfiguration().loadModel(config.toString());
+        LiveGame liveGame = new LiveGame(initial);
+        AtomicInteger reloads = new AtomicInteger();
+        Consumer<GameModel> listener = gameModel -> {
+            if (reloads.incrementAndGet() == 1) {
+                throw new IllegalStateException("Listener failure");
+            }
+            liveGame.publish(gameModel);
+        };
+
+        try (ConfigurationWatcher ignored = new ConfigurationWatcher(config, listener)) {
+            // A valid file the listener fails on, then a file that does not parse, then a valid one
+            replace(directory, config, "/config-test.json");
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (reloads.get() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            Files.writeString(config, "{ \"columns\": ");
+            Thread.sleep(500);
+            replace(directory, config, "/config-test-matrix.json");
+
+            while (liveGame.getGameModel() == initial && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+        }
+
+        assertEquals(2, reloads.get());
+        assertNotSame(initial, liveGame.getGameModel());
+        assertEquals(0, liveGame.play(100, new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 42)).reward());
+    }
+
+    /**
+     * Replaces a file the way deployment tools do, with a staged copy of a resource moved over it.
+     */
+    private static void replace(Path directory, Path target, String resource) throws IOException {
+        Path staged = directory.resolve(target.getFileName() + ".staged");
+        copyResource(resource, staged);
+        Files.move(staged, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void copyResource(String resource, Path target) throws IOException {
+        try (InputStream inputStream = LiveGameTest.class.getResourceAsStream(resource)) {
+            Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.config.AppConfiguration;
+import com.cyberspeed.config.GameModel;
+import com.cyberspeed.domain.model.simulation.SimulationResult;
+import com.cyberspeed.infraestructure.application.service.GameSimulator;
+import com.cyberspeed.infraestructure.application.service.GameValidator;
+import com.cyberspeed.utils.RandomGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ModelSnapshotTest {
+    private final AppConfiguration appConfiguration = new AppConfiguration();
+
+    @TempDir
+    Path directory;
+    private Path config;
+    private Path snapshot;
+
+    @BeforeEach
+    public void init() throws IOException {
+        config = directory.resolve("config.json");
+        snapshot = directory.resolve("config.snapshot");
+        try (InputStream inputStream = ModelSnapshotTest.class.getResourceAsStream("/config-test.json")) {
+            Files.copy(inputStream, config);
+        }
+    }
+
+    @Test
+    public void shouldPlayTheSameRoundsFromASnapshot() throws IOException {
+        GameModel compiled = appConfiguration.loadModel(config.toString(), snapshot);
+        byte[] written = Files.readAllBytes(snapshot);
+        GameModel restored = appConfiguration.loadModel(config.toString(), snapshot);
+
+        assertEquals(simulate(compiled), simulate(restored));
+        assertArrayEquals(written, Files.readAllBytes(snapshot));
+    }
+
+    @Test
+    public void shouldRecompileWhenTheConfigurationChanged() throws IOException {
+        appConfiguration.loadModel(config.toString(), snapshot);
+        byte[] written = Files.readAllBytes(snapshot);
+
+        // A changed configuration makes the snapshot stale, and it is written again
+        Files.writeString(config, System.lineSeparator(), StandardOpenOption.APPEND);
+        appConfiguration.loadModel(config.toString(), snapshot);
+        assertFalse(Arrays.equals(written, Files.readAllBytes(snapshot)));
+    }
+
+    @Test
+    public void shouldRecompileATruncatedSnapshot() throws IOException {
+        GameModel compiled = appConfiguration.loadModel(config.toString(), snapshot);
+        byte[] written = Files.readAllBytes(snapshot);
+
+        for (int length : new int[]{0, 6, 30, written.length / 2, written.length - 1}) {
+            Files.write(snapshot, Arrays.copyOf(written, length));
+            assertRecompiled(compiled, written);
+        }
+    }
+
+    @Test
+    public void shouldRecompileASnapshotOfAnotherFormat() throws IOException {
+        GameModel compiled = appConfiguration.loadModel(config.toString(), snapshot);
+        byte[] written = Files.readAllBytes(snapshot);
+
+        // Not a snapshot
+        byte[] corrupted = written.clone();
+        ByteBuffer.wrap(corrupted).putInt(0, 0x7b0a2020);
+        Files.write(snapshot, corrupted);
+        assertRecompiled(compiled, written);
+
+        // Another version
+        corrupted = written.clone();
+        ByteBuffer.wrap(corrupted).putInt(4, ByteBuffer.wrap(written).getInt(4) + 1);
+        Files.write(snapshot, corrupted);
+        assertRecompiled(compiled, written);
+    }
+
+    @Test
+    public void shouldRecompileASnapshotWithAStaleChecksum() throws IOException {
+        GameModel compiled = appConfiguration.loadModel(config.toString(), snapshot);
+        byte[] written = Files.readAllBytes(snapshot);
+
+        // Last byte of the checksum of the configuration file, following its length
+        byte[] corrupted = written.clone();
+        corrupted[12 + ByteBuffer.wrap(written).getInt(8) - 1] ^= 1;
+        Files.write(snapshot, corrupted);
+        assertRecompiled(compiled, written);
+    }
+
+    @Test
+    public void shouldRecompileASnapshotWithACorruptedPayload() throws IOException {
+        GameModel compiled = appConfiguration.loadModel(config.toString(), snapshot);
+        byte[] written = Files.readAllBytes(snapshot);
+
+        // The reward multiplier of A, 5, becomes 50: the payload still reads as a valid configuration
+        byte[] corrupted = written.clone();
+        int position = indexOf(corrupted, ByteBuffer.allocate(Double.BYTES).putDouble(5).array());
+        assertTrue(position > 0);
+        ByteBuffer.wrap(corrupted).putDouble(position, 50);
+        Files.write(snapshot, corrupted);
+        assertRecompiled(compiled, written);
+    }
+
+    /**
+     * Loads the model from the snapshot, which must have been rejected: the model is compiled again and the
+     * snapshot written again.
+     */
+    private void assertRecompiled(GameModel compiled, byte[] written) throws IOException {
+        GameModel loaded = appConfiguration.loadModel(config.toString(), snapshot);
+        assertEquals(simulate(compiled), simulate(loaded));
+        assertArrayEquals(written, Files.readAllBytes(snapshot));
+    }
+
+    private static SimulationResult simulate(GameModel gameModel) {
+        GameSimulator gameSimulator = new GameSimulator(gameModel.getSamplerGrid(), gameModel.getSymbolUtils(),
+                new GameValidator(gameModel), gameModel.getRows(), gameModel.getColumns(), 256);
+        return gameSimulator.simulate(5000, 100, 2, new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 42));
+    }
+
+    private static int indexOf(byte[] bytes, byte[] value) {
+        for (int i = 0; i + value.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + value.length, value, 0, value.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
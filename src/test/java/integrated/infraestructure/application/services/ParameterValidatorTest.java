@@ -0,0 +1,54 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.infraestructure.application.exceptions.InvalidParametersException;
+import com.cyberspeed.infraestructure.application.validator.ParameterValidator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParameterValidatorTest {
+
+    @Test
+    public void shouldReplayASingleRound() {
+        assertDoesNotThrow(() -> ParameterValidator.validate(arguments("--seed", "42", "--rng", "SplitMixCounter", "--round", "7")));
+    }
+
+    @Test
+    public void shouldRejectARoundWithASimulation() {
+        // The simulation would otherwise ignore the round silently
+        InvalidParametersException exception = assertThrows(InvalidParametersException.class,
+                () -> ParameterValidator.validate(arguments("--seed", "42", "--round", "7", "--simulate", "1000")));
+        assertTrue(exception.getMessage().contains(ParameterValidator.ROUND_OPTION));
+        assertTrue(exception.getMessage().contains(ParameterValidator.SIMULATE_OPTION));
+
+        assertThrows(InvalidParametersException.class,
+                () -> ParameterValidator.validate(arguments("--seed", "42", "--round", "7", "--analyze")));
+        assertThrows(InvalidParametersException.class,
+                () -> ParameterValidator.validate(arguments("--seed", "42", "--round", "7", "--tune", "--target-rtp", "0.95")));
+    }
+
+    @Test
+    public void shouldValidateTheThreadsAndConfidenceOfATuning() {
+        assertDoesNotThrow(() -> ParameterValidator.validate(arguments("--tune", "--target-rtp", "0.95", "--threads", "2")));
+
+        InvalidParametersException exception = assertThrows(InvalidParametersException.class,
+                () -> ParameterValidator.validate(arguments("--tune", "--target-rtp", "0.95", "--threads", "0")));
+        assertTrue(exception.getMessage().contains("threads"));
+        assertThrows(InvalidParametersException.class,
+                () -> ParameterValidator.validate(arguments("--tune", "--target-rtp", "0.95", "--threads", "two")));
+        assertThrows(InvalidParametersException.class,
+                () -> ParameterValidator.validate(arguments("--tune", "--target-rtp", "0.95", "--confidence", "1.5")));
+    }
+
+    private static String[] arguments(String... options) {
+        String[] args = new String[4 + options.length];
+        args[0] = "--config";
+        args[1] = "config.json";
+        args[2] = "--betting-amount";
+        args[3] = "100";
+        System.arraycopy(options, 0, args, 4, options.length);
+        return args;
+    }
+}
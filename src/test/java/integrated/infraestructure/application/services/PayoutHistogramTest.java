@@ -0,0 +1,61 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.domain.model.simulation.PayoutHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PayoutHistogramTest {
+
+    @Test
+    public void shouldLocateQuantilesWithinTheRelativeError() {
+        PayoutHistogram odd = new PayoutHistogram();
+        PayoutHistogram even = new PayoutHistogram();
+        for (int reward = 1; reward <= 10_000; reward++) {
+            (reward % 2 == 0 ? even : odd).record(reward);
+            odd.record(0);
+        }
+        odd.merge(even);
+
+        assertEquals(20_000, odd.getTotalCount());
+        assertEquals(10_000, odd.getZeroCount());
+        assertEquals(5000, odd.getWinAtQuantile(0.5), 5000.0 / 512);
+        assertEquals(9900, odd.getWinAtQuantile(0.99), 9900.0 / 512);
+        assertEquals(9999, odd.getWinAtQuantile(0.9999), 9999.0 / 512);
+        // Half of the rounds lose, so the median of every round is no win
+        assertEquals(0.0, odd.getValueAtQuantile(0.5));
+        assertEquals(9800, odd.getValueAtQuantile(0.99), 9800.0 / 512);
+    }
+
+    @Test
+    public void shouldGiveZeroWithoutWins() {
+        PayoutHistogram histogram = new PayoutHistogram();
+        histogram.record(0);
+        histogram.record(0);
+
+        assertEquals(0.0, histogram.getWinAtQuantile(0.5));
+        assertEquals(0.0, histogram.getWinAtQuantile(0.9999));
+        assertEquals(0.0, histogram.getValueAtQuantile(1));
+        assertEquals(0.0, new PayoutHistogram().getValueAtQuantile(0.5));
+    }
+
+    @Test
+    public void shouldMergeAsIfRecordedTogether() {
+        PayoutHistogram left = new PayoutHistogram();
+        PayoutHistogram right = new PayoutHistogram();
+        PayoutHistogram all = new PayoutHistogram();
+        double[] rewards = {0, 0.5, 3, 10, 10, 250, 0, 1200.75, 5e6, 7};
+        for (int i = 0; i < rewards.length; i++) {
+            (i < 4 ? left : right).record(rewards[i]);
+            all.record(rewards[i]);
+        }
+        left.merge(right);
+
+        assertEquals(all.getTotalCount(), left.getTotalCount());
+        assertEquals(all.getZeroCount(), left.getZeroCount());
+        for (double quantile = 0; quantile <= 1; quantile += 0.05) {
+            assertEquals(all.getValueAtQuantile(quantile), left.getValueAtQuantile(quantile));
+            assertEquals(all.getWinAtQuantile(quantile), left.getWinAtQuantile(quantile));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.config.AppConfiguration;
+import com.cyberspeed.config.GameConfiguration;
+import com.cyberspeed.domain.model.symbols.SlotSymbol;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.domain.model.winning.CombinationRegistry;
+import com.cyberspeed.domain.model.winning.PayoutTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PayoutTableTest {
+    private GameConfiguration gameConfiguration;
+    private SymbolRegistry symbolRegistry;
+    private CombinationRegistry combinationRegistry;
+    private PayoutTable payoutTable;
+
+    @BeforeEach
+    public void init() {
+        gameConfiguration = new AppConfiguration().loadConfiguration("config-test.json");
+        symbolRegistry = new SymbolRegistry(gameConfiguration.symbols());
+        combinationRegistry = new CombinationRegistry(gameConfiguration.winCombinations());
+        payoutTable = new PayoutTable(symbolRegistry, combinationRegistry);
+    }
+
+    @Test
+    public void shouldApplyTheConfiguredMultipliersOfCombinations() {
+        for (int symbolId = 0; symbolId < symbolRegistry.standardCount(); symbolId++) {
+            SlotSymbol symbol = gameConfiguration.symbols().get(symbolRegistry.nameOf(symbolId));
+            for (int combinationId = 0; combinationId < combinationRegistry.size(); combinationId++) {
+                double multiplier = gameConfiguration.winCombinations().get(combinationRegistry.nameOf(combinationId)).getRewardMultiplier();
+                if (combinationRegistry.isSameSymbols(combinationId)) {
+                    assertTrue(payoutTable.isAdditive(combinationId));
+                    assertEquals(10 + 100 * symbol.getRewardMultiplier() * multiplier,
+                            payoutTable.applyCombination(100, 10, symbolId, combinationId), 1e-9);
+                } else {
+                    assertFalse(payoutTable.isAdditive(combinationId));
+                    assertEquals(10 * multiplier, payoutTable.applyCombination(100, 10, symbolId, combinationId), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldApplyTheConfiguredImpactOfBonusSymbols() {
+        assertEquals(10_000.0, payoutTable.applyBonus(1000, symbolRegistry.idOf("10x")));
+        assertEquals(5000.0, payoutTable.applyBonus(1000, symbolRegistry.idOf("5x")));
+        assertEquals(2000.0, payoutTable.applyBonus(1000, symbolRegistry.idOf("+1000")));
+        assertEquals(1500.0, payoutTable.applyBonus(1000, symbolRegistry.idOf("+500")));
+        assertEquals(1000.0, payoutTable.applyBonus(1000, symbolRegistry.idOf("MISS")));
+        assertEquals(1000.0, payoutTable.applyBonus(1000, -1));
+    }
+}
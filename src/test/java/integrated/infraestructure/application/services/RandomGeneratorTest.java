@@ -0,0 +1,77 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.utils.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RandomGeneratorTest {
+    private static final int DRAWS = 64_000;
+    private static final int BUCKETS = 16;
+
+    @Test
+    public void shouldAlwaysDrawZeroBelowOne() {
+        RandomGenerator randomGenerator = new RandomGenerator(RandomGenerator.DEFAULT_ALGORITHM, 42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, randomGenerator.getRandomLong(1));
+        }
+    }
+
+    @Test
+    public void shouldDrawUniformlyAtTheEdgesOfTheEntropyPool() {
+        // 2^31 is the largest bound carved out of the pool, 2^31 + 1 the smallest drawn directly
+        for (long bound : new long[]{2, 3, 1L << 31, (1L << 31) + 1}) {
+            for (String algorithm : new String[]{RandomGenerator.DEFAULT_ALGORITHM, RandomGenerator.COUNTER_ALGORITHM}) {
+                RandomGenerator randomGenerator = new RandomGenerator(algorithm, 42);
+                int buckets = (int) Math.min(bound, BUCKETS);
+                long[] counts = new long[buckets];
+                for (int i = 0; i < DRAWS; i++) {
+                    // A small draw in between leaves the pool partly used before every draw of the bound
+                    randomGenerator.getRandomLong(3);
+                    long value = randomGenerator.getRandomLong(bound);
+                    assertTrue(value >= 0 && value < bound);
+                    counts[(int) (value * buckets / bound)]++;
+                }
+                double chiSquare = chiSquare(counts);
+                assertTrue(chiSquare < 40, "Chi-square " + chiSquare + " for bound " + bound + " with " + algorithm);
+            }
+        }
+    }
+
+    @Test
+    public void shouldDrawTheSameValuesAfterSeekingTheSameRound() {
+        RandomGenerator randomGenerator = new RandomGenerator(RandomGenerator.COUNTER_ALGORITHM, 42);
+
+        randomGenerator.seek(5);
+        long[] first = draw(randomGenerator);
+        // Leave pooled bits behind before seeking again
+        randomGenerator.seek(7);
+        randomGenerator.getRandomLong(3);
+        randomGenerator.seek(5);
+        long[] second = draw(randomGenerator);
+
+        RandomGenerator fresh = new RandomGenerator(RandomGenerator.COUNTER_ALGORITHM, 42);
+        fresh.seek(5);
+        assertArrayEquals(first, second);
+        assertArrayEquals(first, draw(fresh));
+    }
+
+    private static long[] draw(RandomGenerator randomGenerator) {
+        long[] values = new long[8];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomGenerator.getRandomLong(i % 2 == 0 ? 3 : 1L << 31);
+        }
+        return values;
+    }
+
+    private static double chiSquare(long[] counts) {
+        double expected = (double) DRAWS / counts.length;
+        double chiSquare = 0;
+        for (long count : counts) {
+            chiSquare += (count - expected) * (count - expected) / expected;
+        }
+        return chiSquare;
+    }
+}
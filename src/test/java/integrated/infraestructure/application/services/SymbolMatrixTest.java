@@ -0,0 +1,44 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.domain.model.game.SymbolMatrix;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SymbolMatrixTest {
+
+    @Test
+    public void shouldSpreadOccupancyOverSeveralWords() {
+        // 81 cells take two words, the second one holding the cells 64 to 80
+        SymbolMatrix matrix = new SymbolMatrix(9, 9, 3);
+        assertEquals(2, matrix.words());
+        assertEquals(-1L, matrix.getOccupancy(0, 0));
+        assertEquals((1L << 17) - 1, matrix.getOccupancy(0, 1));
+
+        matrix.set(7, 2, 1); // Index 65
+        matrix.set(0, 5, 1); // Index 5
+        assertEquals(1, matrix.get(65));
+        assertEquals(1L << 5, matrix.getOccupancy(1, 0));
+        assertEquals(1L << 1, matrix.getOccupancy(1, 1));
+        assertEquals(0L, matrix.getOccupancy(0, 1) & (1L << 1));
+
+        // Moving the cell to another symbol clears its bit on the board of the previous one
+        matrix.set(65, 2);
+        assertEquals(0L, matrix.getOccupancy(1, 1));
+        assertEquals(1L << 1, matrix.getOccupancy(2, 1));
+    }
+
+    @Test
+    public void shouldCoverMasksAcrossWords() {
+        SymbolMatrix matrix = new SymbolMatrix(9, 9, 2);
+        long[] mask = {1L << 63, 1L}; // Indexes 63 and 64, on both sides of the word boundary
+        matrix.set(63, 1);
+        assertFalse(matrix.covers(1, mask, 0));
+
+        matrix.set(64, 1);
+        assertTrue(matrix.covers(1, mask, 0));
+        assertFalse(matrix.covers(0, mask, 0));
+    }
+}
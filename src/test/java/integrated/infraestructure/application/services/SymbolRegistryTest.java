@@ -0,0 +1,61 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.domain.enums.ImpactEnum;
+import com.cyberspeed.domain.enums.SymbolTypeEnum;
+import com.cyberspeed.domain.model.symbols.SlotSymbol;
+import com.cyberspeed.domain.model.symbols.SymbolRegistry;
+import com.cyberspeed.domain.model.symbols.bonus.BonusSymbol;
+import com.cyberspeed.domain.model.symbols.standard.StandardSymbol;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SymbolRegistryTest {
+
+    @Test
+    public void shouldNumberStandardSymbolsBeforeBonusSymbols() {
+        // Bonus and standard symbols interleaved in the configuration
+        Map<String, SlotSymbol> symbols = new LinkedHashMap<>();
+        symbols.put("10x", new BonusSymbol(10, SymbolTypeEnum.BONUS, ImpactEnum.MULTIPLY_REWARD, null));
+        symbols.put("A", new StandardSymbol(5, SymbolTypeEnum.STANDARD));
+        symbols.put("MISS", new BonusSymbol(0, SymbolTypeEnum.BONUS, ImpactEnum.MISS, null));
+        symbols.put("B", new StandardSymbol(3, SymbolTypeEnum.STANDARD));
+        symbols.put("+500", new BonusSymbol(0, SymbolTypeEnum.BONUS, ImpactEnum.EXTRA_BONUS, 500));
+        SymbolRegistry symbolRegistry = new SymbolRegistry(symbols);
+
+        assertEquals(5, symbolRegistry.size());
+        assertEquals(2, symbolRegistry.standardCount());
+        String[] expectedNames = {"A", "B", "10x", "MISS", "+500"};
+        for (int id = 0; id < expectedNames.length; id++) {
+            assertEquals(expectedNames[id], symbolRegistry.nameOf(id));
+            assertEquals(id, symbolRegistry.idOf(expectedNames[id]));
+            assertEquals(id < 2, symbolRegistry.isStandard(id));
+            assertEquals(id >= 2, symbolRegistry.isBonus(id));
+        }
+        assertEquals(-1, symbolRegistry.idOf("Z"));
+    }
+
+    @Test
+    public void shouldPrecomputeTheAttributesOfEachSymbol() {
+        Map<String, SlotSymbol> symbols = new LinkedHashMap<>();
+        symbols.put("A", new StandardSymbol(5, SymbolTypeEnum.STANDARD));
+        symbols.put("10x", new BonusSymbol(10, SymbolTypeEnum.BONUS, ImpactEnum.MULTIPLY_REWARD, null));
+        symbols.put("+500", new BonusSymbol(0, SymbolTypeEnum.BONUS, ImpactEnum.EXTRA_BONUS, 500));
+        symbols.put("MISS", new BonusSymbol(0, SymbolTypeEnum.BONUS, ImpactEnum.MISS, null));
+        SymbolRegistry symbolRegistry = new SymbolRegistry(symbols);
+
+        assertEquals(5.0, symbolRegistry.getRewardMultiplier(symbolRegistry.idOf("A")));
+        assertEquals(10.0, symbolRegistry.getRewardMultiplier(symbolRegistry.idOf("10x")));
+        assertEquals(500.0, symbolRegistry.getExtra(symbolRegistry.idOf("+500")));
+        assertEquals(ImpactEnum.EXTRA_BONUS, symbolRegistry.getImpact(symbolRegistry.idOf("+500")));
+        assertTrue(symbolRegistry.isAppliedBonus(symbolRegistry.idOf("10x")));
+        assertFalse(symbolRegistry.isAppliedBonus(symbolRegistry.idOf("MISS")));
+        assertTrue(symbolRegistry.isBonusMiss(symbolRegistry.idOf("MISS")));
+        assertFalse(symbolRegistry.isAppliedBonus(symbolRegistry.idOf("A")));
+    }
+}
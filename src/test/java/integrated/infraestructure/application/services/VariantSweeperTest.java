@@ -0,0 +1,63 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.config.AppConfiguration;
+import com.cyberspeed.config.ConfigurationVariant;
+import com.cyberspeed.domain.model.simulation.ConfidenceInterval;
+import com.cyberspeed.domain.model.simulation.SweepResult;
+import com.cyberspeed.domain.model.simulation.VariantComparison;
+import com.cyberspeed.infraestructure.application.service.VariantSweeper;
+import com.cyberspeed.utils.RandomGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VariantSweeperTest {
+    private static final long ROUNDS = 20_000;
+
+    private List<ConfigurationVariant> variants;
+
+    @BeforeEach
+    public void init() {
+        variants = new AppConfiguration().loadVariants("config-test.json", "variants.json");
+    }
+
+    @Test
+    public void shouldSweepVariantsOnCommonRandomNumbers() {
+        assertEquals(AppConfiguration.BASE_VARIANT_NAME, variants.getFirst().name());
+        VariantSweeper sweeper = new VariantSweeper(variants, 256);
+
+        SweepResult single = sweeper.sweep(ROUNDS, 100, 0.95, 1, new RandomGenerator(RandomGenerator.COUNTER_ALGORITHM, 42));
+        SweepResult parallel = sweeper.sweep(ROUNDS, 100, 0.95, 3, new RandomGenerator(RandomGenerator.COUNTER_ALGORITHM, 42));
+        assertEquals(single, parallel);
+
+        VariantComparison base = single.variants().get(0);
+        VariantComparison higherMultiplier = single.variants().get(1);
+        // Same probabilities, so both variants play the same matrices and only differ by the multiplier of A
+        assertEquals(base.hitFrequency(), higherMultiplier.hitFrequency());
+        assertEquals(0.0, higherMultiplier.hitFrequencyDifference().halfWidth());
+        assertEquals(higherMultiplier.rtp() - base.rtp(), higherMultiplier.rtpDifference().estimate(), 1e-9);
+        assertTrue(higherMultiplier.rtpDifference().estimate() > 0);
+    }
+
+    @Test
+    public void shouldMeasureDifferencesWithLessVarianceThanIndependentRuns() {
+        SweepResult paired = new VariantSweeper(variants, 256).sweep(ROUNDS, 100, 0.95, 2,
+                new RandomGenerator(RandomGenerator.COUNTER_ALGORITHM, 42));
+
+        // Intervals of a same confidence scale with the standard deviation of the estimate, and the difference of
+        // two independent runs has the sum of their variances
+        ConfidenceInterval base = paired.variants().getFirst().rtpInterval();
+        for (int i = 1; i < paired.variants().size(); i++) {
+            VariantComparison variant = paired.variants().get(i);
+            double pairedVariance = Math.pow(variant.rtpDifference().halfWidth(), 2);
+            double independentVariance = Math.pow(base.halfWidth(), 2) + Math.pow(variant.rtpInterval().halfWidth(), 2);
+            assertTrue(pairedVariance < independentVariance, variant.name() + ": " + pairedVariance + " >= " + independentVariance);
+        }
+        // Only the multiplier of A changes, so the paired difference is far more precise
+        assertTrue(paired.variants().get(1).rtpDifference().halfWidth() < base.halfWidth() / 10);
+    }
+}
@@ -0,0 +1,76 @@
+package integrated.infraestructure.application.services;
+
+import com.cyberspeed.config.AppConfiguration;
+import com.cyberspeed.config.GameConfiguration;
+import com.cyberspeed.domain.model.analysis.AnalysisResult;
+import com.cyberspeed.domain.model.probabilities.Probabilities;
+import com.cyberspeed.domain.model.symbols.standard.StandardSymbolProbabilities;
+import com.cyberspeed.domain.model.tuning.TuningResult;
+import com.cyberspeed.domain.model.tuning.TuningSpecification;
+import com.cyberspeed.domain.model.winning.WinningCombination;
+import com.cyberspeed.domain.model.winning.WinningCountCombination;
+import com.cyberspeed.domain.service.ProbabilityAggregator;
+import com.cyberspeed.domain.service.ProbabilityBonusService;
+import com.cyberspeed.domain.service.ProbabilityStandardService;
+import com.cyberspeed.infraestructure.application.service.GameAnalyzer;
+import com.cyberspeed.infraestructure.application.service.WeightTuner;
+import com.cyberspeed.utils.SymbolUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WeightTunerTest {
+
+    @Test
+    public void shouldTuneWeightsTowardTargetHitFrequency() {
+        GameConfiguration gameConfiguration = corner(new AppConfiguration().loadConfiguration("config-test.json"));
+        SymbolUtils symbolUtils = new SymbolUtils(gameConfiguration.symbols());
+        double hitFrequency = analyze(gameConfiguration, symbolUtils,
+                new ProbabilityAggregator(new ProbabilityStandardService(gameConfiguration.probabilities().standardSymbolProbabilities()),
+                        new ProbabilityBonusService(gameConfiguration.probabilities().bonusSymbolProbabilities()))).hitFrequency();
+        double target = hitFrequency * 0.9;
+
+        TuningSpecification specification = new TuningSpecification(null, target, null, 0.01, 1, 20);
+        TuningResult tuning = new WeightTuner(gameConfiguration, symbolUtils).tune(100, specification, 1);
+        assertTrue(tuning.converged());
+
+        for (StandardSymbolProbabilities probabilities : tuning.probabilities().standardSymbolProbabilities()) {
+            for (int weight : probabilities.symbols().values()) {
+                assertTrue(weight >= specification.minWeight() && weight <= specification.maxWeight());
+            }
+        }
+        AnalysisResult result = analyze(gameConfiguration, symbolUtils, new ProbabilityAggregator(
+                new ProbabilityStandardService(tuning.probabilities().standardSymbolProbabilities()),
+                new ProbabilityBonusService(tuning.probabilities().bonusSymbolProbabilities())));
+        assertEquals(tuning.hitFrequency(), result.hitFrequency(), 1e-9);
+        assertEquals(target, result.hitFrequency(), target * specification.tolerance());
+    }
+
+    /**
+     * Cuts the 2x2 corner of a configuration, keeping the combinations of symbol counts, so every evaluation of
+     * the search is an exact analysis of 4 cells instead of 9.
+     */
+    private static GameConfiguration corner(GameConfiguration gameConfiguration) {
+        List<StandardSymbolProbabilities> standard = gameConfiguration.probabilities().standardSymbolProbabilities().stream()
+                .filter(probabilities -> probabilities.row() < 2 && probabilities.column() < 2)
+                .toList();
+        Map<String, WinningCombination> winCombinations = new LinkedHashMap<>();
+        gameConfiguration.winCombinations().forEach((name, combination) -> {
+            if (combination instanceof WinningCountCombination) {
+                winCombinations.put(name, combination);
+            }
+        });
+        return new GameConfiguration(2, 2, gameConfiguration.symbols(),
+                new Probabilities(standard, gameConfiguration.probabilities().bonusSymbolProbabilities()), winCombinations);
+    }
+
+    private static AnalysisResult analyze(GameConfiguration gameConfiguration, SymbolUtils symbolUtils,
+                                          ProbabilityAggregator probabilityAggregator) {
+        return new GameAnalyzer(gameConfiguration, symbolUtils, probabilityAggregator).analyze(100);
+    }
+}